@@ -0,0 +1,175 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.loadtest;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the load test over the consumer modes of the JMS source, to choose the defaults and size the consumers
+ * from measurements rather than guesses.
+ * <p>
+ * The matrix sweeps the listener and the receiver modes ('use.receiver'), the worker counts ('worker.count'),
+ * queues and topics, durable and non-durable topic subscriptions and the session acknowledgement modes, each at a
+ * list of offered rates, where a rate of 0 sends as fast as the sink accepts the events and so finds the saturation
+ * throughput. Topics are only run with a single worker, as every worker is a separate subscriber which receives
+ * its own copy of each event, and a durable subscription cannot be shared between workers.
+ * <p>
+ * Besides the JSON report of the load test, it writes a CSV file with one row per run, to plot the throughput and
+ * latency curves from.
+ */
+public final class JMSConsumerScalingBenchmark {
+    private static final Logger log = LogManager.getLogger(JMSConsumerScalingBenchmark.class);
+    private static final String PREFIX = "jms.scaling.";
+    private static final String CSV_HEADER = "destination,mode,workers,durable,ack,rate,throughput,p50,p99,p999,"
+            + "lost";
+
+    private JMSConsumerScalingBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> destinations = list("destinations", "queue,topic");
+        List<String> modes = list("modes", "listener,receiver");
+        List<String> workers = list("workers", "1,2,4,8");
+        List<String> durabilities = list("durable", "false,true");
+        List<String> acks = list("acks", "AUTO_ACKNOWLEDGE,CLIENT_ACKNOWLEDGE,DUPS_OK_ACKNOWLEDGE");
+        List<String> rates = list("rates", "5000,20000,0");
+        String label = System.getProperty(JMSLoadTestConfig.PREFIX + "label", "unlabelled");
+        Path report = Paths.get(System.getProperty(PREFIX + "report", "target/jms-consumer-scaling-report.json"));
+        Path csv = Paths.get(System.getProperty(PREFIX + "csv", "target/jms-consumer-scaling.csv"));
+
+        JMSLoadTestConfig base = JMSLoadTestConfig.fromSystemProperties(
+                Boolean.getBoolean(PREFIX + "persistent"))
+                .setWarmupSeconds(Integer.getInteger(JMSLoadTestConfig.PREFIX + "warmup", 5))
+                .setDurationSeconds(Integer.getInteger(JMSLoadTestConfig.PREFIX + "duration", 20));
+
+        List<Scenario> scenarios = new ArrayList<>();
+        for (String destination : destinations) {
+            for (String mode : modes) {
+                for (String workerCount : workers) {
+                    for (String durable : durabilities) {
+                        for (String ack : acks) {
+                            for (String rate : rates) {
+                                Scenario scenario = new Scenario(destination, mode, Integer.parseInt(workerCount),
+                                        Boolean.parseBoolean(durable), ack, Long.parseLong(rate));
+                                if (scenario.isValid()) {
+                                    scenarios.add(scenario);
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        log.info("Running " + scenarios.size() + " consumer scaling scenarios.");
+        List<JMSLoadTestResult> results = new ArrayList<>();
+        List<String> rows = new ArrayList<>();
+        rows.add(CSV_HEADER);
+        for (Scenario scenario : scenarios) {
+            JMSLoadTestResult result = JMSLoadTest.run(scenario.apply(base.copy()));
+            results.add(result);
+            rows.add(scenario.toCsvRow(result));
+            // write after every run, so that an interrupted sweep keeps the runs completed so far
+            JMSLoadTestReport.write(report, label, results);
+            writeCsv(csv, rows);
+        }
+        log.info("Wrote the consumer scaling report to " + report.toAbsolutePath() + " and " + csv.toAbsolutePath());
+    }
+
+    private static List<String> list(String property, String defaultValue) {
+        return Arrays.stream(System.getProperty(PREFIX + property, defaultValue).split(","))
+                .map(String::trim)
+                .filter(value -> !value.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    private static void writeCsv(Path csv, List<String> rows) throws IOException {
+        Path parent = csv.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.write(csv, rows, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Consumer configuration of a run of the matrix.
+     */
+    private static final class Scenario {
+        private final String destination;
+        private final String mode;
+        private final int workers;
+        private final boolean durable;
+        private final String ack;
+        private final long rate;
+
+        private Scenario(String destination, String mode, int workers, boolean durable, String ack, long rate) {
+            this.destination = destination;
+            this.mode = mode;
+            this.workers = workers;
+            this.durable = durable;
+            this.ack = ack;
+            this.rate = rate;
+        }
+
+        private boolean isValid() {
+            if (destination.equals("queue")) {
+                // durability only applies to topic subscriptions
+                return !durable;
+            }
+            return workers == 1;
+        }
+
+        private JMSLoadTestConfig apply(JMSLoadTestConfig config) {
+            // keeps the source options given through the load test properties, e.g. the retry settings
+            StringBuilder sourceOptions = new StringBuilder(config.getSourceOptions().trim());
+            if (sourceOptions.length() > 0) {
+                sourceOptions.append(", ");
+            }
+            sourceOptions.append("use.receiver='").append(mode.equals("receiver")).append("', ")
+                    .append("worker.count='").append(workers).append("', ")
+                    .append("transport.jms.SessionAcknowledgement='").append(ack).append("'");
+            if (durable) {
+                sourceOptions.append(", subscription.durable='true', ")
+                        .append("transport.jms.DurableSubscriberClientID='siddhi-jms-load-test', ")
+                        .append("transport.jms.DurableSubscriberName='siddhi-jms-load-test'");
+            }
+            return config.setDestinationType(destination)
+                    .setRate(rate)
+                    .setSourceOptions(sourceOptions.toString());
+        }
+
+        private String toCsvRow(JMSLoadTestResult result) {
+            return String.join(",", destination, mode, String.valueOf(workers), String.valueOf(durable), ack,
+                    String.valueOf(rate), String.valueOf(Math.round(result.getThroughput())),
+                    String.valueOf(result.getLatency(50)), String.valueOf(result.getLatency(99)),
+                    String.valueOf(result.getLatency(99.9)), String.valueOf(result.getLostEvents()));
+        }
+    }
+}
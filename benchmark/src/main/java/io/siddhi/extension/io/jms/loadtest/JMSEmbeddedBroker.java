@@ -0,0 +1,100 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.loadtest;
+
+import org.apache.activemq.broker.BrokerService;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * In-VM ActiveMQ broker for the load tests, reached through the 'vm://' transport.
+ * <p>
+ * A persistent broker stores the messages with KahaDB in a temporary directory, which is deleted when the broker
+ * stops, so that every run starts from an empty store.
+ */
+public class JMSEmbeddedBroker implements AutoCloseable {
+    public static final String INITIAL_CONTEXT_FACTORY = "org.apache.activemq.jndi.ActiveMQInitialContextFactory";
+    private static final String BROKER_NAME = "siddhi-jms-load-test";
+
+    private final BrokerService brokerService;
+    private final Path dataDirectory;
+
+    private JMSEmbeddedBroker(BrokerService brokerService, Path dataDirectory) {
+        this.brokerService = brokerService;
+        this.dataDirectory = dataDirectory;
+    }
+
+    /**
+     * Starts a broker.
+     *
+     * @param persistent whether the broker persists the messages.
+     * @return the started broker.
+     * @throws Exception if the broker cannot be started.
+     */
+    public static JMSEmbeddedBroker start(boolean persistent) throws Exception {
+        BrokerService brokerService = new BrokerService();
+        brokerService.setBrokerName(BROKER_NAME);
+        brokerService.setUseJmx(false);
+        brokerService.setAdvisorySupport(false);
+        brokerService.setPersistent(persistent);
+        Path dataDirectory = null;
+        if (persistent) {
+            dataDirectory = Files.createTempDirectory("siddhi-jms-load-test");
+            brokerService.setDataDirectoryFile(dataDirectory.toFile());
+            brokerService.setDeleteAllMessagesOnStartup(true);
+        }
+        brokerService.start();
+        brokerService.waitUntilStarted();
+        return new JMSEmbeddedBroker(brokerService, dataDirectory);
+    }
+
+    /**
+     * Gives the URL the JMS source and sink connect with, which does not create a broker of its own when this one
+     * is not running.
+     *
+     * @return the provider URL.
+     */
+    public String getProviderUrl() {
+        return "vm://" + BROKER_NAME + "?create=false";
+    }
+
+    public boolean isPersistent() {
+        return brokerService.isPersistent();
+    }
+
+    @Override
+    public void close() throws Exception {
+        brokerService.stop();
+        brokerService.waitUntilStopped();
+        if (dataDirectory != null) {
+            deleteRecursively(dataDirectory);
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.loadtest;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.StreamCallback;
+import org.HdrHistogram.Recorder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End to end load test of the JMS sink and source, run against an embedded ActiveMQ broker.
+ * <p>
+ * Each run deploys a Siddhi app which publishes a stream through '@sink(type='jms')' and consumes it back through
+ * '@source(type='jms')', sends events at the configured rate and payload size, and measures the sustained
+ * throughput, the end to end latency and the heap. {@link #main} runs the configuration given by the system
+ * properties against a non-persistent and a persistent broker and writes a JSON report of the runs.
+ */
+public class JMSLoadTest {
+    private static final Logger log = LogManager.getLogger(JMSLoadTest.class);
+    private static final String DESTINATION = "SIDDHI_LOAD_TEST";
+    private static final long HEAP_SAMPLE_INTERVAL_MILLIS = 100;
+
+    private final JMSEmbeddedBroker broker;
+    private final JMSLoadTestConfig config;
+    private final Recorder latencies = new Recorder(3);
+    private final AtomicLong receivedEvents = new AtomicLong();
+    private final AtomicLong measuredEvents = new AtomicLong();
+    private final LongAccumulator peakHeap = new LongAccumulator(Math::max, 0);
+    private final AtomicLong heapSampleSum = new AtomicLong();
+    private final AtomicLong heapSampleCount = new AtomicLong();
+    private volatile long measureStart = Long.MAX_VALUE;
+    private volatile long measureEnd = Long.MAX_VALUE;
+
+    public JMSLoadTest(JMSEmbeddedBroker broker, JMSLoadTestConfig config) {
+        this.broker = broker;
+        this.config = config;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String label = System.getProperty(JMSLoadTestConfig.PREFIX + "label", "unlabelled");
+        Path report = Paths.get(System.getProperty(JMSLoadTestConfig.PREFIX + "report",
+                "target/jms-load-test-report.json"));
+        List<String> brokers = Arrays.asList(System.getProperty(JMSLoadTestConfig.PREFIX + "brokers",
+                "non-persistent,persistent").split(","));
+
+        List<JMSLoadTestResult> results = new ArrayList<>();
+        for (String broker : brokers) {
+            JMSLoadTestConfig config = JMSLoadTestConfig.fromSystemProperties(broker.trim().equals("persistent"));
+            results.add(run(config));
+        }
+        JMSLoadTestReport.write(report, label, results);
+        log.info("Wrote the load test report to " + report.toAbsolutePath());
+    }
+
+    /**
+     * Starts a broker, runs the load test against it and stops it.
+     *
+     * @param config configuration of the run.
+     * @return the measurements of the run.
+     * @throws Exception if the broker cannot be started or stopped.
+     */
+    public static JMSLoadTestResult run(JMSLoadTestConfig config) throws Exception {
+        try (JMSEmbeddedBroker broker = JMSEmbeddedBroker.start(config.isPersistent())) {
+            JMSLoadTestResult result = new JMSLoadTest(broker, config).run();
+            log.info("Completed the load test " + result);
+            return result;
+        }
+    }
+
+    /**
+     * Runs the load test against the broker, sending the events through the warmup and the measurement window
+     * and then waiting for the events in flight, up to the drain timeout.
+     *
+     * @return the measurements of the run.
+     * @throws InterruptedException if interrupted while running.
+     */
+    public JMSLoadTestResult run() throws InterruptedException {
+        log.info("Starting the load test " + config.describe());
+        SiddhiManager siddhiManager = new SiddhiManager();
+        SiddhiAppRuntime siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime(createSiddhiApp());
+        siddhiAppRuntime.addCallback("ReceivedStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                onEvents(events);
+            }
+        });
+        ScheduledExecutorService heapSampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jms-load-test-heap-sampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            siddhiAppRuntime.start();
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            heapSampler.scheduleAtFixedRate(() -> sampleHeap(memory), HEAP_SAMPLE_INTERVAL_MILLIS,
+                    HEAP_SAMPLE_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+
+            long[] gcBefore = new long[2];
+            long sentEvents = send(siddhiAppRuntime.getInputHandler("LoadStream"), gcBefore);
+            long[] gcAfter = gcTotals();
+            drain(sentEvents);
+
+            long count = heapSampleCount.get();
+            return new JMSLoadTestResult(config, sentEvents, receivedEvents.get(), measuredEvents.get(),
+                    config.getDurationSeconds(), latencies.getIntervalHistogram(), peakHeap.get(),
+                    count == 0 ? 0 : heapSampleSum.get() / count, gcAfter[0] - gcBefore[0],
+                    gcAfter[1] - gcBefore[1]);
+        } finally {
+            heapSampler.shutdownNow();
+            siddhiAppRuntime.shutdown();
+            siddhiManager.shutdown();
+        }
+    }
+
+    private String createSiddhiApp() {
+        String connection = "factory.initial='" + JMSEmbeddedBroker.INITIAL_CONTEXT_FACTORY + "', "
+                + "provider.url='" + broker.getProviderUrl() + "', "
+                + "destination='" + DESTINATION + "', "
+                + "connection.factory.type='" + config.getDestinationType() + "', "
+                + "connection.factory.jndi.name='"
+                + (config.getDestinationType().equals("topic") ? "TopicConnectionFactory" : "QueueConnectionFactory")
+                + "'";
+        return "@app:name('JMSLoadTest') "
+                + "@sink(type='jms', @map(type='" + config.getMapper() + "'), " + connection
+                + options(config.getSinkOptions()) + ") "
+                + "define stream LoadStream (id long, sentAt long, payload string); "
+                + "@source(type='jms', @map(type='" + config.getMapper() + "'), " + connection
+                + options(config.getSourceOptions()) + ") "
+                + "define stream ReceivedStream (id long, sentAt long, payload string); ";
+    }
+
+    private static String options(String options) {
+        return options.trim().isEmpty() ? "" : ", " + options;
+    }
+
+    /**
+     * Sends events at the configured rate until the end of the measurement window. When paced, each event
+     * carries the time it was due rather than the time it was sent, so that the latencies include the time the
+     * sender was held up by the sink.
+     */
+    private long send(InputHandler inputHandler, long[] gcBefore) throws InterruptedException {
+        char[] chars = new char[config.getPayloadSize()];
+        Arrays.fill(chars, 'x');
+        String payload = new String(chars);
+        long interval = config.getRate() == 0 ? 0 : TimeUnit.SECONDS.toNanos(1) / config.getRate();
+        long start = System.nanoTime();
+        long windowStart = start + TimeUnit.SECONDS.toNanos(config.getWarmupSeconds());
+        long windowEnd = windowStart + TimeUnit.SECONDS.toNanos(config.getDurationSeconds());
+        measureStart = windowStart;
+        measureEnd = windowEnd;
+        boolean measuring = false;
+        long next = start;
+        long id = 0;
+        long now = start;
+        while (now < windowEnd) {
+            if (!measuring && now >= windowStart) {
+                measuring = true;
+                System.arraycopy(gcTotals(), 0, gcBefore, 0, 2);
+            }
+            long sentAt = now;
+            if (interval > 0) {
+                if (next > now) {
+                    LockSupport.parkNanos(next - now);
+                }
+                sentAt = next;
+                next += interval;
+            }
+            inputHandler.send(new Object[]{id++, sentAt, payload});
+            now = System.nanoTime();
+        }
+        return id;
+    }
+
+    private void onEvents(Event[] events) {
+        long now = System.nanoTime();
+        for (Event event : events) {
+            long sentAt = (Long) event.getData(1);
+            if (sentAt >= measureStart && sentAt < measureEnd) {
+                latencies.recordValue(Math.max(0, TimeUnit.NANOSECONDS.toMicros(now - sentAt)));
+                measuredEvents.incrementAndGet();
+            }
+        }
+        receivedEvents.addAndGet(events.length);
+    }
+
+    private void drain(long sentEvents) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(config.getDrainTimeoutSeconds());
+        while (receivedEvents.get() < sentEvents && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        if (receivedEvents.get() < sentEvents) {
+            log.warn("Received " + receivedEvents.get() + " of the " + sentEvents + " events sent in the load test "
+                    + "before the drain timeout of " + config.getDrainTimeoutSeconds() + " seconds.");
+        }
+    }
+
+    private void sampleHeap(MemoryMXBean memory) {
+        long now = System.nanoTime();
+        if (now >= measureStart && now < measureEnd) {
+            long used = memory.getHeapMemoryUsage().getUsed();
+            peakHeap.accumulate(used);
+            heapSampleSum.addAndGet(used);
+            heapSampleCount.incrementAndGet();
+        }
+    }
+
+    private static long[] gcTotals() {
+        long count = 0;
+        long time = 0;
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, collector.getCollectionCount());
+            time += Math.max(0, collector.getCollectionTime());
+        }
+        return new long[]{count, time};
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Configuration of a load test run, read from the 'jms.load.*' system properties.
+ * <p>
+ * A run pushes events of the given payload size at the given rate through a JMS sink and a JMS source connected
+ * by an embedded ActiveMQ broker. The options of the sink and the source are appended to their annotations as is,
+ * e.g. "publish.mode='async'", so that any option of the extension can be load tested.
+ */
+public class JMSLoadTestConfig {
+    static final String PREFIX = "jms.load.";
+
+    private boolean persistent;
+    private long rate = 10000;
+    private int warmupSeconds = 10;
+    private int durationSeconds = 60;
+    private int drainTimeoutSeconds = 30;
+    private int payloadSize = 256;
+    private String mapper = "json";
+    private String destinationType = "queue";
+    private String sinkOptions = "";
+    private String sourceOptions = "";
+
+    /**
+     * Creates the configuration from the system properties, using the defaults for the properties not set.
+     *
+     * @param persistent whether the broker persists the messages.
+     * @return the configuration.
+     */
+    public static JMSLoadTestConfig fromSystemProperties(boolean persistent) {
+        JMSLoadTestConfig config = new JMSLoadTestConfig();
+        config.persistent = persistent;
+        config.rate = Long.getLong(PREFIX + "rate", config.rate);
+        config.warmupSeconds = Integer.getInteger(PREFIX + "warmup", config.warmupSeconds);
+        config.durationSeconds = Integer.getInteger(PREFIX + "duration", config.durationSeconds);
+        config.drainTimeoutSeconds = Integer.getInteger(PREFIX + "drain.timeout", config.drainTimeoutSeconds);
+        config.payloadSize = Integer.getInteger(PREFIX + "payload.size", config.payloadSize);
+        config.mapper = System.getProperty(PREFIX + "mapper", config.mapper);
+        config.destinationType = System.getProperty(PREFIX + "destination.type", config.destinationType);
+        config.sinkOptions = System.getProperty(PREFIX + "sink.options", config.sinkOptions);
+        config.sourceOptions = System.getProperty(PREFIX + "source.options", config.sourceOptions);
+        config.validate();
+        return config;
+    }
+
+    /**
+     * Creates a copy of the configuration, to be changed for another scenario.
+     *
+     * @return the copy.
+     */
+    public JMSLoadTestConfig copy() {
+        JMSLoadTestConfig copy = new JMSLoadTestConfig();
+        copy.persistent = persistent;
+        copy.rate = rate;
+        copy.warmupSeconds = warmupSeconds;
+        copy.durationSeconds = durationSeconds;
+        copy.drainTimeoutSeconds = drainTimeoutSeconds;
+        copy.payloadSize = payloadSize;
+        copy.mapper = mapper;
+        copy.destinationType = destinationType;
+        copy.sinkOptions = sinkOptions;
+        copy.sourceOptions = sourceOptions;
+        return copy;
+    }
+
+    void validate() {
+        if (rate < 0 || warmupSeconds < 0 || durationSeconds <= 0 || drainTimeoutSeconds < 0 || payloadSize < 0) {
+            throw new IllegalArgumentException("The rate, warmup, drain timeout and payload size of the load test "
+                    + "cannot be negative and its duration has to be positive: " + describe());
+        }
+        if (!mapper.equals("json") && !mapper.equals("xml")) {
+            throw new IllegalArgumentException("The mapper of the load test has to be 'json' or 'xml', but found '"
+                    + mapper + "'.");
+        }
+        if (!destinationType.equals("queue") && !destinationType.equals("topic")) {
+            throw new IllegalArgumentException("The destination type of the load test has to be 'queue' or "
+                    + "'topic', but found '" + destinationType + "'.");
+        }
+    }
+
+    /**
+     * Describes the configuration as ordered name value pairs, as written to the report.
+     *
+     * @return the configuration values by name.
+     */
+    public Map<String, Object> describe() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("broker", persistent ? "persistent" : "non-persistent");
+        values.put("rate", rate);
+        values.put("warmupSeconds", warmupSeconds);
+        values.put("durationSeconds", durationSeconds);
+        values.put("payloadSize", payloadSize);
+        values.put("mapper", mapper);
+        values.put("destinationType", destinationType);
+        values.put("sinkOptions", sinkOptions);
+        values.put("sourceOptions", sourceOptions);
+        return values;
+    }
+
+    public boolean isPersistent() {
+        return persistent;
+    }
+
+    public JMSLoadTestConfig setPersistent(boolean persistent) {
+        this.persistent = persistent;
+        return this;
+    }
+
+    public long getRate() {
+        return rate;
+    }
+
+    public JMSLoadTestConfig setRate(long rate) {
+        this.rate = rate;
+        return this;
+    }
+
+    public int getWarmupSeconds() {
+        return warmupSeconds;
+    }
+
+    public JMSLoadTestConfig setWarmupSeconds(int warmupSeconds) {
+        this.warmupSeconds = warmupSeconds;
+        return this;
+    }
+
+    public int getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public JMSLoadTestConfig setDurationSeconds(int durationSeconds) {
+        this.durationSeconds = durationSeconds;
+        return this;
+    }
+
+    public int getDrainTimeoutSeconds() {
+        return drainTimeoutSeconds;
+    }
+
+    public int getPayloadSize() {
+        return payloadSize;
+    }
+
+    public JMSLoadTestConfig setPayloadSize(int payloadSize) {
+        this.payloadSize = payloadSize;
+        return this;
+    }
+
+    public String getMapper() {
+        return mapper;
+    }
+
+    public String getDestinationType() {
+        return destinationType;
+    }
+
+    public JMSLoadTestConfig setDestinationType(String destinationType) {
+        this.destinationType = destinationType.toLowerCase(Locale.ENGLISH);
+        return this;
+    }
+
+    public String getSinkOptions() {
+        return sinkOptions;
+    }
+
+    public JMSLoadTestConfig setSinkOptions(String sinkOptions) {
+        this.sinkOptions = sinkOptions;
+        return this;
+    }
+
+    public String getSourceOptions() {
+        return sourceOptions;
+    }
+
+    public JMSLoadTestConfig setSourceOptions(String sourceOptions) {
+        this.sourceOptions = sourceOptions;
+        return this;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.loadtest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the results of load test runs as a JSON report.
+ * <p>
+ * The keys are written in a fixed order, one value per line, so that the reports of two releases can be compared
+ * with a plain diff as well as with a JSON tool.
+ */
+public final class JMSLoadTestReport {
+
+    private JMSLoadTestReport() {
+    }
+
+    /**
+     * Writes the report, creating the parent directories of the file if needed.
+     *
+     * @param file    file to write the report to.
+     * @param label   label telling the report apart, e.g. the release it was run on.
+     * @param results results of the runs.
+     * @throws IOException if the report cannot be written.
+     */
+    public static void write(Path file, String label, List<JMSLoadTestResult> results) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("label", label);
+        report.put("createdAt", Instant.now().toString());
+        report.put("javaVersion", System.getProperty("java.version"));
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("maxHeapBytes", Runtime.getRuntime().maxMemory());
+        Object[] runs = new Object[results.size()];
+        for (int i = 0; i < runs.length; i++) {
+            runs[i] = results.get(i).describe();
+        }
+        report.put("runs", runs);
+
+        StringBuilder json = new StringBuilder();
+        append(json, report, "");
+        json.append('\n');
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.write(file, json.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void append(StringBuilder json, Object value, String indent) {
+        if (value instanceof Map) {
+            Collection<? extends Map.Entry<?, ?>> entries = ((Map<?, ?>) value).entrySet();
+            json.append('{');
+            String separator = "\n";
+            for (Map.Entry<?, ?> entry : entries) {
+                json.append(separator).append(indent).append("  ");
+                appendString(json, String.valueOf(entry.getKey()));
+                json.append(": ");
+                append(json, entry.getValue(), indent + "  ");
+                separator = ",\n";
+            }
+            json.append('\n').append(indent).append('}');
+        } else if (value instanceof Object[]) {
+            json.append('[');
+            String separator = "\n";
+            for (Object element : (Object[]) value) {
+                json.append(separator).append(indent).append("  ");
+                append(json, element, indent + "  ");
+                separator = ",\n";
+            }
+            json.append('\n').append(indent).append(']');
+        } else if (value instanceof Number || value instanceof Boolean) {
+            json.append(value);
+        } else if (value == null) {
+            json.append("null");
+        } else {
+            appendString(json, value.toString());
+        }
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+}
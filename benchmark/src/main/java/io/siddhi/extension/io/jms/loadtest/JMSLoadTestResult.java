@@ -0,0 +1,119 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Measurements of a load test run.
+ * <p>
+ * The throughput is the number of events received per second during the measurement window, excluding the warmup.
+ * The latencies are in microseconds, from the time an event was due to be sent, so that a sink falling behind the
+ * offered rate shows up in the latencies instead of only slowing down the sender.
+ */
+public class JMSLoadTestResult {
+    private final JMSLoadTestConfig config;
+    private final long sentEvents;
+    private final long receivedEvents;
+    private final long measuredEvents;
+    private final double measuredSeconds;
+    private final Histogram latencies;
+    private final long peakHeapBytes;
+    private final long meanHeapBytes;
+    private final long gcCount;
+    private final long gcTimeMillis;
+
+    JMSLoadTestResult(JMSLoadTestConfig config, long sentEvents, long receivedEvents, long measuredEvents,
+                      double measuredSeconds, Histogram latencies, long peakHeapBytes, long meanHeapBytes,
+                      long gcCount, long gcTimeMillis) {
+        this.config = config;
+        this.sentEvents = sentEvents;
+        this.receivedEvents = receivedEvents;
+        this.measuredEvents = measuredEvents;
+        this.measuredSeconds = measuredSeconds;
+        this.latencies = latencies;
+        this.peakHeapBytes = peakHeapBytes;
+        this.meanHeapBytes = meanHeapBytes;
+        this.gcCount = gcCount;
+        this.gcTimeMillis = gcTimeMillis;
+    }
+
+    public JMSLoadTestConfig getConfig() {
+        return config;
+    }
+
+    public double getThroughput() {
+        return measuredSeconds == 0 ? 0 : measuredEvents / measuredSeconds;
+    }
+
+    public long getLostEvents() {
+        return sentEvents - receivedEvents;
+    }
+
+    /**
+     * Gives the latency at the given percentile.
+     *
+     * @param percentile percentile between 0 and 100.
+     * @return the latency in microseconds.
+     */
+    public long getLatency(double percentile) {
+        return latencies.getValueAtPercentile(percentile);
+    }
+
+    /**
+     * Describes the result as nested name value pairs, as written to the report.
+     *
+     * @return the configuration and the measurements by name.
+     */
+    public Map<String, Object> describe() {
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("p50", getLatency(50));
+        latency.put("p90", getLatency(90));
+        latency.put("p99", getLatency(99));
+        latency.put("p999", getLatency(99.9));
+        latency.put("max", latencies.getMaxValue());
+        latency.put("mean", Math.round(latencies.getMean()));
+
+        Map<String, Object> heap = new LinkedHashMap<>();
+        heap.put("peakUsedBytes", peakHeapBytes);
+        heap.put("meanUsedBytes", meanHeapBytes);
+        heap.put("gcCount", gcCount);
+        heap.put("gcTimeMillis", gcTimeMillis);
+
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("config", config.describe());
+        values.put("sentEvents", sentEvents);
+        values.put("receivedEvents", receivedEvents);
+        values.put("lostEvents", getLostEvents());
+        values.put("throughput", Math.round(getThroughput()));
+        values.put("latencyMicros", latency);
+        values.put("heap", heap);
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d events/s, p50 %d us, p99 %d us, p999 %d us, peak heap %d MB, %d lost",
+                config.describe(), Math.round(getThroughput()), getLatency(50), getLatency(99), getLatency(99.9),
+                peakHeapBytes >> 20, getLostEvents());
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.sink;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.exception.ConnectionUnavailableException;
+import io.siddhi.core.stream.output.sink.Sink;
+import io.siddhi.core.util.transport.DynamicOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the construction of {@link JMSPublisher}s, which builds the JMS message of a payload, and the dispatch
+ * of payloads through {@link JMSSink#publish} in the sync and async publish modes.
+ * <p>
+ * The sinks send through {@link StubInitialContextFactory}, so the transport runs unchanged but no message leaves
+ * the JVM. The async sink tracks publish confirms, which bounds its backlog to the confirm limit instead of letting
+ * the benchmark queue sends without limit. Run {@link #main} to get the allocation rates from the GC profiler
+ * along with the throughput.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JMSPublisherBenchmark {
+    private static final String DESTINATION = "BENCHMARK_QUEUE";
+    private static final String STREAM_DEFINITION =
+            "define stream BenchmarkStream (name string, age int, country string);";
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JMSPublisherBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+
+    @Benchmark
+    public JMSPublisher constructPublisher(SyncSink sink, Payload payload) {
+        return new JMSPublisher(DESTINATION, sink.endpoint, payload.next(), payload.transportOptions, sink.sink);
+    }
+
+    @Benchmark
+    public void publishSync(SyncSink sink, Payload payload) throws ConnectionUnavailableException {
+        sink.sink.publish(payload.next(), payload.transportOptions, null);
+    }
+
+    @Benchmark
+    public void publishAsync(AsyncSink sink, Payload payload) throws ConnectionUnavailableException {
+        sink.sink.publish(payload.next(), payload.transportOptions, null);
+    }
+
+    /**
+     * Payload handed to the sink, of the type produced by the text, key value, binary and pass through mappers.
+     */
+    @State(Scope.Thread)
+    public static class Payload {
+        @Param({"text", "map", "bytes", "event"})
+        private String payloadType;
+
+        @Param({"64", "1024", "16384"})
+        private int payloadSize;
+
+        private Object payload;
+        private DynamicOptions transportOptions;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            char[] chars = new char[payloadSize];
+            Arrays.fill(chars, 'x');
+            String text = new String(chars);
+            Event event = new Event(System.currentTimeMillis(), new Object[]{text, 30, "Sri Lanka"});
+            transportOptions = new DynamicOptions(event);
+            switch (payloadType) {
+                case "text":
+                    payload = text;
+                    break;
+                case "map":
+                    Map<String, Object> map = new HashMap<>();
+                    // one entry per 32 characters of payload, holding strings of 16 characters
+                    for (int i = 0; i < Math.max(1, payloadSize / 32); i++) {
+                        map.put("key-" + i, String.format("%016d", i));
+                    }
+                    payload = map;
+                    break;
+                case "bytes":
+                    payload = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+                    break;
+                case "event":
+                    payload = event;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown payload type: " + payloadType);
+            }
+        }
+
+        Object next() {
+            // the sink reads byte buffers without moving their position, so the same payload can be reused
+            return payload;
+        }
+    }
+
+    /**
+     * JMS sink publishing synchronously.
+     */
+    @State(Scope.Benchmark)
+    public static class SyncSink extends SinkState {
+
+        @Setup(Level.Trial)
+        public void setup() {
+            start("publish.mode='sync'");
+        }
+    }
+
+    /**
+     * JMS sink publishing asynchronously, with a bounded number of unconfirmed sends.
+     */
+    @State(Scope.Benchmark)
+    public static class AsyncSink extends SinkState {
+
+        @Setup(Level.Trial)
+        public void setup() {
+            start("publish.mode='async', publish.confirm='true', publish.confirm.max.pending='4096'");
+        }
+    }
+
+    /**
+     * Siddhi app holding a JMS sink which sends through the stub JMS provider.
+     */
+    public abstract static class SinkState {
+        JMSSink sink;
+        JMSBrokerEndpoint endpoint;
+        private SiddhiManager siddhiManager;
+        private SiddhiAppRuntime siddhiAppRuntime;
+
+        void start(String sinkOptions) {
+            siddhiManager = new SiddhiManager();
+            siddhiAppRuntime = siddhiManager.createSiddhiAppRuntime("" +
+                    "@sink(type='jms', @map(type='passThrough'), "
+                    + "factory.initial='" + StubInitialContextFactory.class.getName() + "', "
+                    + "provider.url='stub://benchmark', "
+                    + "destination='" + DESTINATION + "', " + sinkOptions + ")"
+                    + STREAM_DEFINITION);
+            siddhiAppRuntime.start();
+            for (List<Sink> sinks : siddhiAppRuntime.getSinks()) {
+                for (Sink candidate : sinks) {
+                    if (candidate instanceof JMSSink) {
+                        sink = (JMSSink) candidate;
+                    }
+                }
+            }
+            if (sink == null) {
+                throw new IllegalStateException("The JMS sink of the benchmark app is not found.");
+            }
+            endpoint = sink.getLoadBalancer().getEndpoints()[0];
+            if (endpoint.getClientConnector() == null) {
+                throw new IllegalStateException("The JMS sink of the benchmark app is not connected.");
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            siddhiAppRuntime.shutdown();
+            siddhiManager.shutdown();
+        }
+    }
+}
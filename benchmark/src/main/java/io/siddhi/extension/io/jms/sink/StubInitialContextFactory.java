@@ -0,0 +1,161 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.sink;
+
+import org.apache.activemq.command.ActiveMQBytesMessage;
+import org.apache.activemq.command.ActiveMQMapMessage;
+import org.apache.activemq.command.ActiveMQMessage;
+import org.apache.activemq.command.ActiveMQObjectMessage;
+import org.apache.activemq.command.ActiveMQQueue;
+import org.apache.activemq.command.ActiveMQStreamMessage;
+import org.apache.activemq.command.ActiveMQTextMessage;
+import org.apache.activemq.command.ActiveMQTopic;
+import org.wso2.transport.jms.utils.JMSConstants;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.Hashtable;
+import java.util.concurrent.atomic.LongAdder;
+import javax.jms.Connection;
+import javax.jms.ConnectionFactory;
+import javax.jms.MessageProducer;
+import javax.jms.QueueConnection;
+import javax.jms.QueueConnectionFactory;
+import javax.jms.QueueSender;
+import javax.jms.QueueSession;
+import javax.jms.Session;
+import javax.jms.TopicConnection;
+import javax.jms.TopicConnectionFactory;
+import javax.jms.TopicPublisher;
+import javax.jms.TopicSession;
+import javax.naming.Context;
+import javax.naming.spi.InitialContextFactory;
+
+/**
+ * JNDI initial context factory providing a JMS connection factory which sends nowhere, so that the benchmarks
+ * measure the JMS sink and the transport without a broker.
+ * <p>
+ * The connection factory, connections, sessions and producers are dynamic proxies. Sessions create in-memory
+ * ActiveMQ messages and producers only count the messages sent. Any other name is looked up as a queue, or as a
+ * topic when the connection factory type is 'topic'.
+ */
+public class StubInitialContextFactory implements InitialContextFactory {
+    private static final LongAdder SENT_MESSAGES = new LongAdder();
+    private static final Object CONNECTION_FACTORY = stub(
+            new Class[]{ConnectionFactory.class, QueueConnectionFactory.class, TopicConnectionFactory.class},
+            (proxy, method, args) -> method.getName().startsWith("create") ? createConnection()
+                    : defaultValue(proxy, method.getName(), method.getReturnType(), args));
+
+    public static long getSentMessages() {
+        return SENT_MESSAGES.sum();
+    }
+
+    @Override
+    public Context getInitialContext(Hashtable<?, ?> environment) {
+        boolean topic = "topic".equalsIgnoreCase(String.valueOf(
+                environment.get(JMSConstants.PARAM_CONNECTION_FACTORY_TYPE)));
+        return (Context) stub(new Class[]{Context.class}, (proxy, method, args) -> {
+            if (method.getName().equals("lookup")) {
+                String name = String.valueOf(args[0]);
+                if (name.endsWith("ConnectionFactory")) {
+                    return CONNECTION_FACTORY;
+                }
+                return topic ? new ActiveMQTopic(name) : new ActiveMQQueue(name);
+            } else if (method.getName().equals("getEnvironment")) {
+                return environment;
+            }
+            return defaultValue(proxy, method.getName(), method.getReturnType(), args);
+        });
+    }
+
+    private static Object createConnection() {
+        return stub(new Class[]{Connection.class, QueueConnection.class, TopicConnection.class},
+                (proxy, method, args) -> method.getName().endsWith("Session") ? createSession()
+                        : defaultValue(proxy, method.getName(), method.getReturnType(), args));
+    }
+
+    private static Object createSession() {
+        return stub(new Class[]{Session.class, QueueSession.class, TopicSession.class}, (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "createTextMessage":
+                    ActiveMQTextMessage textMessage = new ActiveMQTextMessage();
+                    if (args != null && args.length == 1) {
+                        textMessage.setText((String) args[0]);
+                    }
+                    return textMessage;
+                case "createMapMessage":
+                    return new ActiveMQMapMessage();
+                case "createBytesMessage":
+                    return new ActiveMQBytesMessage();
+                case "createObjectMessage":
+                    return new ActiveMQObjectMessage();
+                case "createStreamMessage":
+                    return new ActiveMQStreamMessage();
+                case "createMessage":
+                    return new ActiveMQMessage();
+                case "createQueue":
+                    return new ActiveMQQueue((String) args[0]);
+                case "createTopic":
+                    return new ActiveMQTopic((String) args[0]);
+                case "createProducer":
+                case "createSender":
+                case "createPublisher":
+                    return createProducer();
+                case "getAcknowledgeMode":
+                    return Session.AUTO_ACKNOWLEDGE;
+                default:
+                    return defaultValue(proxy, method.getName(), method.getReturnType(), args);
+            }
+        });
+    }
+
+    private static Object createProducer() {
+        return stub(new Class[]{MessageProducer.class, QueueSender.class, TopicPublisher.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("send") || method.getName().equals("publish")) {
+                        SENT_MESSAGES.increment();
+                        return null;
+                    }
+                    return defaultValue(proxy, method.getName(), method.getReturnType(), args);
+                });
+    }
+
+    private static Object stub(Class<?>[] interfaces, InvocationHandler handler) {
+        return Proxy.newProxyInstance(StubInitialContextFactory.class.getClassLoader(), interfaces, handler);
+    }
+
+    private static Object defaultValue(Object proxy, String methodName, Class<?> returnType, Object[] args) {
+        switch (methodName) {
+            case "equals":
+                return proxy == args[0];
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "toString":
+                return "Stub" + proxy.getClass().getInterfaces()[0].getSimpleName();
+            default:
+                break;
+        }
+        if (!returnType.isPrimitive() || returnType == void.class) {
+            return null;
+        }
+        // the default value of the primitive type, boxed
+        return Array.get(Array.newInstance(returnType, 1), 0);
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.source;
+
+import io.siddhi.core.stream.input.source.SourceEventListener;
+import io.siddhi.query.api.definition.Attribute;
+import io.siddhi.query.api.definition.StreamDefinition;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Source event listener handing the events to a JMH blackhole, so that the benchmarks measure the JMS source
+ * without the cost of mapping and processing the events.
+ */
+public class BlackholeSourceEventListener implements SourceEventListener {
+    private static final StreamDefinition STREAM_DEFINITION = StreamDefinition.id("BenchmarkStream")
+            .attribute("name", Attribute.Type.STRING)
+            .attribute("age", Attribute.Type.INT)
+            .attribute("country", Attribute.Type.STRING);
+    private final Blackhole blackhole;
+
+    public BlackholeSourceEventListener(Blackhole blackhole) {
+        this.blackhole = blackhole;
+    }
+
+    @Override
+    public StreamDefinition getStreamDefinition() {
+        return STREAM_DEFINITION;
+    }
+
+    @Override
+    public void onEvent(Object eventObject, String[] transportProperties) {
+        blackhole.consume(eventObject);
+        blackhole.consume(transportProperties);
+    }
+
+    public void onEvent(Object eventObject, String[] transportProperties, String[] transportSyncProperties) {
+        blackhole.consume(eventObject);
+        blackhole.consume(transportProperties);
+    }
+}
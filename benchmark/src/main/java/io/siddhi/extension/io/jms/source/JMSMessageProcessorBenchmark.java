@@ -0,0 +1,164 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.source;
+
+import org.apache.activemq.command.ActiveMQBytesMessage;
+import org.apache.activemq.command.ActiveMQMapMessage;
+import org.apache.activemq.command.ActiveMQQueue;
+import org.apache.activemq.command.ActiveMQTextMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.wso2.transport.jms.utils.JMSConstants;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import javax.jms.JMSException;
+import javax.jms.Message;
+
+/**
+ * Measures {@link JMSMessageProcessor#onMessage} for Text, Map and Bytes messages, without a broker.
+ * <p>
+ * The messages are in-memory ActiveMQ messages and the events are handed to a blackhole. Besides the message type
+ * and payload size, the benchmark varies the number of requested transport properties and, through
+ * 'pauseChurnMicros', runs a thread which pauses and resumes the processor at the given interval.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JMSMessageProcessorBenchmark {
+    private static final String[] TRANSPORT_PROPERTIES = {JMSConstants.JMS_MESSAGE_ID,
+            JMSConstants.JMS_CORRELATION_ID, JMSConstants.JMS_TIMESTAMP, JMSConstants.JMS_DESTINATION,
+            JMSConstants.JMS_PRIORITY, JMSConstants.JMS_DELIVERY_MODE, JMSConstants.JMS_REDELIVERED,
+            JMSConstants.JMS_TYPE};
+    private static final long PAUSE_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+
+    @Param({"text", "map", "bytes"})
+    private String messageType;
+
+    @Param({"64", "1024", "16384"})
+    private int payloadSize;
+
+    @Param({"0", "2", "8"})
+    private int transportPropertyCount;
+
+    @Param({"0", "1000"})
+    private long pauseChurnMicros;
+
+    private JMSMessageProcessor processor;
+    private Message message;
+    private volatile boolean churning;
+    private Thread churnThread;
+
+    @Setup(Level.Trial)
+    public void setup(Blackhole blackhole) throws JMSException {
+        processor = new JMSMessageProcessor(new BlackholeSourceEventListener(blackhole), null,
+                Arrays.copyOf(TRANSPORT_PROPERTIES, transportPropertyCount));
+        message = createMessage();
+        if (pauseChurnMicros > 0) {
+            churning = true;
+            churnThread = new Thread(this::churn, "jms-benchmark-pause-churn");
+            churnThread.setDaemon(true);
+            churnThread.start();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        churning = false;
+        if (churnThread != null) {
+            churnThread.join();
+        }
+        processor.resume();
+    }
+
+    @Benchmark
+    public void onMessage() throws JMSException {
+        if (message instanceof ActiveMQBytesMessage) {
+            // rewind the body, which onMessage reads to the end
+            ((ActiveMQBytesMessage) message).reset();
+        }
+        processor.onMessage(message, null);
+    }
+
+    private void churn() {
+        long intervalNanos = TimeUnit.MICROSECONDS.toNanos(pauseChurnMicros);
+        while (churning) {
+            processor.pause();
+            LockSupport.parkNanos(PAUSE_NANOS);
+            processor.resume();
+            LockSupport.parkNanos(intervalNanos);
+        }
+    }
+
+    private Message createMessage() throws JMSException {
+        Message created;
+        switch (messageType) {
+            case "text":
+                ActiveMQTextMessage textMessage = new ActiveMQTextMessage();
+                textMessage.setText(payload());
+                created = textMessage;
+                break;
+            case "map":
+                ActiveMQMapMessage mapMessage = new ActiveMQMapMessage();
+                // one entry per 32 characters of payload, holding strings of 16 characters
+                for (int i = 0; i < Math.max(1, payloadSize / 32); i++) {
+                    mapMessage.setString("key-" + i, String.format("%016d", i));
+                }
+                created = mapMessage;
+                break;
+            case "bytes":
+                ActiveMQBytesMessage bytesMessage = new ActiveMQBytesMessage();
+                bytesMessage.writeBytes(payload().getBytes(StandardCharsets.UTF_8));
+                bytesMessage.reset();
+                created = bytesMessage;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown message type: " + messageType);
+        }
+        created.setJMSMessageID("ID:benchmark-1");
+        created.setJMSCorrelationID("benchmark-correlation");
+        created.setJMSTimestamp(System.currentTimeMillis());
+        created.setJMSDestination(new ActiveMQQueue("BENCHMARK_QUEUE"));
+        created.setJMSType("benchmark");
+        return created;
+    }
+
+    private String payload() {
+        char[] payload = new char[payloadSize];
+        Arrays.fill(payload, 'x');
+        return new String(payload);
+    }
+}
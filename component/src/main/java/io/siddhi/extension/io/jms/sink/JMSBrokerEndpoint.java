@@ -0,0 +1,140 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.sink;
+
+import io.siddhi.extension.io.jms.util.JMSConnectionRegistry;
+import io.siddhi.extension.io.jms.util.JMSJndiCache;
+import org.wso2.transport.jms.contract.JMSClientConnector;
+import org.wso2.transport.jms.exception.JMSConnectorException;
+import org.wso2.transport.jms.impl.JMSConnectorFactoryImpl;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Broker a JMS sink publishes to, along with its connector and the health observed from the sends.
+ */
+class JMSBrokerEndpoint {
+    private static final double LATENCY_SMOOTHING_FACTOR = 0.2;
+    private final String providerUrl;
+    private final Map<String, String> jmsProperties;
+    private final boolean shared;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile JMSClientConnector clientConnector;
+    private JMSConnectionRegistry.Lease lease;
+    private volatile double averageLatency;
+    private volatile long ejectedUntil;
+
+    JMSBrokerEndpoint(String providerUrl, Map<String, String> jmsProperties, boolean shared) {
+        this.providerUrl = providerUrl;
+        this.jmsProperties = jmsProperties;
+        this.shared = shared;
+    }
+
+    /**
+     * Connects to the broker, or replaces the connector when already connected, as it is called again after a
+     * failure. A shared connector is acquired from the {@link JMSConnectionRegistry} on the first call.
+     *
+     * @throws JMSConnectorException if the connector cannot be created.
+     */
+    synchronized void connect() throws JMSConnectorException {
+        try {
+            if (!shared) {
+                clientConnector = new JMSConnectorFactoryImpl().createClientConnector(jmsProperties);
+            } else if (lease == null) {
+                lease = JMSConnectionRegistry.acquire(jmsProperties);
+                clientConnector = lease.getConnector();
+            } else {
+                clientConnector = lease.reconnect();
+            }
+        } catch (JMSConnectorException e) {
+            // the cached connection factory may be the cause, so have the next attempt look it up again
+            JMSJndiCache.invalidate(jmsProperties);
+            throw e;
+        }
+    }
+
+    /**
+     * Releases a shared connector. The connector is kept for any send still completing, and acquired again on the
+     * next {@link #connect()}.
+     */
+    synchronized void release() {
+        if (lease != null) {
+            lease.release();
+            lease = null;
+        }
+    }
+
+    void beginSend() {
+        inFlight.incrementAndGet();
+    }
+
+    /**
+     * Records the completion of a send.
+     *
+     * @param latencyNanos time taken by the send.
+     * @param ejectLatency average latency in milliseconds above which the endpoint is ejected, or zero.
+     * @param ejectTime    time in milliseconds an ejected endpoint is excluded from the routing.
+     */
+    void endSend(long latencyNanos, long ejectLatency, long ejectTime) {
+        inFlight.decrementAndGet();
+        double latency = averageLatency + LATENCY_SMOOTHING_FACTOR
+                * (TimeUnit.NANOSECONDS.toMicros(latencyNanos) / 1000.0 - averageLatency);
+        averageLatency = latency;
+        if (ejectLatency > 0 && latency > ejectLatency) {
+            eject(ejectTime);
+            // start afresh once the endpoint is back in the routing
+            averageLatency = 0;
+        }
+    }
+
+    void endFailedSend(long ejectTime) {
+        inFlight.decrementAndGet();
+        eject(ejectTime);
+    }
+
+    void eject(long ejectTime) {
+        ejectedUntil = System.currentTimeMillis() + ejectTime;
+    }
+
+    boolean isAvailable(long currentTime) {
+        return currentTime >= ejectedUntil;
+    }
+
+    long getEjectedUntil() {
+        return ejectedUntil;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    double getAverageLatency() {
+        return averageLatency;
+    }
+
+    JMSClientConnector getClientConnector() {
+        return clientConnector;
+    }
+
+    String getProviderUrl() {
+        return providerUrl;
+    }
+}
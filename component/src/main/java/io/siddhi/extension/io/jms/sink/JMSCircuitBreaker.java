@@ -0,0 +1,138 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.sink;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Circuit breaker guarding the sends of a JMS sink.
+ * <p>
+ * The circuit opens after the configured number of consecutive send failures, and stays open for a backoff
+ * period which doubles on each failed probe up to the maximum backoff, with a random jitter of up to half of the
+ * period so that sinks do not probe a recovering broker at the same time. Once the backoff has elapsed the circuit
+ * is half open and lets a single send through; the circuit closes if it succeeds and opens again otherwise.
+ */
+class JMSCircuitBreaker {
+    private static final Logger log = LogManager.getLogger(JMSCircuitBreaker.class);
+    private final String name;
+    private final int failureThreshold;
+    private final long initialBackoff;
+    private final long maxBackoff;
+    private final Runnable halfOpenListener;
+    private volatile State state = State.CLOSED;
+    private volatile long openUntil;
+    private volatile int consecutiveFailures;
+    private long backoff;
+
+    JMSCircuitBreaker(String name, int failureThreshold, long initialBackoff, long maxBackoff,
+                      Runnable halfOpenListener) {
+        this.name = name;
+        this.failureThreshold = failureThreshold;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.halfOpenListener = halfOpenListener;
+        this.backoff = initialBackoff;
+    }
+
+    /**
+     * Returns whether the circuit is open and rejecting sends, without changing its state.
+     *
+     * @return true while the circuit is open and the backoff has not elapsed.
+     */
+    boolean isOpen() {
+        return state == State.OPEN && System.currentTimeMillis() < openUntil;
+    }
+
+    /**
+     * Acquires a permit to send. When the backoff of an open circuit has elapsed, the circuit turns half open
+     * and only the first caller gets the permit to probe the broker. That caller runs the half open listener
+     * before probing, outside the lock, while the other callers are turned away meanwhile.
+     *
+     * @return true if the send may proceed.
+     */
+    boolean tryAcquire() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            if (state != State.OPEN || System.currentTimeMillis() < openUntil) {
+                return state == State.CLOSED;
+            }
+            state = State.HALF_OPEN;
+        }
+        if (halfOpenListener != null) {
+            try {
+                halfOpenListener.run();
+            } catch (RuntimeException e) {
+                // the probe still goes ahead, and opens the circuit again if the broker is still unavailable
+                log.error("Error while preparing to probe the broker of " + name + ".", e);
+            }
+        }
+        return true;
+    }
+
+    void onSuccess() {
+        if (state == State.CLOSED && consecutiveFailures == 0) {
+            return;
+        }
+        synchronized (this) {
+            if (state != State.CLOSED) {
+                log.info("Circuit of " + name + " is closed, resuming publishing.");
+            }
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+            backoff = initialBackoff;
+        }
+    }
+
+    synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            backoff = Math.min(maxBackoff, backoff * 2);
+            open();
+        } else if (state == State.CLOSED && ++consecutiveFailures >= failureThreshold) {
+            open();
+        }
+    }
+
+    State getState() {
+        return state;
+    }
+
+    private void open() {
+        long delay = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+        openUntil = System.currentTimeMillis() + delay;
+        if (state == State.CLOSED) {
+            log.warn("Circuit of " + name + " is open after " + consecutiveFailures + " consecutive send "
+                    + "failures, retrying in " + delay + " ms.");
+        } else if (log.isDebugEnabled()) {
+            log.debug("Circuit of " + name + " is open again, retrying in " + delay + " ms.");
+        }
+        state = State.OPEN;
+    }
+
+    /**
+     * States of the circuit.
+     */
+    enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+}
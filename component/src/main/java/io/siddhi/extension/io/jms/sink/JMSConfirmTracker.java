@@ -0,0 +1,139 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.sink;
+
+import io.siddhi.core.event.Event;
+
+import java.util.List;
+
+/**
+ * Tracks the asynchronous sends of a JMS sink until they are confirmed, by sequence number.
+ * <p>
+ * The sends are held in a ring indexed by their sequence numbers. The watermark is the highest sequence number up
+ * to which every send is confirmed, and the ring holds the sends between the watermark and the next sequence
+ * number, so its capacity bounds the number of unconfirmed sends. A send is confirmed once it is sent, or once it
+ * has failed and been taken by the journal or the sink error handling, so that no send holds the watermark back
+ * for good.
+ */
+final class JMSConfirmTracker {
+    static final long UNTRACKED = -1;
+    private final int capacity;
+    private final String[] destinations;
+    private final Object[] payloads;
+    private final Event[] events;
+    private final boolean[] confirmed;
+    private long head;
+    private long next;
+
+    JMSConfirmTracker(int capacity) {
+        this.capacity = capacity;
+        this.destinations = new String[capacity];
+        this.payloads = new Object[capacity];
+        this.events = new Event[capacity];
+        this.confirmed = new boolean[capacity];
+    }
+
+    /**
+     * Starts tracking a send, waiting while the maximum number of sends is unconfirmed.
+     *
+     * @param destination destination of the send.
+     * @param payload     payload of the send.
+     * @param event       event the dynamic options of the send are resolved from, or null.
+     * @param timeout     maximum time in milliseconds to wait.
+     * @return sequence number of the send, or {@link #UNTRACKED} if the maximum number of sends is still
+     * unconfirmed after the timeout.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    synchronized long track(String destination, Object payload, Event event, long timeout) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeout;
+        while (next - head >= capacity) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return UNTRACKED;
+            }
+            wait(remaining);
+        }
+        int index = indexOf(next);
+        destinations[index] = destination;
+        payloads[index] = payload;
+        events[index] = event;
+        confirmed[index] = false;
+        return next++;
+    }
+
+    synchronized void confirm(long sequence) {
+        if (sequence < head || sequence >= next) {
+            return;
+        }
+        confirmed[indexOf(sequence)] = true;
+        if (sequence != head) {
+            return;
+        }
+        while (head < next && confirmed[indexOf(head)]) {
+            int index = indexOf(head);
+            destinations[index] = null;
+            payloads[index] = null;
+            events[index] = null;
+            head++;
+        }
+        notifyAll();
+    }
+
+    /**
+     * Returns the highest sequence number up to which every send is confirmed.
+     *
+     * @return confirmed watermark, or -1 if no send is confirmed.
+     */
+    synchronized long getWatermark() {
+        return head - 1;
+    }
+
+    synchronized int getUnconfirmedCount() {
+        int count = 0;
+        for (long sequence = head; sequence < next; sequence++) {
+            if (!confirmed[indexOf(sequence)]) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the destinations, payloads and events of the unconfirmed sends, in the order they were tracked.
+     *
+     * @param unconfirmedDestinations list the destinations are added to.
+     * @param unconfirmedPayloads     list the payloads are added to.
+     * @param unconfirmedEvents       list the events, which may be null, are added to.
+     */
+    synchronized void collectUnconfirmed(List<String> unconfirmedDestinations, List<Object> unconfirmedPayloads,
+                                         List<Event> unconfirmedEvents) {
+        for (long sequence = head; sequence < next; sequence++) {
+            int index = indexOf(sequence);
+            if (!confirmed[index]) {
+                unconfirmedDestinations.add(destinations[index]);
+                unconfirmedPayloads.add(payloads[index]);
+                unconfirmedEvents.add(events[index]);
+            }
+        }
+    }
+
+    private int indexOf(long sequence) {
+        return (int) (sequence % capacity);
+    }
+}
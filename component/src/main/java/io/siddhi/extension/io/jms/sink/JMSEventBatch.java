@@ -0,0 +1,158 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.sink;
+
+import io.siddhi.core.util.transport.DynamicOptions;
+import io.siddhi.extension.io.jms.util.JMSOptionsMapper;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Set of events which are packed into a single JMS message.
+ * <p>
+ * A binary frame is an int holding the number of events followed by each event as an int length and its bytes.
+ * A json frame is a JSON array of the event payloads.
+ */
+final class JMSEventBatch {
+    private final String destination;
+    private final String frameFormat;
+    private final List<Object> payloads = new ArrayList<>();
+    private final List<DynamicOptions> transportOptions = new ArrayList<>();
+    private final List<Object> entries = new ArrayList<>();
+    private long[] sequences = new long[16];
+    private final long createdTime = System.currentTimeMillis();
+    private long size;
+
+    JMSEventBatch(String destination, String frameFormat) {
+        this.destination = destination;
+        this.frameFormat = frameFormat;
+    }
+
+    /**
+     * Returns the frame format in which the given payload can be packed, or null if it cannot be packed.
+     *
+     * @param payload     event payload.
+     * @param batchFormat configured batch format.
+     * @return one of the {@link JMSOptionsMapper} frame formats, or null.
+     */
+    static String frameFormatOf(Object payload, String batchFormat) {
+        if (JMSOptionsMapper.BATCH_FORMAT_JSON.equalsIgnoreCase(batchFormat)) {
+            return payload instanceof String ? JMSOptionsMapper.FRAME_FORMAT_JSON : null;
+        } else if (payload instanceof String) {
+            return JMSOptionsMapper.FRAME_FORMAT_TEXT;
+        } else if (payload instanceof ByteBuffer) {
+            return JMSOptionsMapper.FRAME_FORMAT_BYTES;
+        }
+        return null;
+    }
+
+    void add(Object payload, DynamicOptions options, long sequence) {
+        if (payloads.size() == sequences.length) {
+            sequences = Arrays.copyOf(sequences, sequences.length * 2);
+        }
+        sequences[payloads.size()] = sequence;
+        payloads.add(payload);
+        transportOptions.add(options);
+        if (JMSOptionsMapper.FRAME_FORMAT_JSON.equals(frameFormat)) {
+            String text = (String) payload;
+            entries.add(text);
+            size += text.length() + 1;
+        } else {
+            byte[] bytes;
+            if (payload instanceof String) {
+                bytes = ((String) payload).getBytes(StandardCharsets.UTF_8);
+            } else {
+                ByteBuffer buffer = ((ByteBuffer) payload).duplicate();
+                bytes = new byte[buffer.remaining()];
+                buffer.get(bytes);
+            }
+            entries.add(bytes);
+            size += bytes.length + 4;
+        }
+    }
+
+    /**
+     * Builds the payload of the JMS message carrying all the events of this batch.
+     *
+     * @return a String for json frames and a ByteBuffer for binary frames.
+     */
+    Object toFrame() {
+        if (JMSOptionsMapper.FRAME_FORMAT_JSON.equals(frameFormat)) {
+            StringBuilder frame = new StringBuilder((int) size + 2).append('[');
+            for (int i = 0; i < entries.size(); i++) {
+                if (i > 0) {
+                    frame.append(',');
+                }
+                frame.append((String) entries.get(i));
+            }
+            return frame.append(']').toString();
+        }
+        ByteBuffer frame = ByteBuffer.allocate((int) size + 4);
+        frame.putInt(entries.size());
+        for (Object entry : entries) {
+            byte[] bytes = (byte[]) entry;
+            frame.putInt(bytes.length);
+            frame.put(bytes);
+        }
+        frame.flip();
+        return frame;
+    }
+
+    String getDestination() {
+        return destination;
+    }
+
+    String getFrameFormat() {
+        return frameFormat;
+    }
+
+    List<Object> getPayloads() {
+        return payloads;
+    }
+
+    List<DynamicOptions> getTransportOptions() {
+        return transportOptions;
+    }
+
+    /**
+     * Returns the confirm tracking sequence number of an event of the batch.
+     *
+     * @param index index of the event.
+     * @return sequence number, or {@link JMSConfirmTracker#UNTRACKED}.
+     */
+    long getSequence(int index) {
+        return sequences[index];
+    }
+
+    int getCount() {
+        return payloads.size();
+    }
+
+    long getSize() {
+        return size;
+    }
+
+    long getCreatedTime() {
+        return createdTime;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.sink;
+
+import io.siddhi.core.util.transport.DynamicOptions;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Packs the published events into batches and hands each batch over to a {@link JMSPublisher} once it reaches
+ * the configured event count or size, or when it has been open for the configured timeout.
+ * <p>
+ * Events are kept in publishing order. A batch is closed when the destination or the frame format of the next
+ * event differs, and payloads which cannot be framed (e.g. Map messages) are published on their own.
+ */
+class JMSEventBatcher {
+    private static final Logger log = LogManager.getLogger(JMSEventBatcher.class);
+    private final JMSSink jmsSink;
+    private final int maxEvents;
+    private final long maxBytes;
+    private final long timeout;
+    private final String batchFormat;
+    private JMSEventBatch batch;
+    private ScheduledFuture<?> flushTask;
+
+    JMSEventBatcher(JMSSink jmsSink, int maxEvents, long maxBytes, long timeout, String batchFormat) {
+        this.jmsSink = jmsSink;
+        this.maxEvents = maxEvents;
+        this.maxBytes = maxBytes;
+        this.timeout = timeout;
+        this.batchFormat = batchFormat;
+    }
+
+    synchronized void add(String destination, Object payload, DynamicOptions transportOptions, long sequence) {
+        String frameFormat = JMSEventBatch.frameFormatOf(payload, batchFormat);
+        if (batch != null && (frameFormat == null || !frameFormat.equals(batch.getFrameFormat())
+                || !destination.equals(batch.getDestination()))) {
+            flush();
+        }
+        if (frameFormat == null) {
+            JMSPublisher jmsPublisher = jmsSink.createPublisher(destination, payload, transportOptions);
+            jmsPublisher.setSequence(sequence);
+            jmsSink.dispatch(jmsPublisher);
+            return;
+        }
+        if (batch == null) {
+            batch = new JMSEventBatch(destination, frameFormat);
+        }
+        batch.add(payload, transportOptions, sequence);
+        if (batch.getCount() >= maxEvents || (maxBytes > 0 && batch.getSize() >= maxBytes)) {
+            flush();
+        }
+    }
+
+    synchronized void flush() {
+        if (batch == null) {
+            return;
+        }
+        JMSEventBatch closedBatch = batch;
+        batch = null;
+        JMSPublisher jmsPublisher;
+        try {
+            jmsPublisher = jmsSink.createPublisher(closedBatch);
+        } catch (RuntimeException e) {
+            // the events of a batch which cannot be sent would otherwise hold the confirmed sends back
+            for (int i = 0; i < closedBatch.getCount(); i++) {
+                jmsSink.confirm(closedBatch.getSequence(i));
+            }
+            throw e;
+        }
+        jmsSink.dispatch(jmsPublisher);
+    }
+
+    private synchronized void flushExpired() {
+        if (batch != null && System.currentTimeMillis() - batch.getCreatedTime() >= timeout) {
+            flush();
+        }
+    }
+
+    synchronized void start(ScheduledExecutorService scheduledExecutorService) {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+        }
+        long period = Math.max(1, timeout / 2);
+        flushTask = scheduledExecutorService.scheduleWithFixedDelay(() -> {
+            try {
+                flushExpired();
+            } catch (RuntimeException e) {
+                log.error("Error while publishing the timed out JMS event batch.", e);
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    synchronized void stop() {
+        if (flushTask != null) {
+            flushTask.cancel(false);
+            flushTask = null;
+        }
+        flush();
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.sink;
+
+import io.siddhi.extension.io.jms.util.JMSOptionsMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Distributes the sends of a JMS sink over its broker endpoints, skipping the endpoints which are ejected.
+ * When all the endpoints are ejected, the endpoint which returns to the routing first is used.
+ */
+class JMSLoadBalancer {
+    private final JMSBrokerEndpoint[] endpoints;
+    private final String strategy;
+    private final long ejectLatency;
+    private final long ejectTime;
+    private final AtomicInteger nextIndex = new AtomicInteger();
+
+    JMSLoadBalancer(JMSBrokerEndpoint[] endpoints, String strategy, long ejectLatency, long ejectTime) {
+        this.endpoints = endpoints;
+        this.strategy = strategy;
+        this.ejectLatency = ejectLatency;
+        this.ejectTime = ejectTime;
+    }
+
+    /**
+     * Selects the endpoint for the next send.
+     *
+     * @param key routing key of the event, used by the hash strategy.
+     * @return selected endpoint.
+     */
+    JMSBrokerEndpoint select(String key) {
+        if (endpoints.length == 1) {
+            return endpoints[0];
+        }
+        long currentTime = System.currentTimeMillis();
+        int start;
+        if (JMSOptionsMapper.LOAD_BALANCE_HASH.equals(strategy)) {
+            start = Math.floorMod(key == null ? 0 : spread(key.hashCode()), endpoints.length);
+        } else if (JMSOptionsMapper.LOAD_BALANCE_LEAST_IN_FLIGHT.equals(strategy)) {
+            return selectLeastInFlight(currentTime);
+        } else {
+            start = Math.floorMod(nextIndex.getAndIncrement(), endpoints.length);
+        }
+        for (int i = 0; i < endpoints.length; i++) {
+            JMSBrokerEndpoint endpoint = endpoints[(start + i) % endpoints.length];
+            if (endpoint.isAvailable(currentTime)) {
+                return endpoint;
+            }
+        }
+        return firstToReturn();
+    }
+
+    private JMSBrokerEndpoint selectLeastInFlight(long currentTime) {
+        JMSBrokerEndpoint selected = null;
+        for (JMSBrokerEndpoint endpoint : endpoints) {
+            if (endpoint.isAvailable(currentTime)
+                    && (selected == null || endpoint.getInFlight() < selected.getInFlight())) {
+                selected = endpoint;
+            }
+        }
+        return selected == null ? firstToReturn() : selected;
+    }
+
+    private JMSBrokerEndpoint firstToReturn() {
+        JMSBrokerEndpoint selected = endpoints[0];
+        for (JMSBrokerEndpoint endpoint : endpoints) {
+            if (endpoint.getEjectedUntil() < selected.getEjectedUntil()) {
+                selected = endpoint;
+            }
+        }
+        return selected;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    JMSBrokerEndpoint[] getEndpoints() {
+        return endpoints;
+    }
+
+    boolean isBalancing() {
+        return endpoints.length > 1;
+    }
+
+    long getEjectLatency() {
+        return ejectLatency;
+    }
+
+    long getEjectTime() {
+        return ejectTime;
+    }
+
+    /**
+     * Splits a comma separated list of provider URLs, ignoring the commas within parentheses so that composite
+     * URLs such as 'failover:(tcp://host1:61616,tcp://host2:61616)' are kept as a single URL.
+     *
+     * @param urls comma separated provider URLs.
+     * @return list of provider URLs.
+     */
+    static List<String> splitProviderUrls(String urls) {
+        List<String> providerUrls = new ArrayList<>();
+        int depth = 0;
+        int start = 0;
+        for (int i = 0; i < urls.length(); i++) {
+            char c = urls.charAt(i);
+            if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (c == ',' && depth == 0) {
+                addUrl(providerUrls, urls.substring(start, i));
+                start = i + 1;
+            }
+        }
+        addUrl(providerUrls, urls.substring(start));
+        return providerUrls;
+    }
+
+    private static void addUrl(List<String> providerUrls, String url) {
+        String trimmed = url.trim();
+        if (!trimmed.isEmpty()) {
+            providerUrls.add(trimmed);
+        }
+    }
+}
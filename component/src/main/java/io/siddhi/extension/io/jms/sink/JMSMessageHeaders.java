@@ -0,0 +1,150 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.sink;
+
+import io.siddhi.core.exception.SiddhiAppCreationException;
+import io.siddhi.core.util.transport.DynamicOptions;
+import io.siddhi.core.util.transport.Option;
+import io.siddhi.query.api.definition.Attribute;
+
+import java.util.List;
+import javax.jms.JMSException;
+import javax.jms.Message;
+
+/**
+ * Headers and properties a JMS sink sets on each message, resolved from the event being published.
+ * <p>
+ * The header templates are compiled by Siddhi and the message properties are mapped to attribute positions when
+ * the sink is created, so applying them to a message only reads the event.
+ */
+class JMSMessageHeaders {
+    private static final String JMSX_GROUP_ID = "JMSXGroupID";
+    private final Option correlationId;
+    private final Option type;
+    private final Option groupId;
+    private final String[] propertyNames;
+    private final int[] propertyPositions;
+    private final Attribute.Type[] propertyTypes;
+
+    private JMSMessageHeaders(Option correlationId, Option type, Option groupId, String[] propertyNames,
+                              int[] propertyPositions, Attribute.Type[] propertyTypes) {
+        this.correlationId = correlationId;
+        this.type = type;
+        this.groupId = groupId;
+        this.propertyNames = propertyNames;
+        this.propertyPositions = propertyPositions;
+        this.propertyTypes = propertyTypes;
+    }
+
+    /**
+     * Creates the headers of a sink.
+     *
+     * @param correlationId template of the JMSCorrelationID header, or null.
+     * @param type          template of the JMSType header, or null.
+     * @param groupId       template of the JMSXGroupID property, or null.
+     * @param properties    comma separated list of 'property name:attribute name' pairs, or null.
+     * @param attributes    attributes of the stream the sink publishes.
+     * @param streamId      id of the stream the sink publishes.
+     * @return headers of the sink, or null if none are configured.
+     */
+    static JMSMessageHeaders create(Option correlationId, Option type, Option groupId, String properties,
+                                    List<Attribute> attributes, String streamId) {
+        String[] mappings = properties == null || properties.trim().isEmpty() ? new String[0]
+                : properties.split(",");
+        if (correlationId == null && type == null && groupId == null && mappings.length == 0) {
+            return null;
+        }
+        String[] propertyNames = new String[mappings.length];
+        int[] propertyPositions = new int[mappings.length];
+        Attribute.Type[] propertyTypes = new Attribute.Type[mappings.length];
+        for (int i = 0; i < mappings.length; i++) {
+            String[] mapping = mappings[i].split(":");
+            if (mapping.length != 2 || mapping[0].trim().isEmpty()) {
+                throw new SiddhiAppCreationException("Invalid message property mapping '" + mappings[i].trim()
+                        + "' in the JMS sink of stream: " + streamId + ". Mappings should be of the form "
+                        + "'property name:attribute name'.");
+            }
+            propertyNames[i] = mapping[0].trim();
+            propertyPositions[i] = -1;
+            for (int j = 0; j < attributes.size(); j++) {
+                if (attributes.get(j).getName().equals(mapping[1].trim())) {
+                    propertyPositions[i] = j;
+                    propertyTypes[i] = attributes.get(j).getType();
+                }
+            }
+            if (propertyPositions[i] < 0) {
+                throw new SiddhiAppCreationException("Unknown attribute '" + mapping[1].trim() + "' mapped to the "
+                        + "message property '" + propertyNames[i] + "' in the JMS sink of stream: " + streamId);
+            }
+        }
+        return new JMSMessageHeaders(correlationId, type, groupId, propertyNames, propertyPositions,
+                propertyTypes);
+    }
+
+    /**
+     * Sets the headers and properties of a message from the event it carries.
+     *
+     * @param message          message to be sent.
+     * @param transportOptions dynamic options of the event.
+     * @throws JMSException if a header or property cannot be set.
+     */
+    void apply(Message message, DynamicOptions transportOptions) throws JMSException {
+        if (correlationId != null) {
+            message.setJMSCorrelationID(correlationId.getValue(transportOptions));
+        }
+        if (type != null) {
+            message.setJMSType(type.getValue(transportOptions));
+        }
+        if (groupId != null) {
+            message.setStringProperty(JMSX_GROUP_ID, groupId.getValue(transportOptions));
+        }
+        if (propertyNames.length == 0 || transportOptions.getEvent() == null) {
+            return;
+        }
+        Object[] data = transportOptions.getEvent().getData();
+        for (int i = 0; i < propertyNames.length; i++) {
+            Object value = data[propertyPositions[i]];
+            if (value == null) {
+                continue;
+            }
+            switch (propertyTypes[i]) {
+                case STRING:
+                    message.setStringProperty(propertyNames[i], (String) value);
+                    break;
+                case INT:
+                    message.setIntProperty(propertyNames[i], (Integer) value);
+                    break;
+                case LONG:
+                    message.setLongProperty(propertyNames[i], (Long) value);
+                    break;
+                case FLOAT:
+                    message.setFloatProperty(propertyNames[i], (Float) value);
+                    break;
+                case DOUBLE:
+                    message.setDoubleProperty(propertyNames[i], (Double) value);
+                    break;
+                case BOOL:
+                    message.setBooleanProperty(propertyNames[i], (Boolean) value);
+                    break;
+                default:
+                    message.setObjectProperty(propertyNames[i], value);
+            }
+        }
+    }
+}
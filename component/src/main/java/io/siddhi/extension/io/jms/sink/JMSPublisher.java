@@ -18,15 +18,17 @@
  */
 package io.siddhi.extension.io.jms.sink;
 
+import io.siddhi.core.event.Event;
 import io.siddhi.core.exception.ConnectionUnavailableException;
 import io.siddhi.core.util.transport.DynamicOptions;
 import io.siddhi.extension.io.jms.sink.exception.JMSSinkAdaptorRuntimeException;
+import io.siddhi.extension.io.jms.util.JMSOptionsMapper;
+import io.siddhi.query.api.definition.Attribute;
 import org.wso2.transport.jms.contract.JMSClientConnector;
 import org.wso2.transport.jms.exception.JMSConnectorException;
 import org.wso2.transport.jms.utils.JMSConstants;
 
 import java.nio.ByteBuffer;
-import java.util.HashMap;
 import java.util.Map;
 import javax.jms.BytesMessage;
 import javax.jms.JMSException;
@@ -38,39 +40,145 @@ import javax.jms.TextMessage;
  * JMS publisher which creates the message and sends to JMS.
  */
 public class JMSPublisher implements Runnable {
-    private Map<String, String> jmsProperties;
+    private static final int STAGING_BUFFER_SIZE = 8192;
+    private static final ThreadLocal<byte[]> STAGING_BUFFER =
+            ThreadLocal.withInitial(() -> new byte[STAGING_BUFFER_SIZE]);
+    private String destination;
+    private JMSBrokerEndpoint endpoint;
     private JMSClientConnector jmsClientConnector;
     private Message message;
     private DynamicOptions transportOptions;
     private JMSSink jmsSink;
     private  Object payload;
+    private JMSEventBatch batch;
+    private String correlationId;
+    private long sequence = JMSConfirmTracker.UNTRACKED;
 
-    public JMSPublisher(String destination, Map<String, String> staticJMSProperties,
-                        JMSClientConnector jmsClientConnector, Object payload, DynamicOptions transportOptions,
-                        JMSSink jmsSink) {
-        this.jmsProperties = new HashMap<>();
-        this.jmsProperties.putAll(staticJMSProperties);
-        this.jmsProperties.put(JMSConstants.PARAM_DESTINATION_NAME, destination);
-        this.jmsClientConnector = jmsClientConnector;
+    JMSPublisher(String destination, JMSBrokerEndpoint endpoint, Object payload, DynamicOptions transportOptions,
+                 JMSSink jmsSink) {
+        this.destination = destination;
+        this.endpoint = endpoint;
+        this.jmsClientConnector = endpoint.getClientConnector();
         this.transportOptions = transportOptions;
         this.payload = payload;
         this.jmsSink = jmsSink;
         try {
             this.message = handleMessage(payload);
+            JMSMessageHeaders messageHeaders = jmsSink.getMessageHeaders();
+            if (messageHeaders != null && transportOptions != null) {
+                messageHeaders.apply(message, transportOptions);
+            }
+            this.correlationId = jmsSink.prepareRequest(message);
         } catch (JMSException | JMSConnectorException e) {
             throw new JMSSinkAdaptorRuntimeException("Error while processing the JMS message to destination "
                     + destination, e);
         }
     }
 
+    JMSPublisher(JMSEventBatch batch, JMSBrokerEndpoint endpoint, JMSSink jmsSink) {
+        this.destination = batch.getDestination();
+        this.endpoint = endpoint;
+        this.jmsClientConnector = endpoint.getClientConnector();
+        this.payload = batch.toFrame();
+        this.jmsSink = jmsSink;
+        this.batch = batch;
+        try {
+            this.message = handleMessage(payload);
+            this.message.setStringProperty(JMSOptionsMapper.FRAME_FORMAT_PROPERTY, batch.getFrameFormat());
+            this.message.setIntProperty(JMSOptionsMapper.FRAME_SIZE_PROPERTY, batch.getCount());
+        } catch (JMSException | JMSConnectorException e) {
+            throw new JMSSinkAdaptorRuntimeException("Error while processing the JMS message batch to destination "
+                    + destination, e);
+        }
+    }
+
     @Override
     public void run() {
         try {
-            jmsClientConnector.send(message, jmsProperties.get(JMSConstants.PARAM_DESTINATION_NAME));
+            publish();
+        } catch (ConnectionUnavailableException e) {
+            fail(e);
+            return;
+        }
+        confirm();
+    }
+
+    /**
+     * Passes the events of this send to the failure handling of the sink, confirming them once it has taken them.
+     *
+     * @param e cause of the failure.
+     */
+    void fail(ConnectionUnavailableException e) {
+        if (correlationId != null) {
+            // no reply is awaited for a request which has failed
+            jmsSink.cancelRequest(correlationId);
+        }
+        if (batch == null) {
+            jmsSink.onSendFailure(destination, payload, transportOptions, e);
+        } else {
+            // handle each event of the batch, so that the sink error handling can act on the events.
+            for (int i = 0; i < batch.getCount(); i++) {
+                jmsSink.onSendFailure(destination, batch.getPayloads().get(i), batch.getTransportOptions().get(i), e);
+            }
+        }
+        confirm();
+    }
+
+    private void confirm() {
+        if (batch == null) {
+            jmsSink.confirm(sequence);
+        } else {
+            for (int i = 0; i < batch.getCount(); i++) {
+                jmsSink.confirm(batch.getSequence(i));
+            }
+        }
+    }
+
+    void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    int getEventCount() {
+        return batch == null ? 1 : batch.getCount();
+    }
+
+    /**
+     * Sends the message on the calling thread.
+     *
+     * @throws ConnectionUnavailableException if the message could not be sent to the broker.
+     */
+    void publish() throws ConnectionUnavailableException {
+        JMSCircuitBreaker circuitBreaker = jmsSink.getCircuitBreaker();
+        if (circuitBreaker != null && !circuitBreaker.tryAcquire()) {
+            throw new ConnectionUnavailableException("Circuit is open, not sending JMS message to destination: "
+                    + destination);
+        }
+        JMSLoadBalancer loadBalancer = jmsSink.getLoadBalancer();
+        // the connector is resolved at the time of sending as it is recreated on reconnection
+        JMSClientConnector connector = endpoint.getClientConnector();
+        if (correlationId != null) {
+            // registered only now, so that a request which is never sent does not time out later
+            jmsSink.registerRequest(correlationId, payload, transportOptions);
+        }
+        endpoint.beginSend();
+        long startTime = System.nanoTime();
+        try {
+            connector.send(message, destination);
         } catch (JMSConnectorException e) {
-            jmsSink.onError(payload, transportOptions,
-                    new ConnectionUnavailableException("Error sending JMS message to destination: "
-                            + jmsProperties.get(JMSConstants.PARAM_DESTINATION_NAME), e));
+            if (correlationId != null) {
+                // the failure is reported by the sink error handling, not as a timeout
+                jmsSink.cancelRequest(correlationId);
+            }
+            endpoint.endFailedSend(loadBalancer.getEjectTime());
+            if (circuitBreaker != null) {
+                circuitBreaker.onFailure();
+            }
+            throw new ConnectionUnavailableException("Error sending JMS message to destination: "
+                    + destination + " at " + endpoint.getProviderUrl(), e);
+        }
+        endpoint.endSend(System.nanoTime() - startTime, loadBalancer.getEjectLatency(), loadBalancer.getEjectTime());
+        if (circuitBreaker != null) {
+            circuitBreaker.onSuccess();
         }
     }
 
@@ -81,23 +189,86 @@ public class JMSPublisher implements Runnable {
             return message;
         } else if (payload instanceof Map) {
             MapMessage message = (MapMessage) jmsClientConnector.createMessage(JMSConstants.MAP_MESSAGE_TYPE);
-            ((Map) payload).forEach((key, value) -> {
-                try {
-                    message.setObject((String) key, value);
-                } catch (JMSException e) {
-                    throw new JMSSinkAdaptorRuntimeException("Error while adding property " + key + " and value "
-                            + value + " into message properties.", e);
-                }
-            });
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) payload).entrySet()) {
+                message.setObject((String) entry.getKey(), entry.getValue());
+            }
+            return message;
+        } else if (payload instanceof Event) {
+            MapMessage message = (MapMessage) jmsClientConnector.createMessage(JMSConstants.MAP_MESSAGE_TYPE);
+            writeEvent(message, ((Event) payload).getData());
             return message;
         } else if (payload instanceof ByteBuffer) {
-            byte[] data = ((ByteBuffer) payload).array();
             BytesMessage message = (BytesMessage) jmsClientConnector.createMessage(JMSConstants.BYTES_MESSAGE_TYPE);
-            message.writeBytes(data);
+            writeBytes(message, (ByteBuffer) payload);
             return message;
         } else {
-            throw new JMSSinkAdaptorRuntimeException("The message type of the JMS message " + message.getClass()
+            throw new JMSSinkAdaptorRuntimeException("The message type of the JMS message " + payload.getClass()
                     + " is not supported!");
         }
     }
+
+    /**
+     * Writes the event data into the message using the typed setter of each sink stream attribute.
+     * Null values are not written, hence they are read back as null by the consumers.
+     *
+     * @param message {@link MapMessage} to write into.
+     * @param data    event data in the order of the sink stream attributes.
+     * @throws JMSException if a value cannot be written to the message.
+     */
+    private void writeEvent(MapMessage message, Object[] data) throws JMSException {
+        String[] names = jmsSink.getAttributeNames();
+        Attribute.Type[] types = jmsSink.getAttributeTypes();
+        for (int i = 0; i < names.length; i++) {
+            Object value = data[i];
+            if (value == null) {
+                continue;
+            }
+            switch (types[i]) {
+                case STRING:
+                    message.setString(names[i], (String) value);
+                    break;
+                case INT:
+                    message.setInt(names[i], (Integer) value);
+                    break;
+                case LONG:
+                    message.setLong(names[i], (Long) value);
+                    break;
+                case DOUBLE:
+                    message.setDouble(names[i], (Double) value);
+                    break;
+                case FLOAT:
+                    message.setFloat(names[i], (Float) value);
+                    break;
+                case BOOL:
+                    message.setBoolean(names[i], (Boolean) value);
+                    break;
+                default:
+                    message.setObject(names[i], value);
+            }
+        }
+    }
+
+    /**
+     * Writes the bytes between the position and the limit of the given buffer into the message, without altering
+     * the buffer's position, so a buffer which has been filled is to be flipped before it is published. Heap
+     * buffers are written straight from their backing array while direct and read-only buffers are copied through
+     * a bounded, per thread staging array.
+     *
+     * @param message {@link BytesMessage} to write into.
+     * @param buffer  {@link ByteBuffer} holding the payload.
+     * @throws JMSException if the bytes cannot be written to the message.
+     */
+    static void writeBytes(BytesMessage message, ByteBuffer buffer) throws JMSException {
+        ByteBuffer source = buffer.duplicate();
+        if (source.hasArray()) {
+            message.writeBytes(source.array(), source.arrayOffset() + source.position(), source.remaining());
+        } else {
+            byte[] staging = STAGING_BUFFER.get();
+            while (source.hasRemaining()) {
+                int length = Math.min(staging.length, source.remaining());
+                source.get(staging, 0, length);
+                message.writeBytes(staging, 0, length);
+            }
+        }
+    }
 }
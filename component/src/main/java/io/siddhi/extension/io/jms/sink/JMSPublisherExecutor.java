@@ -0,0 +1,170 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.sink;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread pool owned by a JMS sink, running its asynchronous sends.
+ * <p>
+ * The pool counts the events it has finished publishing, so that draining it on shutdown can report how many of
+ * the pending events were flushed and hand back the ones which were not. The queue of pending sends is bounded, and
+ * a send submitted while it is full waits for room, so that a slow broker holds back the publishing thread instead of
+ * filling the memory.
+ */
+class JMSPublisherExecutor extends ThreadPoolExecutor {
+    private static final long KEEP_ALIVE_SECONDS = 60;
+    // how often a send waiting for room checks whether the pool has been shut down
+    private static final long ROOM_WAIT_MILLIS = 1000;
+    private final LongAdder processedEvents = new LongAdder();
+
+    JMSPublisherExecutor(String name, int threads, int queueSize) {
+        super(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(queueSize),
+                new NamedThreadFactory(name), new WaitForRoomPolicy());
+        allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    protected void afterExecute(Runnable runnable, Throwable throwable) {
+        super.afterExecute(runnable, throwable);
+        processedEvents.add(eventCountOf(runnable));
+    }
+
+    /**
+     * Stops accepting sends and waits for the pending ones to complete.
+     *
+     * @param timeout maximum time in milliseconds to wait.
+     * @return result of the drain.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    DrainResult drain(long timeout) throws InterruptedException {
+        long processedBefore = processedEvents.sum();
+        shutdown();
+        List<JMSPublisher> abandoned = new ArrayList<>();
+        int inFlight = 0;
+        if (!awaitTermination(timeout, TimeUnit.MILLISECONDS)) {
+            inFlight = getActiveCount();
+            for (Runnable runnable : shutdownNow()) {
+                if (runnable instanceof JMSPublisher) {
+                    abandoned.add((JMSPublisher) runnable);
+                }
+            }
+        }
+        return new DrainResult(processedEvents.sum() - processedBefore, abandoned, inFlight);
+    }
+
+    private static int eventCountOf(Runnable runnable) {
+        return runnable instanceof JMSPublisher ? ((JMSPublisher) runnable).getEventCount() : 0;
+    }
+
+    /**
+     * Outcome of draining the pool.
+     */
+    static final class DrainResult {
+        private final long flushedEvents;
+        private final List<JMSPublisher> abandonedPublishers;
+        private final int interruptedSends;
+
+        private DrainResult(long flushedEvents, List<JMSPublisher> abandonedPublishers, int interruptedSends) {
+            this.flushedEvents = flushedEvents;
+            this.abandonedPublishers = abandonedPublishers;
+            this.interruptedSends = interruptedSends;
+        }
+
+        long getFlushedEvents() {
+            return flushedEvents;
+        }
+
+        /**
+         * Returns the sends which were still queued when the drain timed out.
+         *
+         * @return queued sends.
+         */
+        List<JMSPublisher> getAbandonedPublishers() {
+            return abandonedPublishers;
+        }
+
+        long getAbandonedEvents() {
+            long events = 0;
+            for (JMSPublisher publisher : abandonedPublishers) {
+                events += publisher.getEventCount();
+            }
+            return events;
+        }
+
+        /**
+         * Returns the number of sends which were in progress when the drain timed out, and have been interrupted.
+         *
+         * @return number of interrupted sends.
+         */
+        int getInterruptedSends() {
+            return interruptedSends;
+        }
+    }
+
+    /**
+     * Makes the submitting thread wait until the queue has room, and rejects the send once the pool is shut down.
+     */
+    private static final class WaitForRoomPolicy implements RejectedExecutionHandler {
+
+        @Override
+        public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
+            while (!executor.isShutdown()) {
+                try {
+                    if (executor.getQueue().offer(runnable, ROOM_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+                        // taken back if the pool was shut down meanwhile, as it may have no thread left to run it
+                        if (executor.isShutdown() && executor.remove(runnable)) {
+                            break;
+                        }
+                        return;
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new RejectedExecutionException("Interrupted while waiting for room in the queue.", e);
+                }
+            }
+            throw new RejectedExecutionException("The JMS publisher pool has been shut down.");
+        }
+    }
+
+    private static final class NamedThreadFactory implements ThreadFactory {
+        private final String name;
+        private final AtomicInteger threadCount = new AtomicInteger();
+
+        private NamedThreadFactory(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -23,7 +23,9 @@ import io.siddhi.annotation.Extension;
 import io.siddhi.annotation.Parameter;
 import io.siddhi.annotation.util.DataType;
 import io.siddhi.core.config.SiddhiAppContext;
+import io.siddhi.core.event.Event;
 import io.siddhi.core.exception.ConnectionUnavailableException;
+import io.siddhi.core.exception.SiddhiAppCreationException;
 import io.siddhi.core.stream.ServiceDeploymentInfo;
 import io.siddhi.core.stream.output.sink.Sink;
 import io.siddhi.core.util.config.ConfigReader;
@@ -32,19 +34,40 @@ import io.siddhi.core.util.snapshot.state.StateFactory;
 import io.siddhi.core.util.transport.DynamicOptions;
 import io.siddhi.core.util.transport.Option;
 import io.siddhi.core.util.transport.OptionHolder;
+import io.siddhi.extension.io.jms.sink.exception.JMSSinkAdaptorRuntimeException;
+import io.siddhi.extension.io.jms.util.JMSConnectionStatus;
+import io.siddhi.extension.io.jms.util.JMSJndiCache;
+import io.siddhi.extension.io.jms.util.JMSJournal;
 import io.siddhi.extension.io.jms.util.JMSOptionsMapper;
+import io.siddhi.extension.io.jms.util.JMSPayloadCodec;
+import io.siddhi.extension.io.jms.util.JMSRequestRegistry;
+import io.siddhi.query.api.definition.Attribute;
 import io.siddhi.query.api.definition.StreamDefinition;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.wso2.transport.jms.contract.JMSClientConnector;
 import org.wso2.transport.jms.exception.JMSConnectorException;
-import org.wso2.transport.jms.impl.JMSConnectorFactoryImpl;
+import org.wso2.transport.jms.utils.JMSConstants;
 
+import java.io.File;
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Hashtable;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import javax.jms.Destination;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
 
 import static io.siddhi.extension.io.jms.util.JMSOptionsMapper.DESTINATION;
 
@@ -96,7 +119,277 @@ import static io.siddhi.extension.io.jms.util.JMSOptionsMapper.DESTINATION;
                         description = "Connection factory nature for the broker(cached/pooled).",
                         type = DataType.STRING,
                         optional = true,
-                        defaultValue = "default")
+                        defaultValue = "default"),
+                @Parameter(name = JMSOptionsMapper.PUBLISH_MODE,
+                        description = "Mode in which the messages are published. When set to 'async' the messages "
+                                + "are sent through the Siddhi app executor. When set to 'sync' the messages are "
+                                + "built and sent on the publishing thread and any broker error is reported "
+                                + "immediately as a connection failure, so that Siddhi's error handling and "
+                                + "back pressure applies.",
+                        type = DataType.STRING,
+                        optional = true,
+                        defaultValue = "async"),
+                @Parameter(name = JMSOptionsMapper.BATCH_SIZE,
+                        description = "Maximum number of events packed into a single JMS message. Batching is "
+                                + "enabled when this is greater than one or when 'batch.bytes' is set. Batched "
+                                + "messages carry the 'SiddhiFrameFormat' and 'SiddhiFrameSize' properties, which "
+                                + "the JMS source uses to unpack them into individual events. When only "
+                                + "'batch.bytes' is set, a batch takes any number of events up to that size. Send "
+                                + "failures of a batch are reported for each of its events through the sink error "
+                                + "handling, also with publish.mode='sync', as the events of a batch are published "
+                                + "together, after the ones before have been accepted.",
+                        type = DataType.INT,
+                        optional = true,
+                        defaultValue = "1"),
+                @Parameter(name = JMSOptionsMapper.BATCH_BYTES,
+                        description = "Maximum payload size in bytes of a batch. A batch is sent as soon as it "
+                                + "reaches this size. For json batches the size is counted in characters.",
+                        type = DataType.LONG,
+                        optional = true,
+                        defaultValue = "0"),
+                @Parameter(name = JMSOptionsMapper.BATCH_TIMEOUT,
+                        description = "Maximum time in milliseconds an event waits in an incomplete batch "
+                                + "before the batch is sent.",
+                        type = DataType.LONG,
+                        optional = true,
+                        defaultValue = "100"),
+                @Parameter(name = JMSOptionsMapper.BATCH_FORMAT,
+                        description = "Frame format of the batched messages. 'binary' sends a Bytes message "
+                                + "holding the number of events followed by the length and bytes of each event "
+                                + "and supports text and binary mappers. 'json' sends a Text message holding a "
+                                + "JSON array of the event payloads and supports the json mapper; such "
+                                + "messages are passed to the json source mapper as a single array.",
+                        type = DataType.STRING,
+                        optional = true,
+                        defaultValue = "binary"),
+                @Parameter(name = JMSOptionsMapper.JOURNAL_PATH,
+                        description = "Directory of a local journal where the events which cannot be sent to the "
+                                + "broker are stored. The journal is kept in memory mapped segment files under "
+                                + "'<journal.path>/<siddhi app name>/<stream id>' and is replayed in order once "
+                                + "the broker is reachable again. While the journal holds events, new events are "
+                                + "appended to it to preserve the publishing order. Events are passed to the sink "
+                                + "error handling only when the journal is full. When not set, no journal is used.",
+                        type = DataType.STRING,
+                        optional = true,
+                        defaultValue = "none"),
+                @Parameter(name = JMSOptionsMapper.JOURNAL_SEGMENT_SIZE,
+                        description = "Size in bytes of each journal segment file.",
+                        type = DataType.INT,
+                        optional = true,
+                        defaultValue = "16777216"),
+                @Parameter(name = JMSOptionsMapper.JOURNAL_MAX_SIZE,
+                        description = "Maximum total size in bytes of the journal segment files.",
+                        type = DataType.LONG,
+                        optional = true,
+                        defaultValue = "1073741824"),
+                @Parameter(name = JMSOptionsMapper.JOURNAL_REPLAY_INTERVAL,
+                        description = "Interval in milliseconds between the attempts to replay the journal.",
+                        type = DataType.LONG,
+                        optional = true,
+                        defaultValue = "1000"),
+                @Parameter(name = JMSOptionsMapper.CIRCUIT_BREAKER_FAILURE_THRESHOLD,
+                        description = "Number of consecutive send failures which opens the circuit of the sink. "
+                                + "While the circuit is open no sends are attempted. Once the backoff elapses a "
+                                + "single send probes the broker, using a newly created connection, and the "
+                                + "circuit closes if it succeeds. The circuit breaker is disabled when this is "
+                                + "zero.",
+                        type = DataType.INT,
+                        optional = true,
+                        defaultValue = "0"),
+                @Parameter(name = JMSOptionsMapper.CIRCUIT_BREAKER_INITIAL_BACKOFF,
+                        description = "Time in milliseconds the circuit stays open before the first probe. The "
+                                + "backoff doubles after each failed probe, and a random jitter of up to half of "
+                                + "the backoff is applied.",
+                        type = DataType.LONG,
+                        optional = true,
+                        defaultValue = "1000"),
+                @Parameter(name = JMSOptionsMapper.CIRCUIT_BREAKER_MAX_BACKOFF,
+                        description = "Maximum time in milliseconds the circuit stays open before a probe.",
+                        type = DataType.LONG,
+                        optional = true,
+                        defaultValue = "60000"),
+                @Parameter(name = JMSOptionsMapper.CIRCUIT_BREAKER_OPEN_POLICY,
+                        description = "Handling of the events published while the circuit is open. 'fail' "
+                                + "passes them to the sink error handling without attempting a send, while "
+                                + "'buffer' stores them in the journal configured through 'journal.path'.",
+                        type = DataType.STRING,
+                        optional = true,
+                        defaultValue = "fail"),
+                @Parameter(name = JMSOptionsMapper.LOAD_BALANCE_PROVIDER_URLS,
+                        description = "Comma separated list of the provider URLs of additional brokers. When "
+                                + "set, the sink connects to 'provider.url' and to each of these brokers, using "
+                                + "the same JNDI configuration, and distributes the messages among them. Commas "
+                                + "within parentheses, as in composite failover URLs, do not separate URLs.",
+                        type = DataType.STRING,
+                        optional = true,
+                        defaultValue = "none"),
+                @Parameter(name = JMSOptionsMapper.LOAD_BALANCE_STRATEGY,
+                        description = "Strategy used to distribute the messages among the brokers. "
+                                + "'round.robin' sends to each broker in turn, 'least.in.flight' sends to the broker "
+                                + "with the least number of sends in progress and 'hash' sends all the messages "
+                                + "of the same 'load.balance.key' to the same broker while it is healthy.",
+                        type = DataType.STRING,
+                        optional = true,
+                        defaultValue = "round.robin"),
+                @Parameter(name = JMSOptionsMapper.LOAD_BALANCE_KEY,
+                        description = "Key used by the 'hash' load balancing strategy, usually an attribute of "
+                                + "the event given as '{{attribute}}'.",
+                        type = DataType.STRING,
+                        optional = true,
+                        dynamic = true,
+                        defaultValue = "none"),
+                @Parameter(name = JMSOptionsMapper.LOAD_BALANCE_EJECT_LATENCY,
+                        description = "Average send latency in milliseconds above which a broker is excluded from "
+                                + "publishing. A broker is also excluded when a send to it fails. Latency based "
+                                + "exclusion is disabled when this is zero.",
+                        type = DataType.LONG,
+                        optional = true,
+                        defaultValue = "0"),
+                @Parameter(name = JMSOptionsMapper.LOAD_BALANCE_EJECT_TIME,
+                        description = "Time in milliseconds an excluded broker is kept out of publishing. When all "
+                                + "the brokers are excluded, the broker which is due to return first is used.",
+                        type = DataType.LONG,
+                        optional = true,
+                        defaultValue = "30000"),
+                @Parameter(name = JMSOptionsMapper.PARTITION_KEY,
+                        description = "Key used to shard the messages over 'partition.count' destinations named "
+                                + "'<destination>.0' to '<destination>.<partition.count - 1>', usually an "
+                                + "attribute of the event given as '{{attribute}}'. Messages with the same key are "
+                                + "always sent to the same destination, keeping their order. Requires a static "
+                                + "'destination'.",
+                        type = DataType.STRING,
+                        optional = true,
+                        dynamic = true,
+                        defaultValue = "none"),
+                @Parameter(name = JMSOptionsMapper.PARTITION_COUNT,
+                        description = "Number of destinations the messages are sharded over when 'partition.key' "
+                                + "is given.",
+                        type = DataType.INT,
+                        optional = true,
+                        defaultValue = "0"),
+                @Parameter(name = JMSOptionsMapper.MESSAGE_CORRELATION_ID,
+                        description = "Value of the JMSCorrelationID header of each message, usually given as "
+                                + "'{{attribute}}'. Cannot be used with 'reply.to'.",
+                        type = DataType.STRING,
+                        optional = true,
+                        dynamic = true,
+                        defaultValue = "none"),
+                @Parameter(name = JMSOptionsMapper.MESSAGE_TYPE,
+                        description = "Value of the JMSType header of each message.",
+                        type = DataType.STRING,
+                        optional = true,
+                        dynamic = true,
+                        defaultValue = "none"),
+                @Parameter(name = JMSOptionsMapper.MESSAGE_GROUP_ID,
+                        description = "Value of the JMSXGroupID property of each message. Brokers deliver the "
+                                + "messages of a group to a single consumer, in order.",
+                        type = DataType.STRING,
+                        optional = true,
+                        dynamic = true,
+                        defaultValue = "none"),
+                @Parameter(name = JMSOptionsMapper.MESSAGE_PROPERTIES,
+                        description = "Comma separated list of 'property name:attribute name' pairs. Each message "
+                                + "carries a property of the attribute type, holding the value of the attribute "
+                                + "in the event, which consumers can use in message selectors. Properties of "
+                                + "null values are not set. The header and property options cannot be used with "
+                                + "batching.",
+                        type = DataType.STRING,
+                        optional = true,
+                        defaultValue = "none"),
+                @Parameter(name = JMSOptionsMapper.PUBLISH_CONFIRM,
+                        description = "Enables tracking the sends of the 'async' publish mode until they are "
+                                + "confirmed, that is sent, or failed and passed to the journal or the sink error "
+                                + "handling. The unconfirmed events are kept in the Siddhi snapshots and published "
+                                + "again when a snapshot is restored, giving at least once delivery without "
+                                + "synchronous sends. It requires 'journal.path' or on.error='STORE' or 'WAIT', so "
+                                + "that the failed events are kept. An event failing while the journal is full is "
+                                + "dropped by any other error handling, and its send confirmed nonetheless.",
+                        type = DataType.BOOL,
+                        optional = true,
+                        defaultValue = "false"),
+                @Parameter(name = JMSOptionsMapper.PUBLISH_CONFIRM_MAX_PENDING,
+                        description = "Maximum number of unconfirmed sends. Publishing waits while it is reached.",
+                        type = DataType.INT,
+                        optional = true,
+                        defaultValue = "10000"),
+                @Parameter(name = JMSOptionsMapper.PUBLISH_CONFIRM_TIMEOUT,
+                        description = "Maximum time in milliseconds publishing waits while "
+                                + "'publish.confirm.max.pending' sends are unconfirmed. The event is then passed "
+                                + "to the journal or the sink error handling.",
+                        type = DataType.LONG,
+                        optional = true,
+                        defaultValue = "30000"),
+                @Parameter(name = JMSOptionsMapper.PUBLISHER_THREADS,
+                        description = "Number of threads of the sink sending the messages in the 'async' publish "
+                                + "mode.",
+                        type = DataType.INT,
+                        optional = true,
+                        defaultValue = "1"),
+                @Parameter(name = JMSOptionsMapper.PUBLISHER_QUEUE_SIZE,
+                        description = "Maximum number of sends waiting for a thread of the sink in the 'async' "
+                                + "publish mode. When the queue is full, the event is held back until there is "
+                                + "room, so that a slow broker slows down the app instead of filling the memory.",
+                        type = DataType.INT,
+                        optional = true,
+                        defaultValue = "1000"),
+                @Parameter(name = JMSOptionsMapper.SHUTDOWN_TIMEOUT,
+                        description = "Maximum time in milliseconds the sink waits for its pending sends when it "
+                                + "is disconnected. Sends still pending at the timeout are stored in the journal "
+                                + "when 'journal.path' is given, and dropped otherwise. The number of flushed and "
+                                + "abandoned events is logged.",
+                        type = DataType.LONG,
+                        optional = true,
+                        defaultValue = "10000"),
+                @Parameter(name = JMSOptionsMapper.CONNECTION_SHARED,
+                        description = "Shares the JMS connector with the other JMS sinks of the JVM which connect "
+                                + "with the same provider URL, initial context factory, connection factory and "
+                                + "credentials, so that they reuse one JNDI lookup and multiplex their sessions over "
+                                + "the same broker connections, when they set this too. By default, the sink "
+                                + "opens connections of its own.",
+                        type = DataType.BOOL,
+                        optional = true,
+                        defaultValue = "false"),
+                @Parameter(name = JMSOptionsMapper.JNDI_CACHE_TTL,
+                        description = "Time in milliseconds the connection factory and destination looked up "
+                                + "through JNDI are cached for, shared by all the JMS sources and sinks of the JVM "
+                                + "with the same JNDI options. The lookups start in the background when the app is "
+                                + "created, and are repeated when connecting fails. When '0', every connection "
+                                + "looks them up again.",
+                        type = DataType.LONG,
+                        optional = true,
+                        defaultValue = "0"),
+                @Parameter(name = JMSOptionsMapper.CONNECT_ASYNC,
+                        description = "Connects to the broker in the background, so that starting the Siddhi app "
+                                + "does not wait for the broker. The connections of all the apps started at once "
+                                + "are made in parallel and failed attempts are retried with an exponential backoff "
+                                + "of up to a minute. Events published before the sink is connected are stored in "
+                                + "the journal when 'journal.path' is given, and passed to the sink error handling "
+                                + "otherwise. The progress is reported by JMSConnectionStatus, e.g. "
+                                + "JMSConnectionStatus.isReady(appName).",
+                        type = DataType.BOOL,
+                        optional = true,
+                        defaultValue = "false"),
+                @Parameter(name = JMSOptionsMapper.REPLY_TO,
+                        description = "Destination the replies are received on. When set, each message is sent "
+                                + "as a request carrying a unique JMSCorrelationID and this JMSReplyTo, and is "
+                                + "kept pending until a JMS source with 'request.reply' set receives its reply. "
+                                + "Requests which are not replied within 'request.timeout' are passed to the sink "
+                                + "error handling, so that with on.error='STREAM' they arrive on the fault stream "
+                                + "of the stream.",
+                        type = DataType.STRING,
+                        optional = true,
+                        defaultValue = "none"),
+                @Parameter(name = JMSOptionsMapper.REQUEST_TIMEOUT,
+                        description = "Time in milliseconds a request waits for its reply.",
+                        type = DataType.LONG,
+                        optional = true,
+                        defaultValue = "30000"),
+                @Parameter(name = JMSOptionsMapper.REQUEST_MAX_PENDING,
+                        description = "Maximum number of requests awaiting replies. When it is reached, the "
+                                + "oldest pending request is timed out early.",
+                        type = DataType.INT,
+                        optional = true,
+                        defaultValue = "10000")
         },
         examples = {
                 @Example(description = "This example shows how to publish to an ActiveMQ topic.",
@@ -114,16 +407,99 @@ import static io.siddhi.extension.io.jms.util.JMSOptionsMapper.DESTINATION;
                                 + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
                                 + "provider.url='vm://localhost',"
                                 + "destination='DAS_JMS_OUTPUT_TEST')\n" +
-                                "define stream inputStream (name string, age int, country string);")
+                                "define stream inputStream (name string, age int, country string);"),
+                @Example(description = "This example shows how to publish to an ActiveMQ queue synchronously "
+                        + "on the publishing thread.",
+                        syntax = "@sink(type='jms', @map(type='json'), "
+                                + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                                + "provider.url='vm://localhost',"
+                                + "destination='DAS_JMS_OUTPUT_TEST', "
+                                + "publish.mode='sync')\n" +
+                                "define stream inputStream (name string, age int, country string);"),
+                @Example(description = "This example shows how to publish events as JMS Map messages. When "
+                        + "the 'passThrough' mapper is used each event is written into a Map message using the "
+                        + "typed setters matching the stream attribute types.",
+                        syntax = "@sink(type='jms', @map(type='passThrough'), "
+                                + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                                + "provider.url='vm://localhost',"
+                                + "destination='DAS_JMS_OUTPUT_TEST')\n" +
+                                "define stream inputStream (name string, age int, country string);"),
+                @Example(description = "This example shows how to shard the events over the queues 'orders.0' "
+                        + "to 'orders.15' by the 'country' attribute, so that the events of a country are always "
+                        + "sent to the same queue.",
+                        syntax = "@sink(type='jms', @map(type='json'), "
+                                + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                                + "provider.url='vm://localhost',"
+                                + "destination='orders', partition.key='{{country}}', partition.count='16')\n" +
+                                "define stream inputStream (name string, age int, country string);"),
+                @Example(description = "This example shows how to group the messages by country, so that the "
+                        + "broker delivers the messages of a country to a single consumer, and to add the 'age' "
+                        + "attribute as an int property consumers can select on.",
+                        syntax = "@sink(type='jms', @map(type='json'), "
+                                + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                                + "provider.url='vm://localhost',"
+                                + "destination='DAS_JMS_OUTPUT_TEST', message.group.id='{{country}}', "
+                                + "message.properties='age:age')\n" +
+                                "define stream inputStream (name string, age int, country string);"),
+                @Example(description = "This example shows how to send requests whose replies are received on "
+                        + "the 'ENRICHMENT_REPLY' queue by a JMS source with request.reply='true'. Requests not "
+                        + "replied within 5 seconds arrive on the fault stream '!requestStream'.",
+                        syntax = "@OnError(action='STREAM')\n"
+                                + "@sink(type='jms', @map(type='json'), on.error='STREAM', "
+                                + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                                + "provider.url='vm://localhost',"
+                                + "destination='ENRICHMENT_REQUEST', reply.to='ENRICHMENT_REPLY', "
+                                + "request.timeout='5000')\n" +
+                                "define stream requestStream (name string, age int, country string);")
         }
 )
 public class JMSSink extends Sink {
     private static final Logger log = LogManager.getLogger(JMSSink.class);
+    private static final String UNCONFIRMED_EVENTS = "unconfirmedEvents";
+    // error handling option of the Siddhi sink annotation
+    private static final String ON_ERROR = "on.error";
+    private static final long INITIAL_CONNECT_RETRY_DELAY = 1000;
+    private static final long MAX_CONNECT_RETRY_DELAY = 60000;
     private OptionHolder optionHolder;
-    private JMSClientConnector clientConnector;
     private Option destination;
     private Map<String, String> jmsStaticProperties;
-    private ExecutorService executorService;
+    private volatile JMSPublisherExecutor publisherExecutor;
+    private JMSConfirmTracker confirmTracker;
+    private long confirmTimeout;
+    private final ConcurrentLinkedQueue<JMSPayloadCodec.Record> restoredRecords = new ConcurrentLinkedQueue<>();
+    private String publisherName;
+    private int publisherThreads;
+    private int publisherQueueSize;
+    private long shutdownTimeout;
+    private boolean syncPublish;
+    private String[] attributeNames;
+    private Attribute.Type[] attributeTypes;
+    private ScheduledExecutorService scheduledExecutorService;
+    private JMSEventBatcher eventBatcher;
+    private JMSJournal journal;
+    private long journalReplayInterval;
+    private ScheduledFuture<?> journalReplayTask;
+    private JMSCircuitBreaker circuitBreaker;
+    private boolean bufferWhileOpen;
+    private JMSLoadBalancer loadBalancer;
+    private Option loadBalanceKey;
+    private Option partitionKey;
+    private String[] partitionDestinations;
+    private JMSMessageHeaders messageHeaders;
+    private JMSRequestRegistry requestRegistry;
+    private String replyToName;
+    private volatile Destination replyTo;
+    private long requestTimeout;
+    private ScheduledFuture<?> requestExpiryTask;
+    private boolean connectAsync;
+    private JMSConnectionStatus connectionStatus;
+    private final Object connectLock = new Object();
+    private Future<?> pendingConnect;
+    private int connectAttempts;
+    private boolean disconnected;
+    // a background connection attempt is in progress, which releases the connections itself if the sink is
+    // disconnected meanwhile
+    private boolean connecting;
 
     @Override
     protected StateFactory init(StreamDefinition outputStreamDefinition, OptionHolder optionHolder,
@@ -131,14 +507,175 @@ public class JMSSink extends Sink {
         this.optionHolder = optionHolder;
         this.destination = optionHolder.getOrCreateOption(DESTINATION, null);
         this.jmsStaticProperties = initJMSProperties();
-        this.executorService = executionPlanContext.getExecutorService();
-        return null;
+        initJndiCache(outputStreamDefinition.getId());
+        this.loadBalancer = initLoadBalancer(outputStreamDefinition.getId());
+        initPartitions(outputStreamDefinition.getId());
+        String publishMode = optionHolder.validateAndGetStaticValue(JMSOptionsMapper.PUBLISH_MODE,
+                JMSOptionsMapper.PUBLISH_MODE_ASYNC);
+        if (JMSOptionsMapper.PUBLISH_MODE_SYNC.equalsIgnoreCase(publishMode)) {
+            this.syncPublish = true;
+        } else if (!JMSOptionsMapper.PUBLISH_MODE_ASYNC.equalsIgnoreCase(publishMode)) {
+            throw new SiddhiAppCreationException("Invalid value '" + publishMode + "' for the "
+                    + JMSOptionsMapper.PUBLISH_MODE + " option of the JMS sink of stream: "
+                    + outputStreamDefinition.getId() + ". Supported values are '"
+                    + JMSOptionsMapper.PUBLISH_MODE_ASYNC + "' and '" + JMSOptionsMapper.PUBLISH_MODE_SYNC + "'.");
+        }
+        List<Attribute> attributes = outputStreamDefinition.getAttributeList();
+        this.attributeNames = new String[attributes.size()];
+        this.attributeTypes = new Attribute.Type[attributes.size()];
+        for (int i = 0; i < attributes.size(); i++) {
+            attributeNames[i] = attributes.get(i).getName();
+            attributeTypes[i] = attributes.get(i).getType();
+        }
+        this.publisherName = "JMSSink-" + executionPlanContext.getName() + "-" + outputStreamDefinition.getId();
+        this.publisherThreads = Integer.parseInt(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.PUBLISHER_THREADS, "1"));
+        this.publisherQueueSize = Integer.parseInt(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.PUBLISHER_QUEUE_SIZE, "1000"));
+        this.shutdownTimeout = Long.parseLong(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.SHUTDOWN_TIMEOUT, "10000"));
+        if (publisherThreads <= 0 || publisherQueueSize <= 0 || shutdownTimeout < 0) {
+            throw new SiddhiAppCreationException("Invalid configuration for the JMS sink of stream: "
+                    + outputStreamDefinition.getId() + ". " + JMSOptionsMapper.PUBLISHER_THREADS + " and "
+                    + JMSOptionsMapper.PUBLISHER_QUEUE_SIZE + " should be positive and "
+                    + JMSOptionsMapper.SHUTDOWN_TIMEOUT + " should not be negative.");
+        }
+        this.scheduledExecutorService = executionPlanContext.getScheduledExecutorService();
+        this.connectAsync = Boolean.parseBoolean(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.CONNECT_ASYNC, "false"));
+        this.connectionStatus = JMSConnectionStatus.register(executionPlanContext.getName(),
+                "JMS sink of stream: " + outputStreamDefinition.getId());
+        this.eventBatcher = initEventBatcher(outputStreamDefinition.getId());
+        this.journal = initJournal(outputStreamDefinition.getId(), executionPlanContext.getName());
+        this.circuitBreaker = initCircuitBreaker(outputStreamDefinition.getId());
+        this.messageHeaders = initMessageHeaders(outputStreamDefinition);
+        this.requestRegistry = initRequestRegistry(outputStreamDefinition.getId());
+        this.confirmTracker = initConfirmTracker(outputStreamDefinition.getId());
+        return confirmTracker == null ? null : ConfirmState::new;
     }
 
     @Override
     public void connect() throws ConnectionUnavailableException {
+        synchronized (connectLock) {
+            disconnected = false;
+            if (!connectAsync) {
+                connectAndReport();
+                return;
+            }
+            if (connecting || (pendingConnect != null && !pendingConnect.isDone())
+                    || connectionStatus.getState() == JMSConnectionStatus.State.CONNECTED) {
+                return;
+            }
+            connectionStatus.connecting();
+            pendingConnect = JMSConnectionStatus.submit(this::connectInBackground);
+        }
+    }
+
+    /**
+     * Connects in the background, scheduling another attempt after a backoff when connecting fails.
+     */
+    private void connectInBackground() {
+        synchronized (connectLock) {
+            if (disconnected) {
+                return;
+            }
+            connecting = true;
+        }
+        // the broker is connected outside the lock, so that disconnecting does not wait for a slow broker
+        Exception error = null;
+        try {
+            connectAndReport();
+        } catch (ConnectionUnavailableException | RuntimeException e) {
+            error = e;
+        }
+        boolean abandoned;
+        synchronized (connectLock) {
+            connecting = false;
+            abandoned = disconnected;
+            if (!abandoned) {
+                if (error == null) {
+                    connectAttempts = 0;
+                } else {
+                    long delay = Math.min(MAX_CONNECT_RETRY_DELAY,
+                            INITIAL_CONNECT_RETRY_DELAY << Math.min(connectAttempts++, 6));
+                    log.warn("Error while connecting the JMS sink publishing to destination: " + destination
+                            + ", retrying in " + delay + " ms.", error);
+                    pendingConnect = scheduledExecutorService.schedule(this::retryConnect, delay,
+                            TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+        if (abandoned) {
+            // disconnected while connecting, which left releasing the connections to this attempt
+            release();
+        }
+    }
+
+    private void retryConnect() {
+        synchronized (connectLock) {
+            if (!disconnected) {
+                pendingConnect = JMSConnectionStatus.submit(this::connectInBackground);
+            }
+        }
+    }
+
+    private void connectAndReport() throws ConnectionUnavailableException {
+        connectionStatus.connecting();
         try {
-            this.clientConnector = new JMSConnectorFactoryImpl().createClientConnector(jmsStaticProperties);
+            connectEndpoints();
+            connectionStatus.connected();
+        } catch (ConnectionUnavailableException | RuntimeException e) {
+            connectionStatus.failed(e);
+            throw e;
+        }
+    }
+
+    private void connectEndpoints() throws ConnectionUnavailableException {
+        JMSConnectorException connectionError = null;
+        int connectedEndpoints = 0;
+        for (JMSBrokerEndpoint endpoint : loadBalancer.getEndpoints()) {
+            try {
+                endpoint.connect();
+                connectedEndpoints++;
+            } catch (JMSConnectorException e) {
+                connectionError = e;
+                if (loadBalancer.isBalancing()) {
+                    log.warn("Error while connecting to JMS provider at " + endpoint.getProviderUrl()
+                            + ", excluding it from publishing for " + loadBalancer.getEjectTime() + " ms.", e);
+                    endpoint.eject(loadBalancer.getEjectTime());
+                }
+            }
+        }
+        try {
+            if (connectedEndpoints == 0) {
+                throw connectionError;
+            }
+            if (!syncPublish && (publisherExecutor == null || publisherExecutor.isShutdown())) {
+                publisherExecutor = new JMSPublisherExecutor(publisherName, publisherThreads, publisherQueueSize);
+            }
+            replayRestored();
+            if (requestRegistry != null) {
+                if (replyTo == null) {
+                    replyTo = lookupReplyTo();
+                }
+                if (requestExpiryTask == null) {
+                    long period = Math.max(1, requestTimeout / 2);
+                    requestExpiryTask = scheduledExecutorService.scheduleWithFixedDelay(this::expireRequests,
+                            period, period, TimeUnit.MILLISECONDS);
+                }
+            }
+            if (eventBatcher != null) {
+                eventBatcher.start(scheduledExecutorService);
+            }
+            if (journal != null && journalReplayTask == null) {
+                journalReplayTask = scheduledExecutorService.scheduleWithFixedDelay(() -> {
+                    try {
+                        replayJournal();
+                    } catch (RuntimeException e) {
+                        log.error("Error while replaying the journal of the JMS sink.", e);
+                    }
+                }, 0, journalReplayInterval, TimeUnit.MILLISECONDS);
+            }
         } catch (JMSConnectorException e) {
             log.error("Error while connecting to JMS provider at destination: " + destination);
             throw new ConnectionUnavailableException("Error while connecting to JMS provider at destination: "
@@ -147,15 +684,121 @@ public class JMSSink extends Sink {
     }
 
     @Override
-    public void publish(Object payload, DynamicOptions transportOptions, State state) {
-        String topicQueueName = destination.getValue(transportOptions);
-        executorService.execute(new JMSPublisher(topicQueueName, jmsStaticProperties,
-                clientConnector, payload, transportOptions, this));
+    public void publish(Object payload, DynamicOptions transportOptions, State state)
+            throws ConnectionUnavailableException {
+        if (payload instanceof Event[]) {
+            for (Event event : (Event[]) payload) {
+                publish(event, transportOptions, state);
+            }
+            return;
+        }
+        String topicQueueName = resolveDestination(transportOptions);
+        if (journal != null && !journal.isEmpty() && storeInJournal(topicQueueName, payload, transportOptions)) {
+            // keep the publishing order while the journal is being replayed
+            return;
+        }
+        if (connectAsync && connectionStatus.getState() != JMSConnectionStatus.State.CONNECTED) {
+            if (storeInJournal(topicQueueName, payload, transportOptions)) {
+                return;
+            }
+            ConnectionUnavailableException e = new ConnectionUnavailableException("The JMS sink publishing to "
+                    + "destination: " + topicQueueName + " is not connected yet.");
+            if (syncPublish) {
+                throw e;
+            }
+            onError(payload, transportOptions, e);
+            return;
+        }
+        if (circuitBreaker != null && circuitBreaker.isOpen()) {
+            ConnectionUnavailableException e = new ConnectionUnavailableException("Circuit is open, not "
+                    + "sending JMS message to destination: " + topicQueueName);
+            if (bufferWhileOpen && storeInJournal(topicQueueName, payload, transportOptions)) {
+                return;
+            } else if (syncPublish) {
+                throw e;
+            }
+            onError(payload, transportOptions, e);
+            return;
+        }
+        if (eventBatcher != null) {
+            long sequence;
+            try {
+                sequence = track(topicQueueName, payload, transportOptions);
+            } catch (ConnectionUnavailableException e) {
+                onSendFailure(topicQueueName, payload, transportOptions, e);
+                return;
+            }
+            try {
+                eventBatcher.add(topicQueueName, payload, transportOptions, sequence);
+            } catch (RuntimeException e) {
+                // an event the batcher fails on is not sent, and would otherwise hold the confirmed sends back
+                confirm(sequence);
+                throw e;
+            }
+            return;
+        }
+        JMSPublisher jmsPublisher = createPublisher(topicQueueName, payload, transportOptions);
+        if (syncPublish) {
+            try {
+                jmsPublisher.publish();
+            } catch (ConnectionUnavailableException e) {
+                if (!storeInJournal(topicQueueName, payload, transportOptions)) {
+                    throw e;
+                }
+            }
+        } else {
+            try {
+                jmsPublisher.setSequence(track(topicQueueName, payload, transportOptions));
+            } catch (ConnectionUnavailableException e) {
+                onSendFailure(topicQueueName, payload, transportOptions, e);
+                return;
+            }
+            execute(jmsPublisher);
+        }
+    }
+
+    JMSPublisher createPublisher(String topicQueueName, Object payload, DynamicOptions transportOptions) {
+        String key = loadBalanceKey == null || transportOptions == null ? null
+                : loadBalanceKey.getValue(transportOptions);
+        return new JMSPublisher(topicQueueName, loadBalancer.select(key), payload, transportOptions, this);
+    }
+
+    JMSPublisher createPublisher(JMSEventBatch batch) {
+        String key = loadBalanceKey == null ? null : loadBalanceKey.getValue(batch.getTransportOptions().get(0));
+        return new JMSPublisher(batch, loadBalancer.select(key), this);
+    }
+
+    /**
+     * Sends the message of the given publisher according to the publish mode. Send failures are reported
+     * through {@link #onError(Object, DynamicOptions, Exception)}, also in the sync mode, where a batch holds
+     * events which were already accepted from Siddhi and cannot be rejected by throwing anymore.
+     *
+     * @param jmsPublisher publisher holding the message.
+     */
+    void dispatch(JMSPublisher jmsPublisher) {
+        if (syncPublish) {
+            jmsPublisher.run();
+        } else {
+            execute(jmsPublisher);
+        }
+    }
+
+    private void execute(JMSPublisher jmsPublisher) {
+        JMSPublisherExecutor executor = publisherExecutor;
+        try {
+            if (executor == null) {
+                throw new RejectedExecutionException("The JMS sink has not been connected.");
+            }
+            executor.execute(jmsPublisher);
+        } catch (RejectedExecutionException e) {
+            jmsPublisher.fail(new ConnectionUnavailableException("The JMS sink publishing to destination: "
+                    + destination + " is disconnected.", e));
+        }
     }
 
     @Override
     public Class[] getSupportedInputEventClasses() {
-        return new Class[]{String.class, Map.class, ByteBuffer.class};
+        return new Class[]{String.class, Map.class, ByteBuffer.class, Event.class, Event[].class};
     }
 
     @Override
@@ -165,19 +808,611 @@ public class JMSSink extends Sink {
 
     @Override
     public String[] getSupportedDynamicOptions() {
-        return new String[]{DESTINATION};
+        return new String[]{DESTINATION, JMSOptionsMapper.LOAD_BALANCE_KEY, JMSOptionsMapper.PARTITION_KEY,
+                JMSOptionsMapper.MESSAGE_CORRELATION_ID, JMSOptionsMapper.MESSAGE_TYPE,
+                JMSOptionsMapper.MESSAGE_GROUP_ID};
     }
 
     @Override
     public void disconnect() {
-        if (executorService != null) {
-            executorService.shutdown();
+        boolean connectInProgress;
+        synchronized (connectLock) {
+            // a connection attempt still queued does not start once the sink is disconnected
+            disconnected = true;
+            if (pendingConnect != null) {
+                pendingConnect.cancel(false);
+                pendingConnect = null;
+            }
+            connectInProgress = connecting;
+        }
+        if (!connectInProgress) {
+            release();
+        }
+    }
+
+    private void release() {
+        if (eventBatcher != null) {
+            eventBatcher.stop();
+        }
+        if (journalReplayTask != null) {
+            journalReplayTask.cancel(false);
+            journalReplayTask = null;
         }
+        if (requestExpiryTask != null) {
+            requestExpiryTask.cancel(false);
+            requestExpiryTask = null;
+        }
+        if (publisherExecutor != null && !publisherExecutor.isShutdown()) {
+            drainPublisherExecutor();
+        }
+        for (JMSBrokerEndpoint endpoint : loadBalancer.getEndpoints()) {
+            endpoint.release();
+        }
+        connectionStatus.disconnected();
+    }
+
+    /**
+     * Waits up to the shutdown timeout for the pending asynchronous sends, so that a redeployment does not lose
+     * them. Sends still queued at the timeout are stored in the journal when there is one.
+     */
+    private void drainPublisherExecutor() {
+        JMSPublisherExecutor.DrainResult result;
+        try {
+            result = publisherExecutor.drain(shutdownTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while draining the pending sends of the JMS sink publishing to destination: "
+                    + destination + ", " + publisherExecutor.shutdownNow().size() + " sends are abandoned.");
+            return;
+        }
+        long abandonedEvents = result.getAbandonedEvents();
+        if (abandonedEvents == 0 && result.getInterruptedSends() == 0) {
+            log.info("Drained the JMS sink publishing to destination: " + destination + ", "
+                    + result.getFlushedEvents() + " pending events were flushed.");
+            return;
+        }
+        if (journal != null) {
+            ConnectionUnavailableException e = new ConnectionUnavailableException("The JMS sink publishing to "
+                    + "destination: " + destination + " is shutting down.");
+            for (JMSPublisher publisher : result.getAbandonedPublishers()) {
+                publisher.fail(e);
+            }
+        }
+        log.warn("Timed out after " + shutdownTimeout + " ms draining the JMS sink publishing to destination: "
+                + destination + ", " + result.getFlushedEvents() + " pending events were flushed and "
+                + abandonedEvents + " events were abandoned" + (journal == null ? "" : " to the journal")
+                + ", while " + result.getInterruptedSends() + " sends in progress were interrupted.");
     }
 
     @Override
     public void destroy() {
-        // disconnect() gets called before destroy() which does the cleanup destroy() needs
+        // disconnect() gets called before destroy() which does the rest of the cleanup destroy() needs
+        connectionStatus.unregister();
+        if (journal != null) {
+            journal.close();
+        }
+        if (requestRegistry != null) {
+            requestRegistry.close();
+        }
+    }
+
+    private JMSEventBatcher initEventBatcher(String streamId) {
+        int batchSize = Integer.parseInt(optionHolder.validateAndGetStaticValue(JMSOptionsMapper.BATCH_SIZE, "1"));
+        long batchBytes = Long.parseLong(optionHolder.validateAndGetStaticValue(JMSOptionsMapper.BATCH_BYTES, "0"));
+        if (batchSize <= 1 && batchBytes <= 0) {
+            return null;
+        }
+        long batchTimeout = Long.parseLong(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.BATCH_TIMEOUT, "100"));
+        String batchFormat = optionHolder.validateAndGetStaticValue(JMSOptionsMapper.BATCH_FORMAT,
+                JMSOptionsMapper.BATCH_FORMAT_BINARY);
+        if (batchTimeout <= 0 || (!JMSOptionsMapper.BATCH_FORMAT_BINARY.equalsIgnoreCase(batchFormat)
+                && !JMSOptionsMapper.BATCH_FORMAT_JSON.equalsIgnoreCase(batchFormat))) {
+            throw new SiddhiAppCreationException("Invalid batching configuration for the JMS sink of stream: "
+                    + streamId + ". " + JMSOptionsMapper.BATCH_TIMEOUT + " should be positive and "
+                    + JMSOptionsMapper.BATCH_FORMAT + " should be either '" + JMSOptionsMapper.BATCH_FORMAT_BINARY
+                    + "' or '" + JMSOptionsMapper.BATCH_FORMAT_JSON + "'.");
+        }
+        // a batch bounded by its size only takes any number of events
+        return new JMSEventBatcher(this, batchSize > 1 ? batchSize : Integer.MAX_VALUE, batchBytes,
+                batchTimeout, batchFormat);
+    }
+
+    private JMSJournal initJournal(String streamId, String siddhiAppName) {
+        String journalPath = optionHolder.validateAndGetStaticValue(JMSOptionsMapper.JOURNAL_PATH, null);
+        if (journalPath == null) {
+            return null;
+        }
+        int segmentSize = Integer.parseInt(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.JOURNAL_SEGMENT_SIZE, "16777216"));
+        long maxSize = Long.parseLong(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.JOURNAL_MAX_SIZE, "1073741824"));
+        this.journalReplayInterval = Long.parseLong(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.JOURNAL_REPLAY_INTERVAL, "1000"));
+        if (segmentSize <= 0 || maxSize < segmentSize || journalReplayInterval <= 0) {
+            throw new SiddhiAppCreationException("Invalid journal configuration for the JMS sink of stream: "
+                    + streamId + ". " + JMSOptionsMapper.JOURNAL_SEGMENT_SIZE + " and "
+                    + JMSOptionsMapper.JOURNAL_REPLAY_INTERVAL + " should be positive and "
+                    + JMSOptionsMapper.JOURNAL_MAX_SIZE + " should not be less than the segment size.");
+        }
+        File directory = new File(journalPath, siddhiAppName + File.separator + streamId);
+        try {
+            return new JMSJournal(directory, segmentSize, maxSize);
+        } catch (IOException e) {
+            throw new SiddhiAppCreationException("Error while opening the journal of the JMS sink of stream: "
+                    + streamId + " at " + directory.getAbsolutePath(), e);
+        }
+    }
+
+    private JMSCircuitBreaker initCircuitBreaker(String streamId) {
+        int failureThreshold = Integer.parseInt(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.CIRCUIT_BREAKER_FAILURE_THRESHOLD, "0"));
+        if (failureThreshold <= 0) {
+            return null;
+        }
+        long initialBackoff = Long.parseLong(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.CIRCUIT_BREAKER_INITIAL_BACKOFF, "1000"));
+        long maxBackoff = Long.parseLong(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.CIRCUIT_BREAKER_MAX_BACKOFF, "60000"));
+        String openPolicy = optionHolder.validateAndGetStaticValue(JMSOptionsMapper.CIRCUIT_BREAKER_OPEN_POLICY,
+                JMSOptionsMapper.CIRCUIT_BREAKER_POLICY_FAIL);
+        this.bufferWhileOpen = JMSOptionsMapper.CIRCUIT_BREAKER_POLICY_BUFFER.equalsIgnoreCase(openPolicy);
+        if (initialBackoff <= 0 || maxBackoff < initialBackoff
+                || (!bufferWhileOpen && !JMSOptionsMapper.CIRCUIT_BREAKER_POLICY_FAIL.equalsIgnoreCase(openPolicy))) {
+            throw new SiddhiAppCreationException("Invalid circuit breaker configuration for the JMS sink of "
+                    + "stream: " + streamId + ". " + JMSOptionsMapper.CIRCUIT_BREAKER_INITIAL_BACKOFF
+                    + " should be positive and not greater than " + JMSOptionsMapper.CIRCUIT_BREAKER_MAX_BACKOFF
+                    + ", and " + JMSOptionsMapper.CIRCUIT_BREAKER_OPEN_POLICY + " should be either '"
+                    + JMSOptionsMapper.CIRCUIT_BREAKER_POLICY_FAIL + "' or '"
+                    + JMSOptionsMapper.CIRCUIT_BREAKER_POLICY_BUFFER + "'.");
+        }
+        if (bufferWhileOpen && journal == null) {
+            throw new SiddhiAppCreationException("The '" + JMSOptionsMapper.CIRCUIT_BREAKER_POLICY_BUFFER
+                    + "' circuit breaker policy of the JMS sink of stream: " + streamId + " requires the "
+                    + JMSOptionsMapper.JOURNAL_PATH + " option.");
+        }
+        return new JMSCircuitBreaker("JMS sink of stream: " + streamId, failureThreshold, initialBackoff,
+                maxBackoff, this::reconnectQuietly);
+    }
+
+    private void initJndiCache(String streamId) {
+        long jndiCacheTtl = Long.parseLong(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.JNDI_CACHE_TTL, "0"));
+        if (jndiCacheTtl < 0) {
+            throw new SiddhiAppCreationException("Invalid value for the " + JMSOptionsMapper.JNDI_CACHE_TTL
+                    + " option of the JMS sink of stream: " + streamId + ". It should not be negative.");
+        } else if (jndiCacheTtl > 0) {
+            JMSJndiCache.enable(jmsStaticProperties, jndiCacheTtl);
+            JMSJndiCache.warm(jmsStaticProperties,
+                    jmsStaticProperties.get(JMSConstants.PARAM_CONNECTION_FACTORY_JNDI_NAME),
+                    jmsStaticProperties.get(JMSConstants.PARAM_DESTINATION_NAME));
+        }
+    }
+
+    private JMSLoadBalancer initLoadBalancer(String streamId) {
+        List<String> providerUrls = new ArrayList<>();
+        providerUrls.add(optionHolder.validateAndGetStaticValue(JMSOptionsMapper.PROVIDER_URL));
+        String additionalUrls = optionHolder.validateAndGetStaticValue(JMSOptionsMapper.LOAD_BALANCE_PROVIDER_URLS,
+                null);
+        if (additionalUrls != null) {
+            providerUrls.addAll(JMSLoadBalancer.splitProviderUrls(additionalUrls));
+        }
+        String strategy = optionHolder.validateAndGetStaticValue(JMSOptionsMapper.LOAD_BALANCE_STRATEGY,
+                JMSOptionsMapper.LOAD_BALANCE_ROUND_ROBIN).toLowerCase(Locale.ENGLISH);
+        long ejectLatency = Long.parseLong(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.LOAD_BALANCE_EJECT_LATENCY, "0"));
+        long ejectTime = Long.parseLong(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.LOAD_BALANCE_EJECT_TIME, "30000"));
+        if (!JMSOptionsMapper.LOAD_BALANCE_ROUND_ROBIN.equals(strategy)
+                && !JMSOptionsMapper.LOAD_BALANCE_LEAST_IN_FLIGHT.equals(strategy)
+                && !JMSOptionsMapper.LOAD_BALANCE_HASH.equals(strategy)) {
+            throw new SiddhiAppCreationException("Invalid value '" + strategy + "' for the "
+                    + JMSOptionsMapper.LOAD_BALANCE_STRATEGY + " option of the JMS sink of stream: " + streamId
+                    + ". Supported values are '" + JMSOptionsMapper.LOAD_BALANCE_ROUND_ROBIN + "', '"
+                    + JMSOptionsMapper.LOAD_BALANCE_LEAST_IN_FLIGHT + "' and '" + JMSOptionsMapper.LOAD_BALANCE_HASH
+                    + "'.");
+        }
+        if (optionHolder.isOptionExists(JMSOptionsMapper.LOAD_BALANCE_KEY)) {
+            this.loadBalanceKey = optionHolder.validateAndGetOption(JMSOptionsMapper.LOAD_BALANCE_KEY);
+        } else if (JMSOptionsMapper.LOAD_BALANCE_HASH.equals(strategy)) {
+            throw new SiddhiAppCreationException("The '" + JMSOptionsMapper.LOAD_BALANCE_HASH + "' load balancing "
+                    + "strategy of the JMS sink of stream: " + streamId + " requires the "
+                    + JMSOptionsMapper.LOAD_BALANCE_KEY + " option.");
+        }
+        boolean shared = Boolean.parseBoolean(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.CONNECTION_SHARED, "false"));
+        JMSBrokerEndpoint[] endpoints = new JMSBrokerEndpoint[providerUrls.size()];
+        for (int i = 0; i < endpoints.length; i++) {
+            Map<String, String> endpointProperties = new HashMap<>(jmsStaticProperties);
+            endpointProperties.put(JMSConstants.PARAM_PROVIDER_URL, providerUrls.get(i));
+            endpoints[i] = new JMSBrokerEndpoint(providerUrls.get(i), endpointProperties, shared);
+        }
+        return new JMSLoadBalancer(endpoints, strategy, ejectLatency, ejectTime);
+    }
+
+    private JMSConfirmTracker initConfirmTracker(String streamId) {
+        if (!Boolean.parseBoolean(optionHolder.validateAndGetStaticValue(JMSOptionsMapper.PUBLISH_CONFIRM,
+                "false")) || syncPublish) {
+            // synchronous sends are confirmed before publish returns
+            return null;
+        }
+        int maxPending = Integer.parseInt(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.PUBLISH_CONFIRM_MAX_PENDING, "10000"));
+        this.confirmTimeout = Long.parseLong(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.PUBLISH_CONFIRM_TIMEOUT, "30000"));
+        if (maxPending <= 0 || confirmTimeout < 0) {
+            throw new SiddhiAppCreationException("Invalid confirm tracking configuration for the JMS sink of stream: "
+                    + streamId + ". " + JMSOptionsMapper.PUBLISH_CONFIRM_MAX_PENDING + " should be positive and "
+                    + JMSOptionsMapper.PUBLISH_CONFIRM_TIMEOUT + " should not be negative.");
+        }
+        String onError = optionHolder.validateAndGetStaticValue(ON_ERROR, "LOG");
+        if (journal == null && !"STORE".equalsIgnoreCase(onError) && !"WAIT".equalsIgnoreCase(onError)) {
+            // the failed events would be dropped, leaving nothing to deliver at least once
+            throw new SiddhiAppCreationException("The " + JMSOptionsMapper.PUBLISH_CONFIRM + " option of the JMS "
+                    + "sink of stream: " + streamId + " requires the " + JMSOptionsMapper.JOURNAL_PATH + " option, "
+                    + "or the 'STORE' or 'WAIT' " + ON_ERROR + " action.");
+        }
+        return new JMSConfirmTracker(maxPending);
+    }
+
+    long track(String topicQueueName, Object payload, DynamicOptions transportOptions)
+            throws ConnectionUnavailableException {
+        if (confirmTracker == null) {
+            return JMSConfirmTracker.UNTRACKED;
+        }
+        long sequence;
+        try {
+            sequence = confirmTracker.track(topicQueueName, payload, eventOf(transportOptions), confirmTimeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConnectionUnavailableException("Interrupted while waiting for the unconfirmed sends of the "
+                    + "JMS sink publishing to destination: " + topicQueueName, e);
+        }
+        if (sequence == JMSConfirmTracker.UNTRACKED) {
+            throw new ConnectionUnavailableException("The JMS sink publishing to destination: " + topicQueueName
+                    + " has " + confirmTracker.getUnconfirmedCount() + " unconfirmed sends after waiting "
+                    + confirmTimeout + " ms.");
+        }
+        return sequence;
+    }
+
+    void confirm(long sequence) {
+        if (confirmTracker != null && sequence != JMSConfirmTracker.UNTRACKED) {
+            confirmTracker.confirm(sequence);
+        }
+    }
+
+    /**
+     * Returns the sequence number up to which all the asynchronous sends of this sink are confirmed. Sequence
+     * numbers are assigned from zero, in the order the events are published.
+     *
+     * @return confirmed watermark, or -1 if no send is confirmed or confirm tracking is disabled.
+     */
+    public long getConfirmedWatermark() {
+        return confirmTracker == null ? -1 : confirmTracker.getWatermark();
+    }
+
+    public int getUnconfirmedCount() {
+        return confirmTracker == null ? 0 : confirmTracker.getUnconfirmedCount();
+    }
+
+    /**
+     * Publishes the unconfirmed events restored from a snapshot, once the sink is connected.
+     */
+    private void replayRestored() {
+        if (publisherExecutor == null) {
+            return;
+        }
+        JMSPayloadCodec.Record record;
+        while ((record = restoredRecords.poll()) != null) {
+            try {
+                DynamicOptions transportOptions = optionsOf(record);
+                JMSPublisher jmsPublisher = createPublisher(record.getDestination(), record.getPayload(),
+                        transportOptions);
+                jmsPublisher.setSequence(track(record.getDestination(), record.getPayload(), transportOptions));
+                execute(jmsPublisher);
+            } catch (ConnectionUnavailableException | JMSSinkAdaptorRuntimeException e) {
+                log.error("Error while publishing an unconfirmed event restored to the JMS sink publishing to "
+                        + "destination: " + record.getDestination(), e);
+            }
+        }
+    }
+
+    private JMSMessageHeaders initMessageHeaders(StreamDefinition streamDefinition) {
+        JMSMessageHeaders headers = JMSMessageHeaders.create(getOptionIfExists(JMSOptionsMapper.MESSAGE_CORRELATION_ID),
+                getOptionIfExists(JMSOptionsMapper.MESSAGE_TYPE), getOptionIfExists(JMSOptionsMapper.MESSAGE_GROUP_ID),
+                optionHolder.validateAndGetStaticValue(JMSOptionsMapper.MESSAGE_PROPERTIES, null),
+                streamDefinition.getAttributeList(), streamDefinition.getId());
+        if (headers != null && eventBatcher != null) {
+            throw new SiddhiAppCreationException("The message header options of the JMS sink of stream: "
+                    + streamDefinition.getId() + " cannot be used with batching, as a batch carries the events of "
+                    + "many messages.");
+        }
+        if (optionHolder.isOptionExists(JMSOptionsMapper.MESSAGE_CORRELATION_ID)
+                && optionHolder.isOptionExists(JMSOptionsMapper.REPLY_TO)) {
+            throw new SiddhiAppCreationException("The " + JMSOptionsMapper.MESSAGE_CORRELATION_ID + " option of the "
+                    + "JMS sink of stream: " + streamDefinition.getId() + " cannot be used with the "
+                    + JMSOptionsMapper.REPLY_TO + " option, which sets the correlation IDs of the requests.");
+        }
+        return headers;
+    }
+
+    private Option getOptionIfExists(String key) {
+        return optionHolder.isOptionExists(key) ? optionHolder.validateAndGetOption(key) : null;
+    }
+
+    JMSMessageHeaders getMessageHeaders() {
+        return messageHeaders;
+    }
+
+    private JMSRequestRegistry initRequestRegistry(String streamId) {
+        this.replyToName = optionHolder.validateAndGetStaticValue(JMSOptionsMapper.REPLY_TO, null);
+        if (replyToName == null) {
+            return null;
+        }
+        this.requestTimeout = Long.parseLong(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.REQUEST_TIMEOUT, "30000"));
+        int maxPending = Integer.parseInt(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.REQUEST_MAX_PENDING, "10000"));
+        if (requestTimeout <= 0 || maxPending <= 0) {
+            throw new SiddhiAppCreationException("Invalid request-reply configuration for the JMS sink of stream: "
+                    + streamId + ". " + JMSOptionsMapper.REQUEST_TIMEOUT + " and "
+                    + JMSOptionsMapper.REQUEST_MAX_PENDING + " should be positive.");
+        }
+        if (eventBatcher != null) {
+            throw new SiddhiAppCreationException("The " + JMSOptionsMapper.REPLY_TO + " option of the JMS sink of "
+                    + "stream: " + streamId + " cannot be used with batching, as each request needs a message of "
+                    + "its own.");
+        }
+        return JMSRequestRegistry.create(attributeNames, maxPending, requestTimeout);
+    }
+
+    /**
+     * Looks up the reply destination through JNDI, using the same naming configuration as the transport.
+     *
+     * @return reply destination.
+     * @throws ConnectionUnavailableException if the destination cannot be looked up.
+     */
+    private Destination lookupReplyTo() throws ConnectionUnavailableException {
+        Hashtable<String, String> environment = new Hashtable<>(jmsStaticProperties);
+        boolean topic = "topic".equalsIgnoreCase(jmsStaticProperties.get(JMSConstants.PARAM_CONNECTION_FACTORY_TYPE));
+        environment.putIfAbsent((topic ? "topic." : "queue.") + replyToName, replyToName);
+        InitialContext context = null;
+        try {
+            context = new InitialContext(environment);
+            return (Destination) context.lookup(replyToName);
+        } catch (NamingException | ClassCastException e) {
+            JMSJndiCache.invalidate(environment);
+            throw new ConnectionUnavailableException("Error while looking up the reply destination: "
+                    + replyToName + " of the JMS sink publishing to destination: " + destination, e);
+        } finally {
+            if (context != null) {
+                try {
+                    context.close();
+                } catch (NamingException e) {
+                    log.debug("Error while closing the JNDI context.", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Stamps the correlation ID and the reply destination on a request.
+     *
+     * @param message request message.
+     * @return correlation ID of the request, or null when the sink is not in request-reply mode.
+     * @throws JMSException if the headers cannot be set.
+     */
+    String prepareRequest(Message message) throws JMSException {
+        if (requestRegistry == null) {
+            return null;
+        }
+        String correlationId = requestRegistry.nextCorrelationId();
+        message.setJMSCorrelationID(correlationId);
+        message.setJMSReplyTo(replyTo);
+        return correlationId;
+    }
+
+    /**
+     * Registers a request which is about to be sent, to await its reply.
+     *
+     * @param correlationId    correlation ID stamped on the request.
+     * @param payload          payload of the request.
+     * @param transportOptions dynamic options of the request event.
+     */
+    void registerRequest(String correlationId, Object payload, DynamicOptions transportOptions) {
+        for (JMSRequestRegistry.PendingRequest evicted
+                : requestRegistry.register(correlationId, payload, transportOptions)) {
+            onRequestTimeout(evicted, "as the maximum of " + JMSOptionsMapper.REQUEST_MAX_PENDING
+                    + " pending requests is reached");
+        }
+    }
+
+    void cancelRequest(String correlationId) {
+        requestRegistry.remove(correlationId);
+    }
+
+    private void expireRequests() {
+        try {
+            for (JMSRequestRegistry.PendingRequest expired : requestRegistry.expire(System.currentTimeMillis())) {
+                onRequestTimeout(expired, "within " + requestTimeout + " ms");
+            }
+        } catch (RuntimeException e) {
+            log.error("Error while expiring the pending requests of the JMS sink.", e);
+        }
+    }
+
+    private void onRequestTimeout(JMSRequestRegistry.PendingRequest request, String reason) {
+        JMSSinkAdaptorRuntimeException e = new JMSSinkAdaptorRuntimeException("Reply to the request sent to "
+                + "destination: " + destination + " was not received on " + replyToName + " " + reason + ".");
+        if (request.getTransportOptions() == null) {
+            // requests replayed from the journal are not associated with an event
+            log.error(e.getMessage());
+        } else {
+            onError(request.getPayload(), request.getTransportOptions(), e);
+        }
+    }
+
+    private void initPartitions(String streamId) {
+        if (!optionHolder.isOptionExists(JMSOptionsMapper.PARTITION_KEY)) {
+            return;
+        }
+        if (!destination.isStatic()) {
+            throw new SiddhiAppCreationException("The " + JMSOptionsMapper.PARTITION_KEY + " option of the JMS sink "
+                    + "of stream: " + streamId + " requires a static destination.");
+        }
+        int partitionCount = Integer.parseInt(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.PARTITION_COUNT, "0"));
+        if (partitionCount < 1) {
+            throw new SiddhiAppCreationException("The " + JMSOptionsMapper.PARTITION_KEY + " option of the JMS sink "
+                    + "of stream: " + streamId + " requires a positive " + JMSOptionsMapper.PARTITION_COUNT + ".");
+        }
+        this.partitionKey = optionHolder.validateAndGetOption(JMSOptionsMapper.PARTITION_KEY);
+        // the destination names are built once so that routing an event costs only hashing its key
+        String baseDestination = destination.getValue();
+        this.partitionDestinations = new String[partitionCount];
+        for (int i = 0; i < partitionCount; i++) {
+            partitionDestinations[i] = baseDestination + "." + i;
+        }
+    }
+
+    private String resolveDestination(DynamicOptions transportOptions) {
+        if (partitionDestinations == null) {
+            return destination.getValue(transportOptions);
+        }
+        String key = partitionKey.getValue(transportOptions);
+        if (key == null) {
+            return partitionDestinations[0];
+        }
+        int hash = key.hashCode();
+        return partitionDestinations[Math.floorMod(hash ^ (hash >>> 16), partitionDestinations.length)];
+    }
+
+    /**
+     * Recreates the client connectors, logging instead of throwing any failure as the next send will report it.
+     */
+    private void reconnectQuietly() {
+        for (JMSBrokerEndpoint endpoint : loadBalancer.getEndpoints()) {
+            try {
+                endpoint.connect();
+            } catch (JMSConnectorException e) {
+                log.debug("Error while reconnecting to the JMS provider at " + endpoint.getProviderUrl(), e);
+            }
+        }
+    }
+
+    JMSLoadBalancer getLoadBalancer() {
+        return loadBalancer;
+    }
+
+    JMSCircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Handles a message which could not be sent to the broker. The event is stored in the journal if one is
+     * configured and has capacity left, otherwise the failure is passed to the sink error handling.
+     *
+     * @param topicQueueName   destination of the event.
+     * @param payload          event payload.
+     * @param transportOptions dynamic options of the event.
+     * @param e                cause of the failure.
+     */
+    void onSendFailure(String topicQueueName, Object payload, DynamicOptions transportOptions,
+                       ConnectionUnavailableException e) {
+        if (storeInJournal(topicQueueName, payload, transportOptions)) {
+            return;
+        }
+        onError(payload, transportOptions, e);
+    }
+
+    private boolean storeInJournal(String topicQueueName, Object payload, DynamicOptions transportOptions) {
+        if (journal == null) {
+            return false;
+        }
+        try {
+            boolean wasEmpty = journal.isEmpty();
+            if (journal.append(JMSPayloadCodec.encode(topicQueueName, payload, eventOf(transportOptions)))) {
+                if (wasEmpty) {
+                    log.warn("Unable to publish to the JMS provider at destination: " + topicQueueName
+                            + ". Events are stored in the journal until they can be published.");
+                }
+                return true;
+            }
+            log.error("The journal of the JMS sink is full, unable to store the event to destination: "
+                    + topicQueueName);
+        } catch (IOException e) {
+            log.error("Error while storing the event to destination: " + topicQueueName + " in the journal.", e);
+        }
+        return false;
+    }
+
+    private static Event eventOf(DynamicOptions transportOptions) {
+        return transportOptions == null ? null : transportOptions.getEvent();
+    }
+
+    /**
+     * Recreates the dynamic options of a stored event, so that its message gets the same headers and properties
+     * as when it was first published.
+     *
+     * @param record record of the stored event.
+     * @return dynamic options of the event, or null if it was stored without its event.
+     */
+    private static DynamicOptions optionsOf(JMSPayloadCodec.Record record) {
+        return record.getEvent() == null ? null : new DynamicOptions(record.getEvent());
+    }
+
+    /**
+     * Publishes the events stored in the journal in order, until the journal is drained or a send fails.
+     */
+    private void replayJournal() {
+        byte[] record;
+        while ((record = journal.peek()) != null) {
+            JMSPayloadCodec.Record decodedRecord;
+            try {
+                decodedRecord = JMSPayloadCodec.decode(record);
+            } catch (IOException e) {
+                log.error("Dropping an unreadable event from the journal of the JMS sink.", e);
+                journal.remove();
+                continue;
+            }
+            try {
+                createPublisher(decodedRecord.getDestination(), decodedRecord.getPayload(), optionsOf(decodedRecord))
+                        .publish();
+                journal.remove();
+            } catch (ConnectionUnavailableException e) {
+                if (log.isDebugEnabled()) {
+                    log.debug("Unable to replay the journal of the JMS sink, retrying in " + journalReplayInterval
+                            + " ms.", e);
+                }
+                if (circuitBreaker == null) {
+                    // with a circuit breaker the connector is recreated before probing the broker
+                    reconnectQuietly();
+                }
+                return;
+            } catch (JMSSinkAdaptorRuntimeException e) {
+                log.error("Dropping an event which cannot be published from the journal of the JMS sink.", e);
+                journal.remove();
+            }
+        }
+    }
+
+    /**
+     * Returns the attribute names of the sink stream, in the order of the event data.
+     *
+     * @return attribute names.
+     */
+    String[] getAttributeNames() {
+        return attributeNames;
+    }
+
+    /**
+     * Returns the attribute types of the sink stream, in the order of the event data.
+     *
+     * @return attribute types.
+     */
+    Attribute.Type[] getAttributeTypes() {
+        return attributeTypes;
     }
 
     /**
@@ -189,6 +1424,7 @@ public class JMSSink extends Sink {
      */
     private Map<String, String> initJMSProperties() {
         List<String> requiredOptions = JMSOptionsMapper.getRequiredOptions();
+        List<String> sinkOptions = JMSOptionsMapper.getSinkOptions();
         Map<String, String> customPropertyMapping = JMSOptionsMapper.getCarbonPropertyMapping();
         // getting the required values
         Map<String, String> transportProperties = new HashMap<>();
@@ -197,9 +1433,58 @@ public class JMSSink extends Sink {
                         optionHolder.validateAndGetStaticValue(requiredOption)));
         // getting optional values
         optionHolder.getStaticOptionsKeys().stream()
-                .filter(option -> !requiredOptions.contains(option) && !option.equals("type")).forEach(option ->
+                .filter(option -> !requiredOptions.contains(option) && !sinkOptions.contains(option)
+                        && !option.equals("type")).forEach(option ->
                 transportProperties.put(customPropertyMapping.get(option), optionHolder.validateAndGetStaticValue
                         (option)));
         return transportProperties;
     }
+
+    /**
+     * State of a sink with confirm tracking, holding the events which are not confirmed at the time of a snapshot.
+     */
+    private class ConfirmState extends State {
+
+        @Override
+        public boolean canDestroy() {
+            return false;
+        }
+
+        @Override
+        public Map<String, Object> snapshot() {
+            List<String> destinations = new ArrayList<>();
+            List<Object> payloads = new ArrayList<>();
+            List<Event> events = new ArrayList<>();
+            confirmTracker.collectUnconfirmed(destinations, payloads, events);
+            ArrayList<byte[]> records = new ArrayList<>(payloads.size());
+            for (int i = 0; i < payloads.size(); i++) {
+                try {
+                    records.add(JMSPayloadCodec.encode(destinations.get(i), payloads.get(i), events.get(i)));
+                } catch (IOException e) {
+                    log.error("Error while adding an unconfirmed event to destination: " + destinations.get(i)
+                            + " to the snapshot of the JMS sink.", e);
+                }
+            }
+            Map<String, Object> state = new HashMap<>();
+            state.put(UNCONFIRMED_EVENTS, records);
+            return state;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void restore(Map<String, Object> state) {
+            List<byte[]> records = (List<byte[]>) state.get(UNCONFIRMED_EVENTS);
+            if (records == null) {
+                return;
+            }
+            for (byte[] record : records) {
+                try {
+                    restoredRecords.add(JMSPayloadCodec.decode(record));
+                } catch (IOException e) {
+                    log.error("Dropping an unreadable unconfirmed event from the snapshot of the JMS sink.", e);
+                }
+            }
+            replayRestored();
+        }
+    }
 }
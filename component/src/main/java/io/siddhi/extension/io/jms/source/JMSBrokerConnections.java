@@ -0,0 +1,68 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.source;
+
+import org.wso2.transport.jms.utils.JMSConstants;
+
+import java.util.Hashtable;
+import java.util.Map;
+import javax.jms.Connection;
+import javax.jms.ConnectionFactory;
+import javax.jms.JMSException;
+import javax.naming.Context;
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+
+/**
+ * Opens connections of its own to the broker of a JMS source, besides the ones of the transport, for watching the
+ * broker and its destination.
+ */
+final class JMSBrokerConnections {
+
+    private JMSBrokerConnections() {
+    }
+
+    /**
+     * Opens a connection to the broker, looking its connection factory up the way the transport does.
+     *
+     * @param jmsProperties transport properties of the source.
+     * @return the connection, not started.
+     * @throws NamingException if the connection factory cannot be looked up.
+     * @throws JMSException    if the connection cannot be created.
+     */
+    static Connection open(Map<String, String> jmsProperties) throws NamingException, JMSException {
+        Hashtable<String, String> environment = new Hashtable<>();
+        jmsProperties.forEach((name, value) -> {
+            if (name != null && value != null) {
+                environment.put(name, value);
+            }
+        });
+        Context context = new InitialContext(environment);
+        ConnectionFactory connectionFactory;
+        try {
+            connectionFactory = (ConnectionFactory) context.lookup(jmsProperties.getOrDefault(
+                    JMSConstants.PARAM_CONNECTION_FACTORY_JNDI_NAME, "QueueConnectionFactory"));
+        } finally {
+            context.close();
+        }
+        String username = jmsProperties.get(JMSConstants.CONNECTION_USERNAME);
+        return username == null ? connectionFactory.createConnection()
+                : connectionFactory.createConnection(username, jmsProperties.get(JMSConstants.CONNECTION_PASSWORD));
+    }
+}
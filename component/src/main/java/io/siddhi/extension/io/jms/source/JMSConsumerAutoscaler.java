@@ -0,0 +1,371 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.source;
+
+import io.siddhi.extension.io.jms.util.JMSConnectionStatus;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.wso2.transport.jms.callback.JMSCallback;
+import org.wso2.transport.jms.contract.JMSListener;
+import org.wso2.transport.jms.contract.JMSServerConnector;
+import org.wso2.transport.jms.exception.JMSConnectorException;
+import org.wso2.transport.jms.receiver.JMSServerConnectorImpl;
+import org.wso2.transport.jms.utils.JMSConstants;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import javax.jms.Connection;
+import javax.jms.JMSException;
+import javax.jms.Message;
+import javax.jms.QueueBrowser;
+import javax.jms.Session;
+import javax.naming.NamingException;
+
+/**
+ * Grows and shrinks the number of consumers of a JMS source on a queue, following the backlog of the queue.
+ * <p>
+ * Each consumer is a receiver of the transport with a single worker, all of them feeding the same message processor.
+ * At every interval the backlog is sampled by browsing the queue, up to the number of messages which would keep the
+ * maximum number of consumers busy, and consumers are added until there is one per
+ * {@code backlogPerWorker} messages. When the backlog is back within what one consumer less would take, the
+ * consumer idle the longest is stopped, one per interval, provided it has received nothing for the idle timeout.
+ * <p>
+ * The consumers and the connection browsing the queue are connected and disconnected outside the lock of the
+ * autoscaler, so that a slow broker does not hold up pausing, resuming or stopping the source.
+ */
+class JMSConsumerAutoscaler {
+    private static final Logger log = LogManager.getLogger(JMSConsumerAutoscaler.class);
+    private final String streamId;
+    private final Map<String, String> jmsProperties;
+    private final JMSMessageProcessor processor;
+    private final int minWorkers;
+    private final int maxWorkers;
+    private final long interval;
+    private final int backlogPerWorker;
+    private final long idleTimeout;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final Deque<Consumer> consumers = new ArrayDeque<>();
+    private boolean stopped = true;
+    private boolean paused;
+    // changes on stopping, so that a start or a scaling which began before does not add consumers afterwards
+    private int generation;
+    // a scaling is in progress, which the next ones skip, as they would add the same missing consumers
+    private boolean scaling;
+    private Connection browserConnection;
+    private ScheduledFuture<?> sampling;
+
+    JMSConsumerAutoscaler(String streamId, Map<String, String> jmsProperties, JMSMessageProcessor processor,
+                          int minWorkers, int maxWorkers, long interval, int backlogPerWorker, long idleTimeout,
+                          ScheduledExecutorService scheduledExecutorService) {
+        this.streamId = streamId;
+        this.jmsProperties = jmsProperties;
+        this.processor = processor;
+        this.minWorkers = minWorkers;
+        this.maxWorkers = maxWorkers;
+        this.interval = interval;
+        this.backlogPerWorker = backlogPerWorker;
+        this.idleTimeout = idleTimeout;
+        this.scheduledExecutorService = scheduledExecutorService;
+    }
+
+    /**
+     * Starts the minimum number of consumers, and the sampling of the backlog.
+     *
+     * @throws JMSConnectorException if a consumer cannot be started.
+     */
+    void start() throws JMSConnectorException {
+        int generation;
+        int missing;
+        synchronized (this) {
+            stopped = false;
+            generation = this.generation;
+            missing = minWorkers - consumers.size();
+        }
+        List<Consumer> started = new ArrayList<>(Math.max(0, missing));
+        try {
+            for (int i = 0; i < missing; i++) {
+                started.add(startConsumer());
+            }
+        } catch (JMSConnectorException e) {
+            started.forEach(this::stopConsumer);
+            synchronized (this) {
+                if (generation == this.generation) {
+                    stopped = true;
+                }
+            }
+            throw e;
+        }
+        boolean current;
+        synchronized (this) {
+            current = !stopped && generation == this.generation;
+            if (current) {
+                consumers.addAll(started);
+                if (sampling != null) {
+                    sampling.cancel(false);
+                }
+                sampling = scheduledExecutorService.scheduleWithFixedDelay(
+                        () -> JMSConnectionStatus.submit(this::scale), interval, interval, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (!current) {
+            // stopped while starting, which left stopping these consumers to this start
+            started.forEach(this::stopConsumer);
+        }
+    }
+
+    /**
+     * Stops the sampling of the backlog and all the consumers.
+     */
+    void stop() {
+        List<Consumer> stopping;
+        Connection connection;
+        synchronized (this) {
+            stopped = true;
+            generation++;
+            if (sampling != null) {
+                sampling.cancel(false);
+                sampling = null;
+            }
+            connection = browserConnection;
+            browserConnection = null;
+            stopping = new ArrayList<>(consumers);
+            consumers.clear();
+        }
+        close(connection);
+        for (int i = stopping.size() - 1; i >= 0; i--) {
+            stopConsumer(stopping.get(i));
+        }
+    }
+
+    /**
+     * Holds the messages of all the consumers, and the scaling with them, as their idle time means nothing then.
+     */
+    synchronized void pause() {
+        paused = true;
+        processor.pause();
+    }
+
+    synchronized void resume() {
+        paused = false;
+        processor.resume();
+    }
+
+    synchronized int getWorkerCount() {
+        return consumers.size();
+    }
+
+    private void scale() {
+        int generation;
+        synchronized (this) {
+            if (stopped || paused || scaling) {
+                return;
+            }
+            scaling = true;
+            generation = this.generation;
+        }
+        try {
+            scale(generation);
+        } finally {
+            synchronized (this) {
+                scaling = false;
+            }
+        }
+    }
+
+    private void scale(int generation) {
+        int backlog;
+        try {
+            backlog = sampleBacklog(generation);
+        } catch (NamingException | JMSException e) {
+            Connection connection;
+            synchronized (this) {
+                connection = browserConnection;
+                browserConnection = null;
+            }
+            close(connection);
+            log.debug("Error while sampling the backlog of the JMS source of stream: " + streamId, e);
+            return;
+        }
+        int workers;
+        int missing;
+        Consumer idle = null;
+        synchronized (this) {
+            if (stopped || paused || generation != this.generation) {
+                return;
+            }
+            int wanted = Math.min(maxWorkers, Math.max(minWorkers,
+                    (backlog + backlogPerWorker - 1) / backlogPerWorker));
+            workers = consumers.size();
+            missing = wanted - workers;
+            if (missing < 0) {
+                idle = removeIdleConsumer();
+            }
+        }
+        if (idle != null) {
+            stopConsumer(idle);
+        }
+        for (int i = 0; i < missing; i++) {
+            Consumer consumer;
+            try {
+                consumer = startConsumer();
+            } catch (JMSConnectorException e) {
+                log.warn("Error while adding a consumer to the JMS source of stream: " + streamId + ", with a "
+                        + "backlog of " + backlog + " messages.", e);
+                break;
+            }
+            boolean added;
+            synchronized (this) {
+                added = !stopped && generation == this.generation && consumers.size() < maxWorkers;
+                if (added) {
+                    consumers.addLast(consumer);
+                }
+            }
+            if (!added) {
+                stopConsumer(consumer);
+                break;
+            }
+        }
+        int scaled = getWorkerCount();
+        if (scaled != workers) {
+            log.info("Scaled the consumers of the JMS source of stream: " + streamId + " from " + workers
+                    + " to " + scaled + ", with a backlog of " + backlog + " messages.");
+        }
+    }
+
+    /**
+     * Counts the messages waiting on the queue, up to the number of messages which keeps all the consumers busy.
+     */
+    private int sampleBacklog(int generation) throws NamingException, JMSException {
+        Connection connection;
+        synchronized (this) {
+            connection = browserConnection;
+        }
+        if (connection == null) {
+            connection = JMSBrokerConnections.open(jmsProperties);
+            try {
+                connection.start();
+            } catch (JMSException e) {
+                connection.close();
+                throw e;
+            }
+            boolean kept;
+            synchronized (this) {
+                kept = !stopped && generation == this.generation;
+                if (kept) {
+                    browserConnection = connection;
+                }
+            }
+            if (!kept) {
+                close(connection);
+                return 0;
+            }
+        }
+        int limit = maxWorkers * backlogPerWorker;
+        Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        try {
+            QueueBrowser browser = session.createBrowser(session.createQueue(
+                    jmsProperties.get(JMSConstants.PARAM_DESTINATION_NAME)));
+            int backlog = 0;
+            Enumeration<?> messages = browser.getEnumeration();
+            while (backlog < limit && messages.hasMoreElements()) {
+                messages.nextElement();
+                backlog++;
+            }
+            browser.close();
+            return backlog;
+        } finally {
+            session.close();
+        }
+    }
+
+    private Consumer startConsumer() throws JMSConnectorException {
+        Map<String, String> properties = new HashMap<>(jmsProperties);
+        properties.put(JMSConstants.CONCURRENT_CONSUMERS, "1");
+        Consumer consumer = new Consumer();
+        consumer.connector = new JMSServerConnectorImpl(null, properties, consumer);
+        consumer.connector.start();
+        return consumer;
+    }
+
+    /**
+     * Takes out the consumer idle the longest, if it has been idle for the idle timeout.
+     *
+     * @return the consumer, to be stopped by the caller, or null.
+     */
+    private Consumer removeIdleConsumer() {
+        long now = System.currentTimeMillis();
+        Consumer idlest = null;
+        for (Consumer consumer : consumers) {
+            if (idlest == null || consumer.lastMessageAt < idlest.lastMessageAt) {
+                idlest = consumer;
+            }
+        }
+        if (idlest == null || now - idlest.lastMessageAt < idleTimeout) {
+            return null;
+        }
+        consumers.remove(idlest);
+        return idlest;
+    }
+
+    private void stopConsumer(Consumer consumer) {
+        try {
+            consumer.connector.stop();
+        } catch (JMSConnectorException e) {
+            log.error("Error disconnecting a consumer of the JMS source of stream: " + streamId, e);
+        }
+    }
+
+    private void close(Connection connection) {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (JMSException e) {
+                log.debug("Error while closing the connection browsing the queue of the JMS source of stream: "
+                        + streamId, e);
+            }
+        }
+    }
+
+    /**
+     * Receiver of the transport with a single worker, recording when it last received a message.
+     */
+    private final class Consumer implements JMSListener {
+        private JMSServerConnector connector;
+        private volatile long lastMessageAt = System.currentTimeMillis();
+
+        @Override
+        public void onMessage(Message message, JMSCallback jmsCallback) {
+            lastMessageAt = System.currentTimeMillis();
+            processor.onMessage(message, jmsCallback);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            processor.onError(throwable);
+        }
+    }
+}
@@ -0,0 +1,353 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.source;
+
+import io.siddhi.extension.io.jms.util.JMSConnectionStatus;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.wso2.transport.jms.contract.JMSServerConnector;
+import org.wso2.transport.jms.exception.JMSConnectorException;
+
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import javax.jms.Connection;
+import javax.jms.JMSException;
+import javax.naming.NamingException;
+
+/**
+ * Fails a JMS source over from its primary broker to a standby broker, and back.
+ * <p>
+ * The standby receiver is started along with the primary one, so its connection, sessions and consumers are ready
+ * when the primary broker fails, but its message processor is held paused while the primary is active. The
+ * failure of the primary broker is detected by the exception listener of a monitoring connection to it, upon which
+ * the primary processor is held and the standby one released, without waiting for the retries of the transport.
+ * The primary broker is then probed at the failback interval and, once a connection to it succeeds, its receiver is
+ * restarted and the source switches back.
+ * <p>
+ * The receivers and the monitoring connection are connected and disconnected outside the monitor of the controller,
+ * so that a slow or unreachable broker does not hold up pausing, resuming or failing over the source.
+ */
+class JMSFailoverController {
+    private static final Logger log = LogManager.getLogger(JMSFailoverController.class);
+    private final String streamId;
+    private final JMSServerConnector primaryConnector;
+    private final JMSMessageProcessor primaryProcessor;
+    private final Map<String, String> primaryProperties;
+    private final JMSServerConnector standbyConnector;
+    private final JMSMessageProcessor standbyProcessor;
+    private final String standbyUrl;
+    private final long failbackInterval;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private boolean primaryActive = true;
+    private boolean paused;
+    private boolean standbyStarted;
+    private boolean stopped;
+    private boolean standbyStarting;
+    // the primary receiver is being started, which stops it itself if the source stops meanwhile
+    private boolean primaryStarting;
+    // the primary receiver is being restarted by a failback, which stops it itself if the source stops meanwhile
+    private boolean failingBack;
+    private boolean primaryFailedWhileFailingBack;
+    private Connection monitorConnection;
+    private ScheduledFuture<?> standbyRetry;
+    private ScheduledFuture<?> failbackCheck;
+
+    JMSFailoverController(String streamId, JMSServerConnector primaryConnector, JMSMessageProcessor primaryProcessor,
+                          Map<String, String> primaryProperties, JMSServerConnector standbyConnector,
+                          JMSMessageProcessor standbyProcessor, String standbyUrl, long failbackInterval,
+                          ScheduledExecutorService scheduledExecutorService) {
+        this.streamId = streamId;
+        this.primaryConnector = primaryConnector;
+        this.primaryProcessor = primaryProcessor;
+        this.primaryProperties = primaryProperties;
+        this.standbyConnector = standbyConnector;
+        this.standbyProcessor = standbyProcessor;
+        this.standbyUrl = standbyUrl;
+        this.failbackInterval = failbackInterval;
+        this.scheduledExecutorService = scheduledExecutorService;
+    }
+
+    /**
+     * Starts the primary receiver and its monitor, and warms the standby receiver in the background.
+     *
+     * @throws JMSConnectorException if the primary receiver cannot be started.
+     */
+    void start() throws JMSConnectorException {
+        synchronized (this) {
+            stopped = false;
+            primaryActive = true;
+            apply();
+            primaryStarting = true;
+        }
+        Connection connection = null;
+        try {
+            primaryConnector.start();
+            try {
+                connection = openMonitorConnection();
+            } catch (NamingException | JMSException e) {
+                log.warn("Error while opening the connection monitoring the primary broker of the JMS source of "
+                        + "stream: " + streamId + ", failing over would wait for the transport to give up retrying.",
+                        e);
+            }
+        } finally {
+            synchronized (this) {
+                primaryStarting = false;
+            }
+        }
+        boolean current;
+        synchronized (this) {
+            current = !stopped;
+            if (current && primaryActive) {
+                monitorConnection = connection;
+                connection = null;
+            }
+        }
+        if (connection != null) {
+            // stopped or failed over while starting, which leaves the connection unused
+            close(connection);
+        }
+        if (!current) {
+            // stopped while starting the primary receiver, which left stopping it to this start
+            primaryConnector.stop();
+            return;
+        }
+        JMSConnectionStatus.submit(this::startStandby);
+    }
+
+    /**
+     * Stops both receivers and the monitor.
+     *
+     * @throws JMSConnectorException if a receiver cannot be stopped.
+     */
+    void stop() throws JMSConnectorException {
+        Connection connection;
+        boolean stopPrimary;
+        boolean stopStandby;
+        synchronized (this) {
+            stopped = true;
+            if (standbyRetry != null) {
+                standbyRetry.cancel(false);
+                standbyRetry = null;
+            }
+            if (failbackCheck != null) {
+                failbackCheck.cancel(false);
+                failbackCheck = null;
+            }
+            connection = monitorConnection;
+            monitorConnection = null;
+            // release the held listener threads, as closing their consumers waits for them
+            primaryProcessor.resume();
+            standbyProcessor.resume();
+            stopPrimary = !failingBack && !primaryStarting;
+            stopStandby = standbyStarted;
+            standbyStarted = false;
+        }
+        if (connection != null) {
+            close(connection);
+        }
+        try {
+            if (stopPrimary) {
+                primaryConnector.stop();
+            }
+        } finally {
+            if (stopStandby) {
+                standbyConnector.stop();
+            }
+        }
+    }
+
+    synchronized void pause() {
+        paused = true;
+        apply();
+    }
+
+    synchronized void resume() {
+        paused = false;
+        apply();
+    }
+
+    synchronized boolean isPrimaryActive() {
+        return primaryActive;
+    }
+
+    private void apply() {
+        if (paused || !primaryActive) {
+            primaryProcessor.pause();
+        } else {
+            primaryProcessor.resume();
+        }
+        if (paused || primaryActive) {
+            standbyProcessor.pause();
+        } else {
+            standbyProcessor.resume();
+        }
+    }
+
+    private void startStandby() {
+        synchronized (this) {
+            if (stopped || standbyStarted || standbyStarting) {
+                return;
+            }
+            standbyStarting = true;
+        }
+        // the transport retries connecting to the standby broker, which should not hold up the source meanwhile
+        try {
+            standbyConnector.start();
+        } catch (JMSConnectorException e) {
+            log.warn("Error while starting the standby receiver of the JMS source of stream: " + streamId + " at "
+                    + standbyUrl + ", retrying in " + failbackInterval + " ms.", e);
+            synchronized (this) {
+                standbyStarting = false;
+                if (!stopped) {
+                    standbyRetry = scheduledExecutorService.schedule(
+                            () -> JMSConnectionStatus.submit(this::startStandby), failbackInterval,
+                            TimeUnit.MILLISECONDS);
+                }
+            }
+            return;
+        }
+        synchronized (this) {
+            standbyStarting = false;
+            if (!stopped) {
+                standbyStarted = true;
+                log.info("Started the standby receiver of the JMS source of stream: " + streamId + " at "
+                        + standbyUrl + ".");
+                return;
+            }
+        }
+        try {
+            standbyConnector.stop();
+        } catch (JMSConnectorException e) {
+            log.error("Error disconnecting the standby JMS receiver", e);
+        }
+    }
+
+    private void onPrimaryFailure(JMSException e) {
+        Connection connection;
+        synchronized (this) {
+            if (failingBack) {
+                // the failback in progress fails, and is retried
+                primaryFailedWhileFailingBack = true;
+                return;
+            }
+            if (stopped || !primaryActive) {
+                return;
+            }
+            primaryActive = false;
+            apply();
+            connection = monitorConnection;
+            monitorConnection = null;
+            log.warn("The primary broker of the JMS source of stream: " + streamId + " failed, "
+                    + (standbyStarted ? "switched over" : "switching over once connected") + " to the standby "
+                    + "broker at " + standbyUrl + ".", e);
+            if (!standbyStarted) {
+                JMSConnectionStatus.submit(this::startStandby);
+            }
+            scheduleFailback();
+        }
+        if (connection != null) {
+            close(connection);
+        }
+    }
+
+    private void scheduleFailback() {
+        failbackCheck = scheduledExecutorService.schedule(() -> JMSConnectionStatus.submit(this::failback),
+                failbackInterval, TimeUnit.MILLISECONDS);
+    }
+
+    private void failback() {
+        Connection connection;
+        try {
+            // the primary broker is probed without holding up pausing and resuming the source
+            connection = openMonitorConnection();
+        } catch (NamingException | JMSException e) {
+            log.debug("The primary broker of the JMS source of stream: " + streamId + " is still unavailable.", e);
+            synchronized (this) {
+                if (!stopped) {
+                    scheduleFailback();
+                }
+            }
+            return;
+        }
+        synchronized (this) {
+            if (stopped || primaryActive) {
+                close(connection);
+                return;
+            }
+            failingBack = true;
+            primaryFailedWhileFailingBack = false;
+        }
+        // the transport may have given up on the primary broker meanwhile, so its receiver is started afresh, also
+        // without holding up pausing and resuming the source, as its processor stays held until switching back
+        JMSConnectorException error = null;
+        try {
+            primaryConnector.stop();
+            primaryConnector.start();
+        } catch (JMSConnectorException e) {
+            error = e;
+        }
+        synchronized (this) {
+            failingBack = false;
+            if (!stopped) {
+                if (error != null || primaryFailedWhileFailingBack) {
+                    close(connection);
+                    log.debug("The primary broker of the JMS source of stream: " + streamId + " is still "
+                            + "unavailable.", error);
+                    scheduleFailback();
+                    return;
+                }
+                monitorConnection = connection;
+                primaryActive = true;
+                apply();
+                log.info("Switched the JMS source of stream: " + streamId + " back to its primary broker.");
+                return;
+            }
+        }
+        // stopped while restarting the primary receiver, which left stopping it to this failback
+        close(connection);
+        try {
+            primaryConnector.stop();
+        } catch (JMSConnectorException e) {
+            log.error("Error disconnecting the primary JMS receiver", e);
+        }
+    }
+
+    private Connection openMonitorConnection() throws NamingException, JMSException {
+        Connection connection = JMSBrokerConnections.open(primaryProperties);
+        try {
+            connection.setExceptionListener(this::onPrimaryFailure);
+            connection.start();
+        } catch (JMSException e) {
+            connection.close();
+            throw e;
+        }
+        return connection;
+    }
+
+    private void close(Connection connection) {
+        try {
+            connection.close();
+        } catch (JMSException e) {
+            log.debug("Error while closing the connection monitoring the primary broker of the JMS source of "
+                    + "stream: " + streamId, e);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.source;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.jms.JMSException;
+import javax.jms.Message;
+
+/**
+ * Drops messages received by a JMS source while the app falls behind, so that the rest are still passed on in time.
+ * <p>
+ * The source is overloaded when more of its consumers than the given depth are in flight, that is passing a message
+ * on or waiting to, or when the time taken to pass an event on, averaged over the recent events, is above the given
+ * latency. While overloaded, the 'age' policy drops the messages sent longer ago than the maximum age, and the
+ * 'sample' policy keeps a random share of the messages. The 'age' policy also drops the expired messages at any
+ * time. The 'drop.oldest' policy is applied by the {@link JMSPriorityGate}, which holds the waiting messages.
+ */
+final class JMSLoadShedder {
+    // weight of the latest event in the average latency
+    private static final int LATENCY_SMOOTHING = 8;
+    private final Policy policy;
+    private final int depth;
+    private final long latencyNanos;
+    private final long maxAge;
+    private final double sampleRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private volatile long averageLatencyNanos;
+
+    /**
+     * Creates the shedder.
+     *
+     * @param policy      policy choosing the messages to drop.
+     * @param depth       number of consumers in flight above which the source is overloaded, or zero.
+     * @param latency     average time in milliseconds to pass an event on above which the source is overloaded, or
+     *                    zero.
+     * @param maxAge      age in milliseconds above which the 'age' policy drops messages.
+     * @param sampleRatio share of the messages the 'sample' policy keeps.
+     */
+    JMSLoadShedder(Policy policy, int depth, long latency, long maxAge, double sampleRatio) {
+        this.policy = policy;
+        this.depth = depth;
+        this.latencyNanos = TimeUnit.MILLISECONDS.toNanos(latency);
+        this.maxAge = maxAge;
+        this.sampleRatio = sampleRatio;
+    }
+
+    void enter() {
+        inFlight.incrementAndGet();
+    }
+
+    void exit() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Records the time taken to pass an event on.
+     *
+     * @param nanos time in nanoseconds.
+     */
+    void recordLatency(long nanos) {
+        // updates racing with each other lose a sample at most
+        long average = averageLatencyNanos;
+        averageLatencyNanos = average + (nanos - average) / LATENCY_SMOOTHING;
+    }
+
+    boolean isOverloaded() {
+        return (depth > 0 && inFlight.get() > depth)
+                || (latencyNanos > 0 && averageLatencyNanos > latencyNanos);
+    }
+
+    /**
+     * Tells whether a message is to be dropped.
+     *
+     * @param message received message.
+     * @return true if the message is to be dropped.
+     * @throws JMSException if the headers of the message cannot be read.
+     */
+    boolean shouldShed(Message message) throws JMSException {
+        switch (policy) {
+            case AGE: {
+                long now = System.currentTimeMillis();
+                long expiration = message.getJMSExpiration();
+                if (expiration > 0 && expiration < now) {
+                    return true;
+                }
+                long timestamp = message.getJMSTimestamp();
+                return timestamp > 0 && now - timestamp > maxAge && isOverloaded();
+            }
+            case SAMPLE:
+                return isOverloaded() && ThreadLocalRandom.current().nextDouble() >= sampleRatio;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Policy choosing the messages to drop.
+     */
+    enum Policy {
+        DROP_OLDEST("drop.oldest"), AGE("age"), SAMPLE("sample");
+
+        private final String name;
+
+        Policy(String name) {
+            this.name = name;
+        }
+
+        static Policy of(String name) {
+            for (Policy policy : values()) {
+                if (policy.name.equalsIgnoreCase(name)) {
+                    return policy;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+}
@@ -21,17 +21,34 @@ package io.siddhi.extension.io.jms.source;
 import io.siddhi.core.config.SiddhiAppContext;
 import io.siddhi.core.stream.input.source.SourceEventListener;
 import io.siddhi.extension.io.jms.source.exception.JMSInputAdaptorRuntimeException;
+import io.siddhi.extension.io.jms.util.JMSJournal;
+import io.siddhi.extension.io.jms.util.JMSOptionsMapper;
+import io.siddhi.extension.io.jms.util.JMSPayloadCodec;
+import io.siddhi.extension.io.jms.util.JMSRequestRegistry;
+import io.siddhi.extension.io.jms.util.JMSSourceMetrics;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.wso2.transport.jms.callback.JMSCallback;
 import org.wso2.transport.jms.contract.JMSListener;
 import org.wso2.transport.jms.exception.JMSConnectorException;
 import org.wso2.transport.jms.utils.JMSConstants;
 
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import javax.jms.BytesMessage;
 import javax.jms.Destination;
 import javax.jms.JMSException;
 import javax.jms.MapMessage;
@@ -44,23 +61,168 @@ import javax.jms.Topic;
  * This processes the JMS messages using a pausable thread pool.
  */
 public class JMSMessageProcessor implements JMSListener {
+    private static final Logger log = LogManager.getLogger(JMSMessageProcessor.class);
+    private static final ExecutorService REPLAYER = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "JMSMessageProcessor-replayer");
+        thread.setDaemon(true);
+        return thread;
+    });
     private SourceEventListener sourceEventListener;
     private boolean paused;
     private ReentrantLock lock;
     private Condition condition;
     private String[] requestedTransportPropertyNames;
+    private boolean requestReply;
+    private JMSJournal spillJournal;
+    private JMSRateLimiter rateLimiter;
+    private JMSPriorityGate priorityGate;
+    private JMSLoadShedder loadShedder;
+    private JMSSourceMetrics metrics;
+    private final Object spillLock = new Object();
+    private final Object replayLock = new Object();
+    private volatile boolean spilling;
+    private volatile boolean destroyed;
+    private final AtomicBoolean replayScheduled = new AtomicBoolean();
 
     public JMSMessageProcessor(SourceEventListener sourceEventListener, SiddhiAppContext
             executionPlanContext, String[] requestedTransportPropertyNames) {
+        this(sourceEventListener, executionPlanContext, requestedTransportPropertyNames, false);
+    }
+
+    public JMSMessageProcessor(SourceEventListener sourceEventListener, SiddhiAppContext
+            executionPlanContext, String[] requestedTransportPropertyNames, boolean requestReply) {
         this.sourceEventListener = sourceEventListener;
         lock = new ReentrantLock();
         condition = lock.newCondition();
         this.requestedTransportPropertyNames = requestedTransportPropertyNames;
+        this.requestReply = requestReply;
+    }
+
+    /**
+     * Has the processor keep receiving while paused, acknowledging the messages and appending their events to the
+     * given journal, which are replayed in order on resuming. The events recovered by the journal are replayed
+     * when the source connects. The journal is replayed on a thread of its own, so that resuming or connecting the
+     * source does not wait for up to the whole journal to be delivered, while the messages received meanwhile keep
+     * being spilled behind the replayed events.
+     *
+     * @param spillJournal journal of the events received while paused.
+     */
+    void setSpillJournal(JMSJournal spillJournal) {
+        this.spillJournal = spillJournal;
+        this.spilling = !spillJournal.isEmpty();
+    }
+
+    /**
+     * Limits the rate at which the processor passes events on, holding up the consumer threads meanwhile.
+     *
+     * @param rateLimiter token bucket, which may be shared with the other processors of the source.
+     */
+    void setRateLimiter(JMSRateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Has the consumers pass their messages on in the order of their priority when the app falls behind, shedding
+     * the lower priority messages when the gate says so.
+     *
+     * @param priorityGate gate ordering the consumers, which may be shared with the other processors of the source.
+     * @param metrics      counters recording the shed messages.
+     */
+    void setPriorityGate(JMSPriorityGate priorityGate, JMSSourceMetrics metrics) {
+        this.priorityGate = priorityGate;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Has the processor drop the messages chosen by the given shedder while the app falls behind.
+     *
+     * @param loadShedder shedder, which may be shared with the other processors of the source.
+     * @param metrics     counters recording the shed messages.
+     */
+    void setLoadShedder(JMSLoadShedder loadShedder, JMSSourceMetrics metrics) {
+        this.loadShedder = loadShedder;
+        this.metrics = metrics;
     }
 
     @Override
     public void onMessage(Message message, JMSCallback jmsCallback) {
-        if (paused) { //spurious wakeup condition is deliberately traded off for performance
+        if (loadShedder == null) {
+            admit(message, jmsCallback);
+            return;
+        }
+        loadShedder.enter();
+        try {
+            boolean shed;
+            try {
+                shed = loadShedder.shouldShed(message);
+            } catch (JMSException e) {
+                throw new JMSInputAdaptorRuntimeException("Failed to read the headers of the JMS message for the "
+                        + "stream: " + sourceEventListener.getStreamDefinition().getId(), e);
+            }
+            if (shed) {
+                shed("a stale or sampled out JMS message", jmsCallback);
+                return;
+            }
+            admit(message, jmsCallback);
+        } finally {
+            loadShedder.exit();
+        }
+    }
+
+    private void admit(Message message, JMSCallback jmsCallback) {
+        if (priorityGate == null) {
+            receive(message, jmsCallback);
+            return;
+        }
+        int priority;
+        try {
+            priority = priorityGate.priorityOf(message);
+        } catch (JMSException e) {
+            throw new JMSInputAdaptorRuntimeException("Failed to read the priority of the JMS message for the "
+                    + "stream: " + sourceEventListener.getStreamDefinition().getId(), e);
+        }
+        // a paused processor takes no turn, as the gate may be shared with a processor which is not paused
+        awaitUnpaused();
+        if (!priorityGate.enter(priority)) {
+            shed("a JMS message of priority " + priority, jmsCallback);
+            return;
+        }
+        try {
+            pass(message, jmsCallback);
+        } finally {
+            priorityGate.exit();
+        }
+    }
+
+    private void shed(String description, JMSCallback jmsCallback) {
+        metrics.shed();
+        if (log.isDebugEnabled()) {
+            log.debug("Shedding " + description + " received for the stream: "
+                    + sourceEventListener.getStreamDefinition().getId() + ", as the app is falling behind.");
+        }
+        if (jmsCallback != null) {
+            jmsCallback.done(true);
+        }
+    }
+
+    private void receive(Message message, JMSCallback jmsCallback) {
+        awaitUnpaused();
+        pass(message, jmsCallback);
+    }
+
+    private void pass(Message message, JMSCallback jmsCallback) {
+        if (spillJournal != null) {
+            spill(message, jmsCallback);
+            return;
+        }
+        process(message, jmsCallback, this::deliver);
+    }
+
+    /**
+     * Holds the consumer thread while the processor is paused, unless the paused messages are spilled instead.
+     */
+    private void awaitUnpaused() {
+        if (spillJournal == null && paused) { //spurious wakeup condition is deliberately traded off for performance
             lock.lock();
             try {
                 condition.await();
@@ -70,13 +232,43 @@ public class JMSMessageProcessor implements JMSListener {
                 lock.unlock();
             }
         }
+    }
+
+    /**
+     * Passes the events of a message to the given listener, acknowledging the message once they are all passed.
+     *
+     * @param message     received message.
+     * @param jmsCallback callback acknowledging the message, or null if it is acknowledged by the caller.
+     * @param listener    listener of the events and their transport properties.
+     */
+    private void process(Message message, JMSCallback jmsCallback, BiConsumer<Object, String[]> listener) {
         try {
-            if (message instanceof TextMessage) {
-                String[] transportProperties = populateTransportHeaders(message);
+            JMSRequestRegistry.PendingRequest request = null;
+            if (requestReply) {
+                request = JMSRequestRegistry.complete(message.getJMSCorrelationID());
+                if (request == null) {
+                    // the request has already timed out and is handled by the error handling of its sink
+                    if (log.isDebugEnabled()) {
+                        log.debug("Dropping the reply with the unknown correlation ID: "
+                                + message.getJMSCorrelationID() + " received for the stream: "
+                                + sourceEventListener.getStreamDefinition().getId());
+                    }
+                    if (jmsCallback != null) {
+                        jmsCallback.done(true);
+                    }
+                    return;
+                }
+            }
+            String frameFormat = message.getStringProperty(JMSOptionsMapper.FRAME_FORMAT_PROPERTY);
+            if (frameFormat != null && message instanceof BytesMessage) {
+                String[] transportProperties = populateTransportHeaders(message, request);
+                unpackFrame((BytesMessage) message, frameFormat, transportProperties, listener);
+            } else if (message instanceof TextMessage) {
+                String[] transportProperties = populateTransportHeaders(message, request);
                 String event = ((TextMessage) message).getText();
-                sourceEventListener.onEvent(event, transportProperties);
+                listener.accept(event, transportProperties);
             } else if (message instanceof MapMessage) {
-                String[] transportProperties = populateTransportHeaders(message);
+                String[] transportProperties = populateTransportHeaders(message, request);
                 Map<String, Object> event = new HashMap<>();
                 MapMessage mapEvent = (MapMessage) message;
                 Enumeration<String> mapNames = mapEvent.getMapNames();
@@ -84,10 +276,13 @@ public class JMSMessageProcessor implements JMSListener {
                     String key = mapNames.nextElement();
                     event.put(key, mapEvent.getObject(key));
                 }
-                sourceEventListener.onEvent(event, transportProperties);
-            } else if (message instanceof ByteBuffer) {
-                String[] transportProperties = populateTransportHeaders(message);
-                sourceEventListener.onEvent(message, transportProperties);
+                listener.accept(event, transportProperties);
+            } else if (message instanceof BytesMessage) {
+                String[] transportProperties = populateTransportHeaders(message, request);
+                BytesMessage bytesMessage = (BytesMessage) message;
+                byte[] event = new byte[(int) bytesMessage.getBodyLength()];
+                bytesMessage.readBytes(event);
+                listener.accept(ByteBuffer.wrap(event), transportProperties);
             } else {
                 throw new JMSInputAdaptorRuntimeException("The message type of the JMS message " + message.getClass()
                         + " is not supported!");
@@ -102,7 +297,50 @@ public class JMSMessageProcessor implements JMSListener {
         }
     }
 
-    private String[] populateTransportHeaders(Message message) throws JMSException, JMSConnectorException {
+    private void deliver(Object event, String[] transportProperties) {
+        if (rateLimiter != null) {
+            rateLimiter.acquire();
+        }
+        if (loadShedder == null) {
+            sourceEventListener.onEvent(event, transportProperties);
+            return;
+        }
+        long start = System.nanoTime();
+        sourceEventListener.onEvent(event, transportProperties);
+        loadShedder.recordLatency(System.nanoTime() - start);
+    }
+
+    /**
+     * Unpacks a message carrying a binary frame of events, published by a batching JMS sink, and passes each
+     * event to the source listener. Json frames are Text messages and are passed on as a single JSON array.
+     *
+     * @param message             message holding the frame.
+     * @param frameFormat         value of the frame format property.
+     * @param transportProperties transport properties shared by all the events of the frame.
+     * @param listener            listener of the events.
+     * @throws JMSException if the frame cannot be read.
+     */
+    private void unpackFrame(BytesMessage message, String frameFormat, String[] transportProperties,
+                             BiConsumer<Object, String[]> listener) throws JMSException {
+        boolean text = JMSOptionsMapper.FRAME_FORMAT_TEXT.equals(frameFormat);
+        if (!text && !JMSOptionsMapper.FRAME_FORMAT_BYTES.equals(frameFormat)) {
+            throw new JMSInputAdaptorRuntimeException("Unknown frame format '" + frameFormat + "' in the JMS "
+                    + "message received for the stream: " + sourceEventListener.getStreamDefinition().getId());
+        }
+        int count = message.readInt();
+        for (int i = 0; i < count; i++) {
+            byte[] event = new byte[message.readInt()];
+            message.readBytes(event);
+            if (text) {
+                listener.accept(new String(event, StandardCharsets.UTF_8), transportProperties);
+            } else {
+                listener.accept(ByteBuffer.wrap(event), transportProperties);
+            }
+        }
+    }
+
+    private String[] populateTransportHeaders(Message message, JMSRequestRegistry.PendingRequest request)
+            throws JMSException, JMSConnectorException {
         if (requestedTransportPropertyNames.length > 0) {
             //cannot be null according to siddhi impl
             String[] properties = new String[requestedTransportPropertyNames.length];
@@ -164,7 +402,12 @@ public class JMSMessageProcessor implements JMSListener {
                         break;
                     }
                     default: {
-                        if (message.getStringProperty(property) == null) {
+                        if (request != null && property.startsWith(JMSOptionsMapper.REQUEST_ATTRIBUTE_PREFIX)) {
+                            Object value = request.getAttribute(
+                                    property.substring(JMSOptionsMapper.REQUEST_ATTRIBUTE_PREFIX.length()));
+                            properties[i] = value == null ? null : String.valueOf(value);
+                            i++;
+                        } else if (message.getStringProperty(property) == null) {
                             throw new JMSInputAdaptorRuntimeException(String.format("Specified property: %s is "
                                     + "not available in the message", property));
                         }
@@ -206,6 +449,122 @@ public class JMSMessageProcessor implements JMSListener {
         }
     }
 
+    /**
+     * Receives a message while the spill journal is enabled. While the processor is paused, or the journal still
+     * holds events to replay, the events of the message are appended to the journal and the message acknowledged.
+     * Only when the journal is full does the message wait for the processor to resume, as it does without spilling.
+     */
+    private void spill(Message message, JMSCallback jmsCallback) {
+        if (!paused && !spilling) {
+            process(message, jmsCallback, this::deliver);
+            return;
+        }
+        List<byte[]> records = new ArrayList<>();
+        process(message, null, (event, transportProperties) -> {
+            try {
+                records.add(JMSPayloadCodec.encode(event, transportProperties));
+            } catch (IOException e) {
+                throw new JMSInputAdaptorRuntimeException("Failed to spill the JMS message for the stream: "
+                        + sourceEventListener.getStreamDefinition().getId(), e);
+            }
+        });
+        int spilled = 0;
+        try {
+            while (true) {
+                synchronized (spillLock) {
+                    if (!paused && !spilling) {
+                        break;
+                    }
+                    spilling = true;
+                    while (spilled < records.size() && spillJournal.append(records.get(spilled))) {
+                        spilled++;
+                    }
+                    if (spilled == records.size()) {
+                        break;
+                    }
+                }
+                awaitResume();
+            }
+            // the journal is replayed, so the rest of the events go through as usual
+            for (int i = spilled; i < records.size(); i++) {
+                JMSPayloadCodec.Record record = JMSPayloadCodec.decodeReceived(records.get(i));
+                deliver(record.getPayload(), record.getTransportProperties());
+            }
+            if (jmsCallback != null) {
+                jmsCallback.done(true);
+            }
+        } catch (IOException e) {
+            throw new JMSInputAdaptorRuntimeException("Failed to spill the JMS message for the stream: "
+                    + sourceEventListener.getStreamDefinition().getId(), e);
+        }
+    }
+
+    private void awaitResume() {
+        lock.lock();
+        try {
+            // bounded, as the resume may have signalled before this thread started waiting
+            condition.await(100, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replays the events spilled to the journal in the background, unless a replay is already pending.
+     */
+    void scheduleReplay() {
+        if (spillJournal == null || !spilling || !replayScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        REPLAYER.execute(() -> {
+            // a resume from now on schedules another replay, which waits for this one
+            replayScheduled.set(false);
+            try {
+                replay();
+            } catch (RuntimeException e) {
+                log.error("Error while replaying the spill journal of the stream: "
+                        + sourceEventListener.getStreamDefinition().getId() + ", retrying on resuming.", e);
+            }
+        });
+    }
+
+    /**
+     * Replays the events spilled to the journal, unless the processor is paused. New messages keep being spilled
+     * behind the replayed events until the journal is empty, preserving their order.
+     */
+    private void replay() {
+        synchronized (replayLock) {
+            while (true) {
+                byte[] record;
+                synchronized (spillLock) {
+                    if (paused || destroyed) {
+                        return;
+                    }
+                    record = spillJournal.peek();
+                    if (record == null) {
+                        spilling = false;
+                        return;
+                    }
+                }
+                try {
+                    JMSPayloadCodec.Record received = JMSPayloadCodec.decodeReceived(record);
+                    deliver(received.getPayload(), received.getTransportProperties());
+                } catch (IOException e) {
+                    log.error("Dropping an event of the spill journal of the stream: "
+                            + sourceEventListener.getStreamDefinition().getId() + ", which cannot be decoded.", e);
+                }
+                synchronized (spillLock) {
+                    if (destroyed) {
+                        return;
+                    }
+                    spillJournal.remove();
+                }
+            }
+        }
+    }
+
     void pause() {
         paused = true;
     }
@@ -218,11 +577,22 @@ public class JMSMessageProcessor implements JMSListener {
         } finally {
             lock.unlock();
         }
+        scheduleReplay();
     }
 
     void disconnect() {
     }
 
+    void destroy() {
+        if (spillJournal != null) {
+            // a replay in progress stops at its next event, without waiting for it here
+            synchronized (spillLock) {
+                destroyed = true;
+                spillJournal.close();
+            }
+        }
+    }
+
     @Override
     public void onError(Throwable throwable) {
     }
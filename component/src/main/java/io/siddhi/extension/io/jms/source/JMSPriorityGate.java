@@ -0,0 +1,194 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.source;
+
+import org.wso2.transport.jms.utils.JMSConstants;
+
+import java.util.Comparator;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.jms.JMSException;
+import javax.jms.Message;
+
+/**
+ * Orders the consumer threads of a JMS source passing their messages on by the priority of the messages.
+ * <p>
+ * Only a given number of consumers pass their messages on at once. When they are all busy, which is when the app
+ * falls behind, the other consumers wait, and the consumer holding the message of the highest priority goes next,
+ * in arrival order among equal priorities. Messages below the high priority threshold are shed instead of waiting
+ * when too many consumers are waiting already, so that the high priority messages do not queue behind them. When
+ * shedding the oldest, the message waiting the longest among those of the lowest priority is shed instead, and the
+ * arriving message waits in its place, so that the messages passed on are the freshest.
+ */
+final class JMSPriorityGate {
+    /**
+     * Priority of the messages without a priority, the default priority of JMS.
+     */
+    static final int DEFAULT_PRIORITY = 4;
+    private final String priorityProperty;
+    private final int highPriority;
+    private final int shedDepth;
+    private final boolean shedOldest;
+    private final ReentrantLock lock = new ReentrantLock();
+    // the highest priority first, then the earliest
+    private final PriorityQueue<Waiter> waiters = new PriorityQueue<>(
+            Comparator.comparingInt((Waiter waiter) -> -waiter.priority).thenComparingLong(waiter -> waiter.sequence));
+    private int available;
+    private long sequence;
+
+    /**
+     * Creates the gate.
+     *
+     * @param priorityProperty message property holding the priority, JMSPriority for the JMS priority, or null to
+     *                         give all the messages the default priority, passing them on in arrival order.
+     * @param highPriority     lowest priority which is never shed.
+     * @param concurrency      number of consumers passing their messages on at once.
+     * @param shedDepth        number of waiting consumers from which lower priority messages are shed, or zero to
+     *                         never shed.
+     * @param shedOldest       whether to shed the oldest waiting message of the lowest priority rather than the
+     *                         arriving one.
+     */
+    JMSPriorityGate(String priorityProperty, int highPriority, int concurrency, int shedDepth, boolean shedOldest) {
+        this.priorityProperty = priorityProperty;
+        this.highPriority = highPriority;
+        this.available = concurrency;
+        this.shedDepth = shedDepth;
+        this.shedOldest = shedOldest;
+    }
+
+    /**
+     * Reads the priority of a message.
+     *
+     * @param message received message.
+     * @return the priority, or {@link #DEFAULT_PRIORITY} if the message has none.
+     * @throws JMSException if the priority cannot be read.
+     */
+    int priorityOf(Message message) throws JMSException {
+        if (priorityProperty == null) {
+            return DEFAULT_PRIORITY;
+        }
+        if (JMSConstants.JMS_PRIORITY.equals(priorityProperty)) {
+            return message.getJMSPriority();
+        }
+        Object priority = message.getObjectProperty(priorityProperty);
+        if (priority instanceof Number) {
+            return ((Number) priority).intValue();
+        }
+        try {
+            return priority == null ? DEFAULT_PRIORITY : Integer.parseInt(priority.toString().trim());
+        } catch (NumberFormatException e) {
+            return DEFAULT_PRIORITY;
+        }
+    }
+
+    boolean isHighPriority(int priority) {
+        return priority >= highPriority;
+    }
+
+    /**
+     * Waits for the turn of a message.
+     *
+     * @param priority priority of the message.
+     * @return false if the message is to be shed, on arriving or while waiting, in which case the caller does not
+     * exit the gate.
+     */
+    boolean enter(int priority) {
+        lock.lock();
+        try {
+            if (available > 0 && waiters.isEmpty()) {
+                available--;
+                return true;
+            }
+            if (shedDepth > 0 && waiters.size() >= shedDepth) {
+                Waiter oldest = shedOldest ? oldestOfLowestPriority() : null;
+                if (oldest != null && oldest.priority <= priority) {
+                    waiters.remove(oldest);
+                    oldest.shed = true;
+                    oldest.turn.signal();
+                } else if (!isHighPriority(priority)) {
+                    return false;
+                }
+            }
+            Waiter waiter = new Waiter(priority, sequence++, lock.newCondition());
+            waiters.add(waiter);
+            while (!waiter.granted && !waiter.shed) {
+                waiter.turn.awaitUninterruptibly();
+            }
+            return waiter.granted;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Hands the turn over to the waiting message of the highest priority, once a message is passed on.
+     */
+    void exit() {
+        lock.lock();
+        try {
+            Waiter next = waiters.poll();
+            if (next == null) {
+                available++;
+            } else {
+                next.granted = true;
+                next.turn.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private Waiter oldestOfLowestPriority() {
+        Waiter oldest = null;
+        for (Waiter waiter : waiters) {
+            if (!isHighPriority(waiter.priority) && (oldest == null || waiter.priority < oldest.priority
+                    || (waiter.priority == oldest.priority && waiter.sequence < oldest.sequence))) {
+                oldest = waiter;
+            }
+        }
+        return oldest;
+    }
+
+    int getWaiting() {
+        lock.lock();
+        try {
+            return waiters.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Consumer waiting for the turn of its message.
+     */
+    private static final class Waiter {
+        private final int priority;
+        private final long sequence;
+        private final Condition turn;
+        private boolean granted;
+        private boolean shed;
+
+        private Waiter(int priority, long sequence, Condition turn) {
+            this.priority = priority;
+            this.sequence = sequence;
+            this.turn = turn;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.source;
+
+import io.siddhi.extension.io.jms.util.JMSSourceMetrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Token bucket limiting the rate at which a JMS source passes events on, shared by all of its consumer threads.
+ * <p>
+ * The bucket is kept as the time at which it will be full again, which each event moves forward by the interval
+ * of one token with a compare and set, so the threads never block each other. An event taking a token the bucket
+ * does not have yet parks its thread until the token is due, holding up its consumer instead of buffering.
+ */
+final class JMSRateLimiter {
+    private final long tokenNanos;
+    private final long burstNanos;
+    private final JMSSourceMetrics metrics;
+    private final AtomicLong fullAt;
+
+    /**
+     * Creates a full bucket.
+     *
+     * @param rate    events per second.
+     * @param burst   number of events which can pass without waiting, after a quiet period.
+     * @param metrics counters recording the time the events waited for.
+     */
+    JMSRateLimiter(double rate, long burst, JMSSourceMetrics metrics) {
+        this.tokenNanos = Math.max(1, (long) (1_000_000_000L / rate));
+        this.burstNanos = tokenNanos * burst;
+        this.metrics = metrics;
+        this.fullAt = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Takes a token for an event, waiting until it is due.
+     */
+    void acquire() {
+        long now = System.nanoTime();
+        long dueAt;
+        while (true) {
+            long current = fullAt.get();
+            // a bucket full for a while holds no more than the burst
+            long next = Math.max(current, now) + tokenNanos;
+            if (fullAt.compareAndSet(current, next)) {
+                // the token is due once the bucket is less than the burst away from being full
+                dueAt = next - burstNanos;
+                break;
+            }
+        }
+        long waitNanos = dueAt - now;
+        if (waitNanos <= 0) {
+            return;
+        }
+        long remaining = waitNanos;
+        while (remaining > 0 && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(this, remaining);
+            remaining = dueAt - System.nanoTime();
+        }
+        metrics.rateLimited(waitNanos);
+    }
+}
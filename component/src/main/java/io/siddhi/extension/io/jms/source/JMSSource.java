@@ -24,6 +24,7 @@ import io.siddhi.annotation.Parameter;
 import io.siddhi.annotation.util.DataType;
 import io.siddhi.core.config.SiddhiAppContext;
 import io.siddhi.core.exception.ConnectionUnavailableException;
+import io.siddhi.core.exception.SiddhiAppCreationException;
 import io.siddhi.core.stream.ServiceDeploymentInfo;
 import io.siddhi.core.stream.input.source.Source;
 import io.siddhi.core.stream.input.source.SourceEventListener;
@@ -32,16 +33,25 @@ import io.siddhi.core.util.snapshot.state.State;
 import io.siddhi.core.util.snapshot.state.StateFactory;
 import io.siddhi.core.util.transport.OptionHolder;
 import io.siddhi.extension.io.jms.source.exception.JMSInputAdaptorRuntimeException;
+import io.siddhi.extension.io.jms.util.JMSConnectionStatus;
+import io.siddhi.extension.io.jms.util.JMSJndiCache;
+import io.siddhi.extension.io.jms.util.JMSJournal;
 import io.siddhi.extension.io.jms.util.JMSOptionsMapper;
+import io.siddhi.extension.io.jms.util.JMSSourceMetrics;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.wso2.transport.jms.contract.JMSServerConnector;
 import org.wso2.transport.jms.exception.JMSConnectorException;
 import org.wso2.transport.jms.receiver.JMSServerConnectorImpl;
+import org.wso2.transport.jms.utils.JMSConstants;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Future;
 
 /**
  * JMS Source implementation.
@@ -50,7 +60,8 @@ import java.util.Map;
         name = "jms",
         namespace = "source",
         description = "JMS Source allows users to subscribe to a JMS broker and receive JMS messages. It has the "
-                + "ability to receive Map messages and Text messages.",
+                + "ability to receive Map messages, Text messages and Bytes messages. Messages published by a "
+                + "batching JMS sink are unpacked into individual events.",
         parameters = {
                 @Parameter(name = JMSOptionsMapper.DESTINATION,
                         description = "Queue/Topic name which JMS Source should subscribe to",
@@ -119,7 +130,191 @@ import java.util.Map;
                         description = "Connection factory nature for the broker.",
                         type = DataType.STRING,
                         optional = true,
-                        defaultValue = "default")
+                        defaultValue = "default"),
+                @Parameter(name = JMSOptionsMapper.REQUEST_REPLY,
+                        description = "Enables receiving the replies to the requests sent by a JMS sink with "
+                                + "'reply.to' set to this destination. Each reply completes its pending request, "
+                                + "whose attributes are available as the transport properties "
+                                + "'request.<attribute name>', while replies to unknown or timed out requests are "
+                                + "dropped.",
+                        type = DataType.BOOL,
+                        optional = true,
+                        defaultValue = "false"),
+                @Parameter(name = JMSOptionsMapper.JNDI_CACHE_TTL,
+                        description = "Time in milliseconds the connection factory and destination looked up "
+                                + "through JNDI are cached for, shared by all the JMS sources and sinks of the JVM "
+                                + "with the same JNDI options. The lookups start in the background when the app is "
+                                + "created, and are repeated when connecting fails. When '0', every connection "
+                                + "looks them up again.",
+                        type = DataType.LONG,
+                        optional = true,
+                        defaultValue = "0"),
+                @Parameter(name = JMSOptionsMapper.CONNECT_ASYNC,
+                        description = "Connects to the broker in the background, so that starting the Siddhi app "
+                                + "does not wait for the broker. The connections of all the apps started at once "
+                                + "are made in parallel, failed attempts are retried as usual, and the progress "
+                                + "is reported by JMSConnectionStatus, e.g. JMSConnectionStatus.isReady(appName).",
+                        type = DataType.BOOL,
+                        optional = true,
+                        defaultValue = "false"),
+                @Parameter(name = JMSOptionsMapper.FAILOVER_PROVIDER_URL,
+                        description = "Provider URL of a standby broker. When given, the source also connects to "
+                                + "the standby broker, creating its sessions and consumers up front but holding "
+                                + "its messages, and switches over to it as soon as the connection to the primary "
+                                + "broker fails. The rest of the options are the same for both brokers.",
+                        type = DataType.STRING,
+                        optional = true,
+                        defaultValue = "None"),
+                @Parameter(name = JMSOptionsMapper.FAILOVER_FAILBACK_INTERVAL,
+                        description = "Interval in milliseconds at which the primary broker is probed after failing "
+                                + "over, switching back to it once it is available, and at which connecting to "
+                                + "the standby broker is retried.",
+                        type = DataType.LONG,
+                        optional = true,
+                        defaultValue = "10000"),
+                @Parameter(name = JMSOptionsMapper.AUTOSCALE_MAX_WORKERS,
+                        description = "Maximum number of consumers of the queue. When given, instead of the fixed "
+                                + "'worker.count', the source samples the backlog of the queue by browsing it, and "
+                                + "adds consumers to keep up with it, removing them one at a time once they are idle "
+                                + "and the backlog is gone. Only applies to queues.",
+                        type = DataType.INT,
+                        optional = true,
+                        defaultValue = "None"),
+                @Parameter(name = JMSOptionsMapper.AUTOSCALE_MIN_WORKERS,
+                        description = "Minimum number of consumers of the queue, kept when it is empty.",
+                        type = DataType.INT,
+                        optional = true,
+                        defaultValue = "1"),
+                @Parameter(name = JMSOptionsMapper.AUTOSCALE_BACKLOG_PER_WORKER,
+                        description = "Number of messages waiting on the queue, for which a consumer is added.",
+                        type = DataType.INT,
+                        optional = true,
+                        defaultValue = "100"),
+                @Parameter(name = JMSOptionsMapper.AUTOSCALE_INTERVAL,
+                        description = "Interval in milliseconds at which the backlog of the queue is sampled.",
+                        type = DataType.LONG,
+                        optional = true,
+                        defaultValue = "5000"),
+                @Parameter(name = JMSOptionsMapper.AUTOSCALE_IDLE_TIMEOUT,
+                        description = "Time in milliseconds a consumer must receive nothing for, before it is "
+                                + "removed.",
+                        type = DataType.LONG,
+                        optional = true,
+                        defaultValue = "30000"),
+                @Parameter(name = JMSOptionsMapper.SPILL_PATH,
+                        description = "Directory of a local journal the events received while the source is paused "
+                                + "are spilled to. When set, a paused source keeps acknowledging the messages, "
+                                + "so that a slow app does not hold messages unacknowledged on the broker, and "
+                                + "appends their events to memory mapped segment files under "
+                                + "'<spill.path>/<siddhi app name>/<stream id>'. The events are replayed in order "
+                                + "when the source resumes, and the messages only wait for it when the journal is "
+                                + "full. When not set, the messages wait for the source to resume.",
+                        type = DataType.STRING,
+                        optional = true,
+                        defaultValue = "none"),
+                @Parameter(name = JMSOptionsMapper.SPILL_SEGMENT_SIZE,
+                        description = "Size in bytes of each spill journal segment file.",
+                        type = DataType.INT,
+                        optional = true,
+                        defaultValue = "16777216"),
+                @Parameter(name = JMSOptionsMapper.SPILL_MAX_SIZE,
+                        description = "Maximum total size in bytes of the spill journal segment files.",
+                        type = DataType.LONG,
+                        optional = true,
+                        defaultValue = "1073741824"),
+                @Parameter(name = JMSOptionsMapper.RATE_LIMIT,
+                        description = "Maximum number of events per second the source passes on, shared by all of "
+                                + "its consumers. The consumers wait for their turn rather than buffering the "
+                                + "events, so that the queue is left on the broker, and the time they wait is "
+                                + "reported by JMSSourceMetrics, e.g. JMSSourceMetrics.getMetrics(appName). When "
+                                + "not set, the rate is not limited.",
+                        type = DataType.DOUBLE,
+                        optional = true,
+                        defaultValue = "none"),
+                @Parameter(name = JMSOptionsMapper.RATE_BURST,
+                        description = "Number of events the source passes on without waiting after a quiet period, "
+                                + "when 'rate.limit' is set.",
+                        type = DataType.LONG,
+                        optional = true,
+                        defaultValue = "one second of events at the rate.limit"),
+                @Parameter(name = JMSOptionsMapper.PRIORITY_LANES,
+                        description = "Passes the messages on in the order of their priority when the app falls "
+                                + "behind. Only 'priority.concurrency' consumers pass their messages on at once, "
+                                + "while the others wait, and the one holding the message of the highest priority "
+                                + "goes next, so 'worker.count' should be greater than 'priority.concurrency'. "
+                                + "The number of shed messages is reported by JMSSourceMetrics.",
+                        type = DataType.BOOL,
+                        optional = true,
+                        defaultValue = "false"),
+                @Parameter(name = JMSOptionsMapper.PRIORITY_PROPERTY,
+                        description = "Message property holding the priority of the messages, as a number. "
+                                + "Messages without it have the default JMS priority 4.",
+                        type = DataType.STRING,
+                        optional = true,
+                        defaultValue = "JMSPriority"),
+                @Parameter(name = JMSOptionsMapper.PRIORITY_THRESHOLD,
+                        description = "Lowest priority of the high priority messages, which are never shed.",
+                        type = DataType.INT,
+                        optional = true,
+                        defaultValue = "5"),
+                @Parameter(name = JMSOptionsMapper.PRIORITY_CONCURRENCY,
+                        description = "Number of consumers passing their messages on at once.",
+                        type = DataType.INT,
+                        optional = true,
+                        defaultValue = "1"),
+                @Parameter(name = JMSOptionsMapper.PRIORITY_SHED_DEPTH,
+                        description = "Number of waiting consumers from which the messages below the "
+                                + "'priority.threshold' are shed, that is acknowledged and dropped, instead of "
+                                + "waiting. When '0', no message is shed.",
+                        type = DataType.INT,
+                        optional = true,
+                        defaultValue = "0"),
+                @Parameter(name = JMSOptionsMapper.SHED_POLICY,
+                        description = "Sheds messages, that is acknowledges and drops them, when the app falls "
+                                + "behind, so that the rest are passed on in time. 'drop.oldest' has only "
+                                + "'shed.concurrency' consumers, or 'priority.concurrency' ones with priority lanes, "
+                                + "pass their messages on at once, and sheds the message waiting the longest when "
+                                + "'shed.depth' consumers are waiting. 'age' sheds the expired messages, and the "
+                                + "messages sent more than 'shed.max.age' ago while the source is overloaded. "
+                                + "'sample' keeps only a 'shed.sample.ratio' share of the messages while the source "
+                                + "is overloaded. The number of shed messages is reported by JMSSourceMetrics. When "
+                                + "not set, no message is shed.",
+                        type = DataType.STRING,
+                        optional = true,
+                        defaultValue = "none"),
+                @Parameter(name = JMSOptionsMapper.SHED_DEPTH,
+                        description = "Number of waiting consumers from which 'drop.oldest' sheds messages, or "
+                                + "number of consumers passing their messages on or waiting to, above which the "
+                                + "source is overloaded for 'age' and 'sample'. When '0', the depth is not "
+                                + "watched.",
+                        type = DataType.INT,
+                        optional = true,
+                        defaultValue = "0"),
+                @Parameter(name = JMSOptionsMapper.SHED_LATENCY,
+                        description = "Time in milliseconds to pass an event on, averaged over the recent events, "
+                                + "above which the source is overloaded for 'age' and 'sample'. When '0', the "
+                                + "latency is not watched.",
+                        type = DataType.LONG,
+                        optional = true,
+                        defaultValue = "0"),
+                @Parameter(name = JMSOptionsMapper.SHED_MAX_AGE,
+                        description = "Time in milliseconds since a message was sent, from its JMSTimestamp, "
+                                + "above which 'age' sheds it while the source is overloaded.",
+                        type = DataType.LONG,
+                        optional = true,
+                        defaultValue = "5000"),
+                @Parameter(name = JMSOptionsMapper.SHED_SAMPLE_RATIO,
+                        description = "Share of the messages, between 0 and 1, 'sample' keeps while the source is "
+                                + "overloaded.",
+                        type = DataType.DOUBLE,
+                        optional = true,
+                        defaultValue = "0.5"),
+                @Parameter(name = JMSOptionsMapper.SHED_CONCURRENCY,
+                        description = "Number of consumers passing their messages on at once with 'drop.oldest', "
+                                + "when 'priority.lanes' is not enabled.",
+                        type = DataType.INT,
+                        optional = true,
+                        defaultValue = "1")
         },
         examples = {
                 @Example(description = "This example shows how to connect to an ActiveMQ topic and "
@@ -139,7 +334,60 @@ import java.util.Map;
                                 + "provider.url='tcp://localhost:61616',"
                                 + "destination='DAS_JMS_TEST' "
                                 + ")\n" +
-                                "define stream inputStream (name string, age int, country string);")
+                                "define stream inputStream (name string, age int, country string);"),
+                @Example(description = "This example shows how to receive the replies to the requests sent by a "
+                        + "JMS sink with reply.to='ENRICHMENT_REPLY', joining each reply with the 'name' "
+                        + "attribute of its request.",
+                        syntax = "@source(type='jms', @map(type='json', @attributes(name='trp:request.name', "
+                                + "score='$.score')), "
+                                + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                                + "provider.url='tcp://localhost:61616',"
+                                + "destination='ENRICHMENT_REPLY', request.reply='true'"
+                                + ")\n" +
+                                "define stream enrichedStream (name string, score double);"),
+                @Example(description = "This example shows how to receive messages from an ActiveMQ queue on a "
+                        + "primary broker, switching over to a warm standby broker when the primary fails, and back "
+                        + "within 30 seconds of it recovering.",
+                        syntax = "@source(type='jms', @map(type='json'), "
+                                + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                                + "provider.url='tcp://primary:61616',"
+                                + "failover.provider.url='tcp://standby:61616',"
+                                + "failover.failback.interval='30000',"
+                                + "destination='DAS_JMS_TEST' "
+                                + ")\n" +
+                                "define stream inputStream (name string, age int, country string);"),
+                @Example(description = "This example shows how to receive messages from an ActiveMQ queue with "
+                        + "between 2 and 16 consumers, adding one for every 500 messages waiting on the queue.",
+                        syntax = "@source(type='jms', @map(type='json'), "
+                                + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                                + "provider.url='tcp://localhost:61616',"
+                                + "destination='DAS_JMS_TEST', "
+                                + "autoscale.min.workers='2', autoscale.max.workers='16', "
+                                + "autoscale.backlog.per.worker='500'"
+                                + ")\n" +
+                                "define stream inputStream (name string, age int, country string);"),
+                @Example(description = "This example shows how to receive alerts ahead of the bulk messages of "
+                        + "the same queue when the app falls behind, with 8 consumers of which one passes its "
+                        + "message on at a time, shedding the messages of a priority below 7 while 4 consumers "
+                        + "are waiting.",
+                        syntax = "@source(type='jms', @map(type='json'), "
+                                + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                                + "provider.url='tcp://localhost:61616',"
+                                + "destination='ALERTS', worker.count='8', "
+                                + "priority.lanes='true', priority.threshold='7', priority.shed.depth='4'"
+                                + ")\n" +
+                                "define stream alertStream (name string, severity int);"),
+                @Example(description = "This example shows how to feed a dashboard from an ActiveMQ topic, "
+                        + "shedding the messages sent more than 2 seconds ago whenever passing an event on takes "
+                        + "more than 50 milliseconds on average.",
+                        syntax = "@source(type='jms', @map(type='json'), "
+                                + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                                + "provider.url='tcp://localhost:61616',"
+                                + "destination='DASHBOARD', connection.factory.type='topic',"
+                                + "connection.factory.jndi.name='TopicConnectionFactory', "
+                                + "shed.policy='age', shed.latency='50', shed.max.age='2000'"
+                                + ")\n" +
+                                "define stream dashboardStream (name string, value double);")
         }
 )
 public class JMSSource extends Source {
@@ -148,6 +396,20 @@ public class JMSSource extends Source {
     private OptionHolder optionHolder;
     private JMSServerConnector jmsServerConnector;
     private JMSMessageProcessor jmsMessageProcessor;
+    private Map<String, String> jmsProperties;
+    private JMSFailoverController failoverController;
+    private JMSConsumerAutoscaler consumerAutoscaler;
+    private boolean connectAsync;
+    private JMSConnectionStatus connectionStatus;
+    private JMSSourceMetrics metrics;
+    private JMSRateLimiter rateLimiter;
+    private JMSPriorityGate priorityGate;
+    private JMSLoadShedder loadShedder;
+    private final Object connectLock = new Object();
+    private Future<?> pendingConnect;
+    private boolean disconnected;
+    // a connection attempt is in progress, which stops the receivers itself if the source is disconnected meanwhile
+    private boolean connecting;
 
     @Override
     public StateFactory init(SourceEventListener sourceEventListener, OptionHolder optionHolder,
@@ -156,9 +418,44 @@ public class JMSSource extends Source {
         this.sourceEventListener = sourceEventListener;
         this.optionHolder = optionHolder;
         Map<String, String> properties = initJMSProperties();
+        long jndiCacheTtl = Long.parseLong(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.JNDI_CACHE_TTL, "0"));
+        if (jndiCacheTtl < 0) {
+            throw new SiddhiAppCreationException("Invalid value for the " + JMSOptionsMapper.JNDI_CACHE_TTL
+                    + " option of the JMS source of stream: " + sourceEventListener.getStreamDefinition().getId()
+                    + ". It should not be negative.");
+        } else if (jndiCacheTtl > 0) {
+            JMSJndiCache.enable(properties, jndiCacheTtl);
+            JMSJndiCache.warm(properties, properties.get(JMSConstants.PARAM_CONNECTION_FACTORY_JNDI_NAME),
+                    properties.get(JMSConstants.PARAM_DESTINATION_NAME));
+        }
+        this.jmsProperties = properties;
+        this.connectAsync = Boolean.parseBoolean(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.CONNECT_ASYNC, "false"));
+        this.connectionStatus = JMSConnectionStatus.register(siddhiAppContext.getName(),
+                "JMS source of stream: " + sourceEventListener.getStreamDefinition().getId());
 
+        boolean requestReply = Boolean.parseBoolean(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.REQUEST_REPLY, "false"));
         jmsMessageProcessor = new JMSMessageProcessor(sourceEventListener, siddhiAppContext,
-                requestedTransportPropertyNames);
+                requestedTransportPropertyNames, requestReply);
+        this.metrics = JMSSourceMetrics.register(siddhiAppContext.getName(),
+                sourceEventListener.getStreamDefinition().getId());
+        this.rateLimiter = initRateLimiter();
+        jmsMessageProcessor.setRateLimiter(rateLimiter);
+        this.priorityGate = initPriorityGate();
+        if (priorityGate != null) {
+            jmsMessageProcessor.setPriorityGate(priorityGate, metrics);
+        }
+        this.loadShedder = initLoadShedder();
+        if (loadShedder != null) {
+            jmsMessageProcessor.setLoadShedder(loadShedder, metrics);
+        }
+        initSpillJournal(siddhiAppContext.getName());
+        if (optionHolder.isOptionExists(JMSOptionsMapper.AUTOSCALE_MAX_WORKERS)) {
+            initAutoscaling(properties, siddhiAppContext);
+            return null;
+        }
         try {
             jmsServerConnector = new JMSServerConnectorImpl(null, properties, jmsMessageProcessor);
         } catch (JMSConnectorException e) {
@@ -167,19 +464,292 @@ public class JMSSource extends Source {
             throw new JMSInputAdaptorRuntimeException("Error occurred in initializing the JMS receiver for stream: " +
                     sourceEventListener.getStreamDefinition().getId(), e);
         }
+        String failoverUrl = optionHolder.validateAndGetStaticValue(JMSOptionsMapper.FAILOVER_PROVIDER_URL, null);
+        if (failoverUrl != null) {
+            initFailover(failoverUrl, properties, siddhiAppContext, requestedTransportPropertyNames, requestReply);
+        }
         return null;
     }
 
+    private void initFailover(String failoverUrl, Map<String, String> properties, SiddhiAppContext siddhiAppContext,
+                              String[] requestedTransportPropertyNames, boolean requestReply) {
+        String streamId = sourceEventListener.getStreamDefinition().getId();
+        long failbackInterval = Long.parseLong(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.FAILOVER_FAILBACK_INTERVAL, "10000"));
+        if (failbackInterval <= 0) {
+            throw new SiddhiAppCreationException("Invalid value for the " + JMSOptionsMapper.FAILOVER_FAILBACK_INTERVAL
+                    + " option of the JMS source of stream: " + streamId + ". It should be greater than zero.");
+        }
+        Map<String, String> standbyProperties = new HashMap<>(properties);
+        standbyProperties.put(JMSConstants.PARAM_PROVIDER_URL, failoverUrl);
+        JMSMessageProcessor standbyProcessor = new JMSMessageProcessor(sourceEventListener, siddhiAppContext,
+                requestedTransportPropertyNames, requestReply);
+        standbyProcessor.setRateLimiter(rateLimiter);
+        if (priorityGate != null) {
+            standbyProcessor.setPriorityGate(priorityGate, metrics);
+        }
+        if (loadShedder != null) {
+            standbyProcessor.setLoadShedder(loadShedder, metrics);
+        }
+        JMSServerConnector standbyConnector;
+        try {
+            standbyConnector = new JMSServerConnectorImpl(null, standbyProperties, standbyProcessor);
+        } catch (JMSConnectorException e) {
+            throw new JMSInputAdaptorRuntimeException("Error occurred in initializing the standby JMS receiver for "
+                    + "stream: " + streamId, e);
+        }
+        failoverController = new JMSFailoverController(streamId, jmsServerConnector, jmsMessageProcessor,
+                properties, standbyConnector, standbyProcessor, failoverUrl, failbackInterval,
+                siddhiAppContext.getScheduledExecutorService());
+    }
+
+    private JMSRateLimiter initRateLimiter() {
+        String rateLimit = optionHolder.validateAndGetStaticValue(JMSOptionsMapper.RATE_LIMIT, null);
+        if (rateLimit == null) {
+            return null;
+        }
+        double rate = Double.parseDouble(rateLimit);
+        long burst = Long.parseLong(optionHolder.validateAndGetStaticValue(JMSOptionsMapper.RATE_BURST,
+                String.valueOf(Math.max(1, (long) Math.ceil(rate)))));
+        if (!(rate > 0) || burst <= 0) {
+            throw new SiddhiAppCreationException("Invalid rate limit for the JMS source of stream: "
+                    + sourceEventListener.getStreamDefinition().getId() + ". " + JMSOptionsMapper.RATE_LIMIT
+                    + " and " + JMSOptionsMapper.RATE_BURST + " should be positive.");
+        }
+        return new JMSRateLimiter(rate, burst, metrics);
+    }
+
+    private JMSPriorityGate initPriorityGate() {
+        String streamId = sourceEventListener.getStreamDefinition().getId();
+        boolean priorityLanes = Boolean.parseBoolean(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.PRIORITY_LANES, "false"));
+        boolean shedOldest = getShedPolicy() == JMSLoadShedder.Policy.DROP_OLDEST;
+        if (!priorityLanes && !shedOldest) {
+            return null;
+        }
+        int shedDepth;
+        if (shedOldest) {
+            shedDepth = Integer.parseInt(optionHolder.validateAndGetStaticValue(JMSOptionsMapper.SHED_DEPTH, "0"));
+            if (shedDepth <= 0) {
+                throw new SiddhiAppCreationException("Invalid load shedding configuration for the JMS source of "
+                        + "stream: " + streamId + ". " + JMSOptionsMapper.SHED_DEPTH + " should be positive with "
+                        + JMSOptionsMapper.SHED_POLICY + " '" + JMSLoadShedder.Policy.DROP_OLDEST + "'.");
+            }
+            if (optionHolder.isOptionExists(JMSOptionsMapper.SHED_LATENCY)
+                    || optionHolder.isOptionExists(JMSOptionsMapper.PRIORITY_SHED_DEPTH)) {
+                throw new SiddhiAppCreationException("Invalid load shedding configuration for the JMS source of "
+                        + "stream: " + streamId + ". " + JMSOptionsMapper.SHED_POLICY + " '"
+                        + JMSLoadShedder.Policy.DROP_OLDEST + "' sheds on " + JMSOptionsMapper.SHED_DEPTH
+                        + " only, and cannot be used with " + JMSOptionsMapper.SHED_LATENCY + " or "
+                        + JMSOptionsMapper.PRIORITY_SHED_DEPTH + ".");
+            }
+            if (!priorityLanes) {
+                int concurrency = Integer.parseInt(optionHolder.validateAndGetStaticValue(
+                        JMSOptionsMapper.SHED_CONCURRENCY, "1"));
+                if (concurrency <= 0) {
+                    throw new SiddhiAppCreationException("Invalid load shedding configuration for the JMS source "
+                            + "of stream: " + streamId + ". " + JMSOptionsMapper.SHED_CONCURRENCY
+                            + " should be positive.");
+                }
+                // a single lane in arrival order, where any message may be shed
+                return new JMSPriorityGate(null, Integer.MAX_VALUE, concurrency, shedDepth, true);
+            }
+        } else {
+            shedDepth = Integer.parseInt(optionHolder.validateAndGetStaticValue(
+                    JMSOptionsMapper.PRIORITY_SHED_DEPTH, "0"));
+        }
+        String priorityProperty = optionHolder.validateAndGetStaticValue(JMSOptionsMapper.PRIORITY_PROPERTY,
+                JMSConstants.JMS_PRIORITY);
+        int threshold = Integer.parseInt(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.PRIORITY_THRESHOLD, "5"));
+        int concurrency = Integer.parseInt(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.PRIORITY_CONCURRENCY, "1"));
+        if (concurrency <= 0 || shedDepth < 0) {
+            throw new SiddhiAppCreationException("Invalid priority lanes configuration for the JMS source of "
+                    + "stream: " + streamId + ". " + JMSOptionsMapper.PRIORITY_CONCURRENCY + " should be positive "
+                    + "and " + JMSOptionsMapper.PRIORITY_SHED_DEPTH + " should not be negative.");
+        }
+        return new JMSPriorityGate(priorityProperty, threshold, concurrency, shedDepth, shedOldest);
+    }
+
+    private JMSLoadShedder initLoadShedder() {
+        JMSLoadShedder.Policy policy = getShedPolicy();
+        if (policy == null || policy == JMSLoadShedder.Policy.DROP_OLDEST) {
+            // drop.oldest is applied by the priority gate, which holds the waiting messages
+            return null;
+        }
+        int depth = Integer.parseInt(optionHolder.validateAndGetStaticValue(JMSOptionsMapper.SHED_DEPTH, "0"));
+        long latency = Long.parseLong(optionHolder.validateAndGetStaticValue(JMSOptionsMapper.SHED_LATENCY, "0"));
+        long maxAge = Long.parseLong(optionHolder.validateAndGetStaticValue(JMSOptionsMapper.SHED_MAX_AGE,
+                "5000"));
+        double sampleRatio = Double.parseDouble(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.SHED_SAMPLE_RATIO, "0.5"));
+        if (depth < 0 || latency < 0 || (depth == 0 && latency == 0) || maxAge <= 0
+                || !(sampleRatio >= 0 && sampleRatio <= 1)) {
+            throw new SiddhiAppCreationException("Invalid load shedding configuration for the JMS source of stream: "
+                    + sourceEventListener.getStreamDefinition().getId() + ". " + JMSOptionsMapper.SHED_DEPTH
+                    + " or " + JMSOptionsMapper.SHED_LATENCY + " should be positive, " + JMSOptionsMapper.SHED_MAX_AGE
+                    + " should be positive and " + JMSOptionsMapper.SHED_SAMPLE_RATIO
+                    + " should be between 0 and 1.");
+        }
+        return new JMSLoadShedder(policy, depth, latency, maxAge, sampleRatio);
+    }
+
+    private JMSLoadShedder.Policy getShedPolicy() {
+        String shedPolicy = optionHolder.validateAndGetStaticValue(JMSOptionsMapper.SHED_POLICY, null);
+        if (shedPolicy == null) {
+            return null;
+        }
+        JMSLoadShedder.Policy policy = JMSLoadShedder.Policy.of(shedPolicy);
+        if (policy == null) {
+            throw new SiddhiAppCreationException("Invalid value '" + shedPolicy + "' for the "
+                    + JMSOptionsMapper.SHED_POLICY + " option of the JMS source of stream: "
+                    + sourceEventListener.getStreamDefinition().getId() + ". It should be one of '"
+                    + JMSLoadShedder.Policy.DROP_OLDEST + "', '" + JMSLoadShedder.Policy.AGE + "' or '"
+                    + JMSLoadShedder.Policy.SAMPLE + "'.");
+        }
+        return policy;
+    }
+
+    private void initSpillJournal(String siddhiAppName) {
+        String spillPath = optionHolder.validateAndGetStaticValue(JMSOptionsMapper.SPILL_PATH, null);
+        if (spillPath == null) {
+            return;
+        }
+        String streamId = sourceEventListener.getStreamDefinition().getId();
+        if (optionHolder.isOptionExists(JMSOptionsMapper.FAILOVER_PROVIDER_URL)) {
+            throw new SiddhiAppCreationException("The " + JMSOptionsMapper.SPILL_PATH + " option of the JMS source "
+                    + "of stream: " + streamId + " cannot be used along with the "
+                    + JMSOptionsMapper.FAILOVER_PROVIDER_URL + " option.");
+        }
+        int segmentSize = Integer.parseInt(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.SPILL_SEGMENT_SIZE, "16777216"));
+        long maxSize = Long.parseLong(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.SPILL_MAX_SIZE, "1073741824"));
+        if (segmentSize <= 0 || maxSize < segmentSize) {
+            throw new SiddhiAppCreationException("Invalid spill journal configuration for the JMS source of stream: "
+                    + streamId + ". " + JMSOptionsMapper.SPILL_SEGMENT_SIZE + " should be positive and "
+                    + JMSOptionsMapper.SPILL_MAX_SIZE + " should not be less than the segment size.");
+        }
+        File directory = new File(spillPath, siddhiAppName + File.separator + streamId);
+        try {
+            jmsMessageProcessor.setSpillJournal(new JMSJournal(directory, segmentSize, maxSize));
+        } catch (IOException e) {
+            throw new SiddhiAppCreationException("Error while opening the spill journal of the JMS source of "
+                    + "stream: " + streamId + " at " + directory.getAbsolutePath(), e);
+        }
+    }
+
+    private void initAutoscaling(Map<String, String> properties, SiddhiAppContext siddhiAppContext) {
+        String streamId = sourceEventListener.getStreamDefinition().getId();
+        if ("topic".equalsIgnoreCase(properties.get(JMSConstants.PARAM_CONNECTION_FACTORY_TYPE))) {
+            throw new SiddhiAppCreationException("The " + JMSOptionsMapper.AUTOSCALE_MAX_WORKERS + " option of the "
+                    + "JMS source of stream: " + streamId + " only applies to queues.");
+        }
+        if (optionHolder.isOptionExists(JMSOptionsMapper.WORKER_COUNT)
+                || optionHolder.isOptionExists(JMSOptionsMapper.FAILOVER_PROVIDER_URL)) {
+            throw new SiddhiAppCreationException("The " + JMSOptionsMapper.AUTOSCALE_MAX_WORKERS + " option of the "
+                    + "JMS source of stream: " + streamId + " cannot be used along with the "
+                    + JMSOptionsMapper.WORKER_COUNT + " or " + JMSOptionsMapper.FAILOVER_PROVIDER_URL + " options.");
+        }
+        int maxWorkers = Integer.parseInt(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.AUTOSCALE_MAX_WORKERS));
+        int minWorkers = Integer.parseInt(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.AUTOSCALE_MIN_WORKERS, "1"));
+        int backlogPerWorker = Integer.parseInt(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.AUTOSCALE_BACKLOG_PER_WORKER, "100"));
+        long interval = Long.parseLong(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.AUTOSCALE_INTERVAL, "5000"));
+        long idleTimeout = Long.parseLong(optionHolder.validateAndGetStaticValue(
+                JMSOptionsMapper.AUTOSCALE_IDLE_TIMEOUT, "30000"));
+        if (minWorkers < 1 || maxWorkers < minWorkers) {
+            throw new SiddhiAppCreationException("Invalid values for the " + JMSOptionsMapper.AUTOSCALE_MIN_WORKERS
+                    + " and " + JMSOptionsMapper.AUTOSCALE_MAX_WORKERS + " options of the JMS source of stream: "
+                    + streamId + ". The minimum should be at least 1, and not greater than the maximum.");
+        }
+        if (backlogPerWorker <= 0 || interval <= 0 || idleTimeout < 0) {
+            throw new SiddhiAppCreationException("Invalid values for the autoscaling options of the JMS source of "
+                    + "stream: " + streamId + ". The " + JMSOptionsMapper.AUTOSCALE_BACKLOG_PER_WORKER + " and "
+                    + JMSOptionsMapper.AUTOSCALE_INTERVAL + " should be greater than zero, and the "
+                    + JMSOptionsMapper.AUTOSCALE_IDLE_TIMEOUT + " should not be negative.");
+        }
+        consumerAutoscaler = new JMSConsumerAutoscaler(streamId, properties, jmsMessageProcessor, minWorkers,
+                maxWorkers, interval, backlogPerWorker, idleTimeout, siddhiAppContext.getScheduledExecutorService());
+    }
+
     @Override
     public void connect(ConnectionCallback connectionCallback, State state) throws ConnectionUnavailableException {
-        //ConnectionCallback is not used as re-connection is handled by carbon transport.
+        //ConnectionCallback is only used by the asynchronous connection, as re-connection is handled by carbon
+        //transport once connected.
+        synchronized (connectLock) {
+            disconnected = false;
+            if (connecting) {
+                // an attempt still in progress since before a disconnection keeps its connection now
+                return;
+            }
+            if (connectAsync) {
+                connectionStatus.connecting();
+                pendingConnect = JMSConnectionStatus.submit(() -> {
+                    try {
+                        start();
+                    } catch (ConnectionUnavailableException e) {
+                        // the source retries the connection as it does when connecting synchronously
+                        connectionCallback.onError(e);
+                    }
+                });
+                return;
+            }
+        }
+        start();
+    }
+
+    private void start() throws ConnectionUnavailableException {
+        synchronized (connectLock) {
+            if (disconnected) {
+                return;
+            }
+            connecting = true;
+            connectionStatus.connecting();
+        }
+        // the broker is connected outside the lock, so that disconnecting does not wait for a slow broker
+        ConnectionUnavailableException error = null;
         try {
-            jmsServerConnector.start();
+            // the events spilled before a restart are replayed in the background, ahead of the messages received
+            // from now on, which are spilled behind them meanwhile
+            jmsMessageProcessor.scheduleReplay();
+            if (consumerAutoscaler != null) {
+                consumerAutoscaler.start();
+            } else if (failoverController != null) {
+                failoverController.start();
+            } else {
+                jmsServerConnector.start();
+            }
         } catch (JMSConnectorException e) {
-            //calling super class logs the exception and retry
-            throw new ConnectionUnavailableException("Exception in starting the JMS receiver for stream: "
+            JMSJndiCache.invalidate(jmsProperties);
+            error = new ConnectionUnavailableException("Exception in starting the JMS receiver for stream: "
                     + sourceEventListener.getStreamDefinition().getId(), e);
         }
+        boolean abandoned;
+        synchronized (connectLock) {
+            connecting = false;
+            abandoned = disconnected;
+            if (!abandoned) {
+                if (error == null) {
+                    connectionStatus.connected();
+                } else {
+                    connectionStatus.failed(error);
+                }
+            }
+        }
+        if (abandoned) {
+            // disconnected while connecting, which left stopping the receivers to this attempt
+            stopReceivers();
+            return;
+        }
+        if (error != null) {
+            //calling super class logs the exception and retry
+            throw error;
+        }
     }
 
     @Override
@@ -189,13 +759,36 @@ public class JMSSource extends Source {
 
     @Override
     public Class[] getOutputEventClasses() {
-        return new Class[]{String.class, Map.class};
+        return new Class[]{String.class, Map.class, ByteBuffer.class};
     }
 
     @Override
     public void disconnect() {
+        boolean connectInProgress;
+        synchronized (connectLock) {
+            // a connection attempt still queued does not start once the source is disconnected
+            disconnected = true;
+            if (pendingConnect != null) {
+                pendingConnect.cancel(false);
+                pendingConnect = null;
+            }
+            if (connectionStatus != null) {
+                connectionStatus.disconnected();
+            }
+            connectInProgress = connecting;
+        }
+        if (!connectInProgress) {
+            stopReceivers();
+        }
+    }
+
+    private void stopReceivers() {
         try {
-            if (jmsServerConnector != null) {
+            if (consumerAutoscaler != null) {
+                consumerAutoscaler.stop();
+            } else if (failoverController != null) {
+                failoverController.stop();
+            } else if (jmsServerConnector != null) {
                 jmsServerConnector.stop();
             }
             if (jmsMessageProcessor != null) {
@@ -208,16 +801,50 @@ public class JMSSource extends Source {
 
     @Override
     public void destroy() {
-        // disconnect() gets called before destroy() which does the cleanup destroy() needs
+        // disconnect() gets called before destroy() which does the rest of the cleanup destroy() needs
+        if (connectionStatus != null) {
+            connectionStatus.unregister();
+        }
+        if (metrics != null) {
+            metrics.unregister();
+        }
+        if (jmsMessageProcessor != null) {
+            jmsMessageProcessor.destroy();
+        }
+    }
+
+    /**
+     * Gives the number of consumers of the source, when they are scaled with the backlog of the queue.
+     *
+     * @return the number of consumers, or zero if the consumers are not scaled.
+     */
+    int getAutoscaledWorkerCount() {
+        return consumerAutoscaler == null ? 0 : consumerAutoscaler.getWorkerCount();
     }
 
     @Override
     public void pause() {
+        if (consumerAutoscaler != null) {
+            consumerAutoscaler.pause();
+            return;
+        }
+        if (failoverController != null) {
+            failoverController.pause();
+            return;
+        }
         jmsMessageProcessor.pause();
     }
 
     @Override
     public void resume() {
+        if (consumerAutoscaler != null) {
+            consumerAutoscaler.resume();
+            return;
+        }
+        if (failoverController != null) {
+            failoverController.resume();
+            return;
+        }
         jmsMessageProcessor.resume();
     }
 
@@ -231,6 +858,7 @@ public class JMSSource extends Source {
     private Map<String, String> initJMSProperties() {
         Map<String, String> carbonPropertyMapping = JMSOptionsMapper.getCarbonPropertyMapping();
         List<String> requiredOptions = JMSOptionsMapper.getRequiredOptions();
+        List<String> sourceOptions = JMSOptionsMapper.getSourceOptions();
         // getting the required values
         Map<String, String> transportProperties = new HashMap<>();
         requiredOptions.forEach(requiredOption ->
@@ -238,7 +866,8 @@ public class JMSSource extends Source {
                         optionHolder.validateAndGetStaticValue(requiredOption)));
         // getting optional values
         optionHolder.getStaticOptionsKeys().stream()
-                .filter(option -> !requiredOptions.contains(option) && !option.equals("type"))
+                .filter(option -> !requiredOptions.contains(option) && !sourceOptions.contains(option)
+                        && !option.equals("type"))
                 .forEach(option -> transportProperties.put(
                         carbonPropertyMapping.get(option) == null ? option : carbonPropertyMapping.get(option),
                         optionHolder.validateAndGetStaticValue(option)));
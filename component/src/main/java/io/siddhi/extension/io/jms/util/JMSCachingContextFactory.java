@@ -0,0 +1,119 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Hashtable;
+import javax.naming.Context;
+import javax.naming.NamingException;
+import javax.naming.spi.InitialContextFactory;
+
+/**
+ * Initial context factory looking names up through the {@link JMSJndiCache}.
+ * <p>
+ * The contexts it creates answer the lookups of cached names without creating the context of the wrapped factory,
+ * given by {@link JMSJndiCache#DELEGATE_FACTORY_INITIAL}, which is only created for the lookups which miss the
+ * cache and for the other operations on the context.
+ */
+public class JMSCachingContextFactory implements InitialContextFactory {
+
+    @Override
+    public Context getInitialContext(Hashtable<?, ?> environment) throws NamingException {
+        Object delegateFactory = environment.get(JMSJndiCache.DELEGATE_FACTORY_INITIAL);
+        if (delegateFactory == null) {
+            throw new NamingException("No initial context factory is given for the JNDI cache through the "
+                    + JMSJndiCache.DELEGATE_FACTORY_INITIAL + " property.");
+        }
+        Hashtable<Object, Object> delegateEnvironment = new Hashtable<>(environment);
+        delegateEnvironment.put(Context.INITIAL_CONTEXT_FACTORY, delegateFactory);
+        return (Context) Proxy.newProxyInstance(JMSCachingContextFactory.class.getClassLoader(),
+                new Class[]{Context.class}, new CachingContext(delegateFactory.toString(), delegateEnvironment));
+    }
+
+    /**
+     * Context answering the lookups of names from the cache, and passing everything else to the context of the
+     * wrapped factory.
+     */
+    private static class CachingContext implements InvocationHandler {
+        private final String delegateFactory;
+        private final Hashtable<Object, Object> environment;
+        private Context delegate;
+
+        CachingContext(String delegateFactory, Hashtable<Object, Object> environment) {
+            this.delegateFactory = delegateFactory;
+            this.environment = environment;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "lookup":
+                    if (args[0] instanceof String) {
+                        String name = (String) args[0];
+                        return JMSJndiCache.lookup(environment, name, () -> delegate().lookup(name));
+                    }
+                    break;
+                case "close":
+                    if (delegate != null) {
+                        delegate.close();
+                    }
+                    return null;
+                case "getEnvironment":
+                    return new Hashtable<>(environment);
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "CachingContext(" + delegateFactory + ")";
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(delegate(), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        private synchronized Context delegate() throws NamingException {
+            if (delegate == null) {
+                delegate = createDelegateFactory().getInitialContext(environment);
+            }
+            return delegate;
+        }
+
+        private InitialContextFactory createDelegateFactory() throws NamingException {
+            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+            try {
+                Class<?> factoryClass = Class.forName(delegateFactory, true,
+                        classLoader == null ? JMSCachingContextFactory.class.getClassLoader() : classLoader);
+                return (InitialContextFactory) factoryClass.getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | ClassCastException e) {
+                NamingException namingException = new NamingException("Cannot create the initial context "
+                        + "factory: " + delegateFactory);
+                namingException.setRootCause(e);
+                throw namingException;
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.util;
+
+import org.wso2.transport.jms.contract.JMSClientConnector;
+import org.wso2.transport.jms.exception.JMSConnectorException;
+import org.wso2.transport.jms.impl.JMSConnectorFactoryImpl;
+import org.wso2.transport.jms.utils.JMSConstants;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JMS client connectors shared by the JMS sinks of the JVM, counting the sinks using each of them.
+ * <p>
+ * The connectors are keyed by the transport properties they are created with, less the destination which is given
+ * on each send, so the sinks connecting with the same provider URL, initial context factory, connection factory and
+ * credentials share a single JNDI lookup and connection factory, and multiplex their sessions over its connections.
+ * A connector is dropped when the last sink using it releases it. A sink finding its connector broken reconnects
+ * through its lease, which replaces the connector for all the sinks sharing it unless one of them has done so
+ * already.
+ */
+public final class JMSConnectionRegistry {
+    private static final Map<Map<String, String>, SharedConnector> CONNECTORS = new ConcurrentHashMap<>();
+
+    private JMSConnectionRegistry() {
+    }
+
+    /**
+     * Acquires the connector for the given transport properties, creating it if no sink is using it.
+     *
+     * @param jmsProperties transport properties of the connector.
+     * @return the lease of the connector, to be released when the sink disconnects.
+     * @throws JMSConnectorException if the connector cannot be created.
+     */
+    public static Lease acquire(Map<String, String> jmsProperties) throws JMSConnectorException {
+        Map<String, String> key = key(jmsProperties);
+        while (true) {
+            SharedConnector shared = CONNECTORS.computeIfAbsent(key, SharedConnector::new);
+            // connectors are created outside the map lock, so that a slow JNDI lookup only holds up its own key
+            synchronized (shared) {
+                if (shared.removed) {
+                    continue;
+                }
+                if (shared.connector == null) {
+                    try {
+                        shared.connector = create(jmsProperties);
+                    } catch (JMSConnectorException | RuntimeException e) {
+                        if (shared.references == 0) {
+                            shared.remove();
+                        }
+                        throw e;
+                    }
+                }
+                shared.references++;
+                return new Lease(shared, shared.connector, jmsProperties);
+            }
+        }
+    }
+
+    /**
+     * Gives the number of leases held on the connector for the given transport properties.
+     *
+     * @param jmsProperties transport properties of the connector.
+     * @return the number of leases, zero if there is no such connector.
+     */
+    public static int getReferenceCount(Map<String, String> jmsProperties) {
+        SharedConnector shared = CONNECTORS.get(key(jmsProperties));
+        if (shared == null) {
+            return 0;
+        }
+        synchronized (shared) {
+            return shared.references;
+        }
+    }
+
+    private static Map<String, String> key(Map<String, String> jmsProperties) {
+        Map<String, String> key = new TreeMap<>();
+        jmsProperties.forEach((name, value) -> {
+            if (name != null && value != null && !name.equals(JMSConstants.PARAM_DESTINATION_NAME)) {
+                key.put(name, value);
+            }
+        });
+        return Collections.unmodifiableMap(key);
+    }
+
+    private static JMSClientConnector create(Map<String, String> jmsProperties) throws JMSConnectorException {
+        return new JMSConnectorFactoryImpl().createClientConnector(jmsProperties);
+    }
+
+    /**
+     * A sink's hold on a shared connector.
+     */
+    public static final class Lease {
+        private final SharedConnector shared;
+        private final Map<String, String> jmsProperties;
+        private volatile JMSClientConnector connector;
+        private boolean released;
+
+        private Lease(SharedConnector shared, JMSClientConnector connector, Map<String, String> jmsProperties) {
+            this.shared = shared;
+            this.connector = connector;
+            this.jmsProperties = jmsProperties;
+        }
+
+        public JMSClientConnector getConnector() {
+            return connector;
+        }
+
+        /**
+         * Replaces the connector the lease was given, after a failure on it. If another sink sharing the connector
+         * has replaced it already, the lease takes that one instead of creating yet another.
+         *
+         * @return the new connector.
+         * @throws JMSConnectorException if the connector cannot be created, in which case the lease keeps the
+         *                               broken one, to be replaced on the next attempt.
+         */
+        public JMSClientConnector reconnect() throws JMSConnectorException {
+            synchronized (shared) {
+                if (released) {
+                    throw new IllegalStateException("The lease of the shared JMS connector is already released.");
+                }
+                if (shared.connector == connector) {
+                    shared.connector = create(jmsProperties);
+                }
+                connector = shared.connector;
+                return connector;
+            }
+        }
+
+        /**
+         * Releases the lease, dropping the connector if no other sink is using it. Releasing a lease again has no
+         * effect.
+         */
+        public void release() {
+            synchronized (shared) {
+                if (released) {
+                    return;
+                }
+                released = true;
+                if (--shared.references == 0) {
+                    shared.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * Connector for a set of transport properties, with the number of leases held on it.
+     */
+    private static final class SharedConnector {
+        private final Map<String, String> key;
+        private JMSClientConnector connector;
+        private int references;
+        private boolean removed;
+
+        private SharedConnector(Map<String, String> key) {
+            this.key = key;
+        }
+
+        private void remove() {
+            removed = true;
+            connector = null;
+            CONNECTORS.remove(key, this);
+        }
+    }
+}
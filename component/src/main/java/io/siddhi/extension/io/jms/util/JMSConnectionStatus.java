@@ -0,0 +1,176 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.util;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Connection state of a JMS source or sink, published in a JVM-wide registry so that the readiness of the Siddhi
+ * apps can be checked while their connections are still being established in the background.
+ * <p>
+ * The sources and sinks connecting asynchronously submit their connection attempts through {@link #submit}, which
+ * runs them on a shared pool, so that the connections of all the apps deployed at once are made in parallel.
+ */
+public final class JMSConnectionStatus {
+    private static final Map<Long, JMSConnectionStatus> STATUSES = new ConcurrentHashMap<>();
+    private static final AtomicLong IDS = new AtomicLong();
+    private static final ExecutorService CONNECTOR = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "JMSConnectionStatus-connector");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final long id;
+    private final String siddhiAppName;
+    private final String name;
+    private volatile State state = State.DISCONNECTED;
+    private volatile Throwable lastError;
+    private volatile long since = System.currentTimeMillis();
+
+    private JMSConnectionStatus(String siddhiAppName, String name) {
+        this.id = IDS.incrementAndGet();
+        this.siddhiAppName = siddhiAppName;
+        this.name = name;
+    }
+
+    /**
+     * Registers the status of a source or a sink.
+     *
+     * @param siddhiAppName name of the Siddhi app of the source or sink.
+     * @param name          name of the source or sink, e.g. "JMS source of stream: FooStream".
+     * @return the status, in the disconnected state.
+     */
+    public static JMSConnectionStatus register(String siddhiAppName, String name) {
+        JMSConnectionStatus status = new JMSConnectionStatus(siddhiAppName, name);
+        STATUSES.put(status.id, status);
+        return status;
+    }
+
+    /**
+     * Gives the statuses of the JMS sources and sinks of a Siddhi app.
+     *
+     * @param siddhiAppName name of the Siddhi app.
+     * @return the statuses, in the order the sources and sinks were created.
+     */
+    public static List<JMSConnectionStatus> getStatuses(String siddhiAppName) {
+        return STATUSES.values().stream()
+                .filter(status -> status.siddhiAppName.equals(siddhiAppName))
+                .sorted((first, second) -> Long.compare(first.id, second.id))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Tells whether all the JMS sources and sinks of a Siddhi app are connected.
+     *
+     * @param siddhiAppName name of the Siddhi app.
+     * @return true if they are all connected, or if the app has none.
+     */
+    public static boolean isReady(String siddhiAppName) {
+        return getStatuses(siddhiAppName).stream().allMatch(status -> status.state == State.CONNECTED);
+    }
+
+    /**
+     * Runs a connection attempt in the background.
+     *
+     * @param connectTask the connection attempt.
+     * @return the future of the attempt, to cancel it on disconnection.
+     */
+    public static Future<?> submit(Runnable connectTask) {
+        return CONNECTOR.submit(connectTask);
+    }
+
+    public void connecting() {
+        update(State.CONNECTING, null);
+    }
+
+    public void connected() {
+        update(State.CONNECTED, null);
+    }
+
+    public void failed(Throwable error) {
+        update(State.FAILED, error);
+    }
+
+    public void disconnected() {
+        update(State.DISCONNECTED, null);
+    }
+
+    /**
+     * Removes the status from the registry, when its source or sink is destroyed.
+     */
+    public void unregister() {
+        STATUSES.remove(id);
+    }
+
+    private void update(State state, Throwable error) {
+        this.lastError = error;
+        this.state = state;
+        this.since = System.currentTimeMillis();
+    }
+
+    public String getSiddhiAppName() {
+        return siddhiAppName;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Gives the error of the last failed connection attempt.
+     *
+     * @return the error, or null if the source or sink is not in the failed state.
+     */
+    public Throwable getLastError() {
+        return lastError;
+    }
+
+    /**
+     * Gives the time the source or sink entered its current state.
+     *
+     * @return the time in milliseconds since the epoch.
+     */
+    public long getSince() {
+        return since;
+    }
+
+    @Override
+    public String toString() {
+        return name + " of Siddhi app: " + siddhiAppName + " is " + state
+                + (lastError == null ? "" : " (" + lastError.getMessage() + ")");
+    }
+
+    /**
+     * Connection state of a JMS source or sink.
+     */
+    public enum State {
+        CONNECTING, CONNECTED, FAILED, DISCONNECTED
+    }
+}
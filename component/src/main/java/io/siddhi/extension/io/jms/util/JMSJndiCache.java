@@ -0,0 +1,260 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Collections;
+import java.util.Hashtable;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import javax.naming.Context;
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+
+/**
+ * Process-wide cache of the objects the JMS sources and sinks look up through JNDI, such as their connection
+ * factories and destinations.
+ * <p>
+ * The transport builds its own JNDI context from the transport properties, so the cache is enabled on a set of
+ * properties by {@link #enable}, which has the transport create its contexts through
+ * {@link JMSCachingContextFactory}, wrapping the configured initial context factory. The entries are keyed by the
+ * naming environment, i.e. the properties which are not transport parameters, and the name looked up, and are
+ * dropped after the time to live given when enabling the cache, or by {@link #invalidate} when a connection made
+ * with them fails. A lookup in progress is shared by the callers asking for the same entry, while lookups of
+ * different entries run in parallel, so that {@link #warm} can resolve the entries of many apps concurrently while
+ * they are being deployed.
+ */
+public final class JMSJndiCache {
+    public static final String DELEGATE_FACTORY_INITIAL = "siddhi.jms.jndi.delegate.factory.initial";
+    public static final String CACHE_TTL = "siddhi.jms.jndi.cache.ttl";
+    private static final Logger log = LogManager.getLogger(JMSJndiCache.class);
+    private static final String TRANSPORT_PARAMETER_PREFIX = "transport.jms.";
+    private static final Map<Key, Entry> ENTRIES = new ConcurrentHashMap<>();
+    private static final ExecutorService WARMER = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "JMSJndiCache-warmer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private JMSJndiCache() {
+    }
+
+    /**
+     * Enables the cache on the given transport properties, replacing their initial context factory with
+     * {@link JMSCachingContextFactory}.
+     *
+     * @param jmsProperties transport properties, which are modified.
+     * @param ttl           time in milliseconds the looked up objects are cached for.
+     */
+    public static void enable(Map<String, String> jmsProperties, long ttl) {
+        String factoryInitial = jmsProperties.get(Context.INITIAL_CONTEXT_FACTORY);
+        if (factoryInitial == null || factoryInitial.equals(JMSCachingContextFactory.class.getName())) {
+            return;
+        }
+        jmsProperties.put(DELEGATE_FACTORY_INITIAL, factoryInitial);
+        jmsProperties.put(Context.INITIAL_CONTEXT_FACTORY, JMSCachingContextFactory.class.getName());
+        jmsProperties.put(CACHE_TTL, String.valueOf(ttl));
+    }
+
+    /**
+     * Looks up the given names in the background, so that they are cached by the time they are needed.
+     *
+     * @param jmsProperties transport properties the cache is enabled on.
+     * @param names         names to look up, null names are ignored.
+     */
+    public static void warm(Map<String, String> jmsProperties, String... names) {
+        if (!jmsProperties.containsKey(DELEGATE_FACTORY_INITIAL)) {
+            return;
+        }
+        Hashtable<String, String> environment = environment(jmsProperties);
+        for (String name : names) {
+            if (name == null) {
+                continue;
+            }
+            WARMER.execute(() -> {
+                try {
+                    Context context = new InitialContext(environment);
+                    try {
+                        context.lookup(name);
+                    } finally {
+                        context.close();
+                    }
+                } catch (NamingException | RuntimeException e) {
+                    // the lookup is repeated, and reported, when the name is needed
+                    log.debug("Error while looking up " + name + " to warm the JNDI cache.", e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Drops the objects looked up with the naming environment of the given transport properties, after a
+     * connection made with them failed.
+     *
+     * @param jmsProperties transport properties.
+     */
+    public static void invalidate(Map<?, ?> jmsProperties) {
+        Map<String, String> environment = namingEnvironment(jmsProperties);
+        ENTRIES.keySet().removeIf(key -> key.environment.equals(environment));
+    }
+
+    /**
+     * Looks up the given name, through the cache.
+     *
+     * @param environment environment of the JNDI context.
+     * @param name        name to look up.
+     * @param lookup      the lookup to do when the name is not cached.
+     * @return the object bound to the name.
+     * @throws NamingException if the lookup fails.
+     */
+    static Object lookup(Map<?, ?> environment, String name, Lookup lookup) throws NamingException {
+        Key key = new Key(namingEnvironment(environment), name);
+        long ttl = ttl(environment);
+        while (true) {
+            long now = System.currentTimeMillis();
+            Entry cached = ENTRIES.get(key);
+            if (cached != null && !cached.isExpired(now)) {
+                return cached.await();
+            }
+            Entry entry = new Entry();
+            boolean claimed = cached == null ? ENTRIES.putIfAbsent(key, entry) == null
+                    : ENTRIES.replace(key, cached, entry);
+            if (!claimed) {
+                continue;
+            }
+            try {
+                Object value = lookup.lookup();
+                entry.expiresAt = now + ttl;
+                entry.future.complete(value);
+                return value;
+            } catch (NamingException | RuntimeException e) {
+                // failures are not cached, so that the next caller looks the name up again
+                ENTRIES.remove(key, entry);
+                entry.future.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    private static long ttl(Map<?, ?> environment) {
+        Object ttl = environment.get(CACHE_TTL);
+        return ttl == null ? 0 : Long.parseLong(ttl.toString());
+    }
+
+    private static Hashtable<String, String> environment(Map<String, String> jmsProperties) {
+        Hashtable<String, String> environment = new Hashtable<>();
+        jmsProperties.forEach((name, value) -> {
+            if (name != null && value != null) {
+                environment.put(name, value);
+            }
+        });
+        return environment;
+    }
+
+    /**
+     * Gives the properties which make up the naming environment, leaving out the transport parameters and the
+     * properties of the cache itself, so that a source and a sink configured with the same JNDI options share
+     * their entries.
+     */
+    private static Map<String, String> namingEnvironment(Map<?, ?> properties) {
+        Map<String, String> environment = new TreeMap<>();
+        properties.forEach((name, value) -> {
+            if (name != null && value != null && !name.toString().startsWith(TRANSPORT_PARAMETER_PREFIX)
+                    && !name.equals(CACHE_TTL) && !name.equals(Context.INITIAL_CONTEXT_FACTORY)) {
+                environment.put(name.toString(), value.toString());
+            }
+        });
+        return Collections.unmodifiableMap(environment);
+    }
+
+    /**
+     * Lookup done on a cache miss.
+     */
+    @FunctionalInterface
+    interface Lookup {
+        Object lookup() throws NamingException;
+    }
+
+    /**
+     * Naming environment and name of a cached object.
+     */
+    private static final class Key {
+        private final Map<String, String> environment;
+        private final String name;
+
+        private Key(Map<String, String> environment, String name) {
+            this.environment = environment;
+            this.name = name;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return environment.equals(key.environment) && name.equals(key.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(environment, name);
+        }
+    }
+
+    /**
+     * Cached object, or the lookup of it in progress.
+     */
+    private static final class Entry {
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+        private volatile long expiresAt = Long.MAX_VALUE;
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+
+        private Object await() throws NamingException {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new NamingException("Interrupted while waiting for a JNDI lookup.");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof NamingException) {
+                    throw (NamingException) cause;
+                }
+                NamingException namingException = new NamingException(cause.getMessage());
+                namingException.setRootCause(cause);
+                throw namingException;
+            }
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * Append only, segment based journal of records backed by memory mapped files.
+ * <p>
+ * Each segment is a file of a fixed size holding records as an int length followed by the record bytes. A zero
+ * length marks the end of the written records of a segment, and consumed records are marked by negating their
+ * length, so that only the pending records are read back when the journal is reopened. Segments are deleted once
+ * all of their records are consumed, and no new segment is created once the total size of the segments would
+ * exceed the configured maximum size.
+ * <p>
+ * Records survive a process crash as they are written to the page cache of the mapped files. Segments are only
+ * forced to the storage device when the journal is closed.
+ */
+public class JMSJournal implements Closeable {
+    private static final Logger log = LogManager.getLogger(JMSJournal.class);
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".journal";
+    private static final int HEADER_SIZE = 4;
+    private final File directory;
+    private final int segmentSize;
+    private final long maxSize;
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private long nextSegmentIndex;
+    private long pendingRecords;
+
+    public JMSJournal(File directory, int segmentSize, long maxSize) throws IOException {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.maxSize = maxSize;
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Unable to create the journal directory " + directory.getAbsolutePath());
+        }
+        recover();
+    }
+
+    /**
+     * Appends a record at the end of the journal.
+     *
+     * @param record record bytes.
+     * @return false if the record does not fit into a segment or the journal has reached its maximum size.
+     * @throws IOException if a new segment cannot be created.
+     */
+    public synchronized boolean append(byte[] record) throws IOException {
+        if (record.length == 0 || record.length + HEADER_SIZE > segmentSize) {
+            return false;
+        }
+        Segment segment = segments.peekLast();
+        if (segment == null || segment.writePosition + HEADER_SIZE + record.length > segmentSize) {
+            if ((long) (segments.size() + 1) * segmentSize > maxSize) {
+                return false;
+            }
+            segment = openSegment(new File(directory, SEGMENT_PREFIX + nextSegmentIndex++ + SEGMENT_SUFFIX));
+            segments.addLast(segment);
+        }
+        segment.buffer.position(segment.writePosition + HEADER_SIZE);
+        segment.buffer.put(record);
+        // the length is written last, so that a partially written record is never read back
+        segment.buffer.putInt(segment.writePosition, record.length);
+        segment.writePosition += HEADER_SIZE + record.length;
+        pendingRecords++;
+        return true;
+    }
+
+    /**
+     * Returns the oldest pending record without consuming it.
+     *
+     * @return record bytes, or null if the journal is empty.
+     */
+    public synchronized byte[] peek() {
+        Segment segment = firstPendingSegment();
+        if (segment == null) {
+            return null;
+        }
+        int length = segment.buffer.getInt(segment.readPosition);
+        byte[] record = new byte[length];
+        segment.buffer.position(segment.readPosition + HEADER_SIZE);
+        segment.buffer.get(record);
+        return record;
+    }
+
+    /**
+     * Consumes the oldest pending record.
+     */
+    public synchronized void remove() {
+        Segment segment = firstPendingSegment();
+        if (segment == null) {
+            return;
+        }
+        int length = segment.buffer.getInt(segment.readPosition);
+        segment.buffer.putInt(segment.readPosition, -length);
+        segment.readPosition += HEADER_SIZE + length;
+        pendingRecords--;
+    }
+
+    public synchronized boolean isEmpty() {
+        return pendingRecords == 0;
+    }
+
+    public synchronized long getPendingRecords() {
+        return pendingRecords;
+    }
+
+    @Override
+    public synchronized void close() {
+        for (Segment segment : segments) {
+            segment.buffer.force();
+            closeQuietly(segment);
+        }
+        segments.clear();
+    }
+
+    private Segment firstPendingSegment() {
+        while (!segments.isEmpty()) {
+            Segment segment = segments.peekFirst();
+            if (segment.readPosition < segment.writePosition) {
+                return segment;
+            }
+            if (segments.size() == 1) {
+                return null;
+            }
+            segments.pollFirst();
+            closeQuietly(segment);
+            if (!segment.file.delete()) {
+                log.warn("Unable to delete the consumed journal segment " + segment.file.getAbsolutePath());
+            }
+        }
+        return null;
+    }
+
+    private void recover() throws IOException {
+        File[] files = directory.listFiles((dir, name) -> name.startsWith(SEGMENT_PREFIX)
+                && name.endsWith(SEGMENT_SUFFIX));
+        if (files == null) {
+            return;
+        }
+        long[] indexes = new long[files.length];
+        int count = 0;
+        for (File file : files) {
+            try {
+                indexes[count] = Long.parseLong(file.getName().substring(SEGMENT_PREFIX.length(),
+                        file.getName().length() - SEGMENT_SUFFIX.length()));
+                count++;
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring unknown file " + file.getAbsolutePath() + " in the journal directory.");
+            }
+        }
+        indexes = Arrays.copyOf(indexes, count);
+        Arrays.sort(indexes);
+        for (long index : indexes) {
+            Segment segment = openSegment(new File(directory, SEGMENT_PREFIX + index + SEGMENT_SUFFIX));
+            int position = 0;
+            boolean readPositionFound = false;
+            while (position + HEADER_SIZE <= segmentSize) {
+                int length = segment.buffer.getInt(position);
+                if (length == 0 || position + HEADER_SIZE + Math.abs((long) length) > segmentSize) {
+                    break;
+                }
+                if (length > 0) {
+                    pendingRecords++;
+                    readPositionFound = true;
+                } else if (!readPositionFound) {
+                    segment.readPosition = position + HEADER_SIZE + Math.abs(length);
+                }
+                position += HEADER_SIZE + Math.abs(length);
+            }
+            segment.writePosition = position;
+            segments.addLast(segment);
+            nextSegmentIndex = index + 1;
+        }
+        if (pendingRecords > 0) {
+            log.info("Recovered " + pendingRecords + " pending records from the journal at "
+                    + directory.getAbsolutePath());
+        }
+    }
+
+    private Segment openSegment(File file) throws IOException {
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+        try {
+            FileChannel channel = randomAccessFile.getChannel();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            return new Segment(file, randomAccessFile, buffer);
+        } catch (IOException e) {
+            randomAccessFile.close();
+            throw e;
+        }
+    }
+
+    private static void closeQuietly(Segment segment) {
+        try {
+            segment.randomAccessFile.close();
+        } catch (IOException e) {
+            log.warn("Error while closing the journal segment " + segment.file.getAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Memory mapped segment file of the journal.
+     */
+    private static class Segment {
+        private final File file;
+        private final RandomAccessFile randomAccessFile;
+        private final MappedByteBuffer buffer;
+        private int readPosition;
+        private int writePosition;
+
+        private Segment(File file, RandomAccessFile randomAccessFile, MappedByteBuffer buffer) {
+            this.file = file;
+            this.randomAccessFile = randomAccessFile;
+            this.buffer = buffer;
+        }
+    }
+}
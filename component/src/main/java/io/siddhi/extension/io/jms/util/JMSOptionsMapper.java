@@ -42,6 +42,89 @@ public class JMSOptionsMapper {
     public static final String USE_RECEIVER = "use.receiver";
     public static final String PARAM_SUB_DURABLE = "subscription.durable";
     public static final String CONNECTION_FACTORY_NATURE = "connection.factory.nature";
+
+    public static final String PUBLISH_MODE = "publish.mode";
+    public static final String PUBLISH_MODE_ASYNC = "async";
+    public static final String PUBLISH_MODE_SYNC = "sync";
+    public static final String BATCH_SIZE = "batch.size";
+    public static final String BATCH_BYTES = "batch.bytes";
+    public static final String BATCH_TIMEOUT = "batch.timeout";
+    public static final String BATCH_FORMAT = "batch.format";
+    public static final String BATCH_FORMAT_BINARY = "binary";
+    public static final String BATCH_FORMAT_JSON = "json";
+    public static final String JOURNAL_PATH = "journal.path";
+    public static final String JOURNAL_SEGMENT_SIZE = "journal.segment.size";
+    public static final String JOURNAL_MAX_SIZE = "journal.max.size";
+    public static final String JOURNAL_REPLAY_INTERVAL = "journal.replay.interval";
+    public static final String CIRCUIT_BREAKER_FAILURE_THRESHOLD = "circuit.breaker.failure.threshold";
+    public static final String CIRCUIT_BREAKER_INITIAL_BACKOFF = "circuit.breaker.initial.backoff";
+    public static final String CIRCUIT_BREAKER_MAX_BACKOFF = "circuit.breaker.max.backoff";
+    public static final String CIRCUIT_BREAKER_OPEN_POLICY = "circuit.breaker.open.policy";
+    public static final String CIRCUIT_BREAKER_POLICY_FAIL = "fail";
+    public static final String CIRCUIT_BREAKER_POLICY_BUFFER = "buffer";
+    public static final String LOAD_BALANCE_PROVIDER_URLS = "load.balance.provider.urls";
+    public static final String LOAD_BALANCE_STRATEGY = "load.balance.strategy";
+    public static final String LOAD_BALANCE_KEY = "load.balance.key";
+    public static final String LOAD_BALANCE_EJECT_LATENCY = "load.balance.eject.latency";
+    public static final String LOAD_BALANCE_EJECT_TIME = "load.balance.eject.time";
+    public static final String LOAD_BALANCE_ROUND_ROBIN = "round.robin";
+    public static final String LOAD_BALANCE_LEAST_IN_FLIGHT = "least.in.flight";
+    public static final String LOAD_BALANCE_HASH = "hash";
+    public static final String PARTITION_KEY = "partition.key";
+    public static final String PARTITION_COUNT = "partition.count";
+    public static final String MESSAGE_CORRELATION_ID = "message.correlation.id";
+    public static final String MESSAGE_TYPE = "message.type";
+    public static final String MESSAGE_GROUP_ID = "message.group.id";
+    public static final String MESSAGE_PROPERTIES = "message.properties";
+    public static final String PUBLISH_CONFIRM = "publish.confirm";
+    public static final String PUBLISH_CONFIRM_MAX_PENDING = "publish.confirm.max.pending";
+    public static final String PUBLISH_CONFIRM_TIMEOUT = "publish.confirm.timeout";
+    public static final String PUBLISHER_THREADS = "publisher.threads";
+    public static final String PUBLISHER_QUEUE_SIZE = "publisher.queue.size";
+    public static final String SHUTDOWN_TIMEOUT = "shutdown.timeout";
+    public static final String CONNECTION_SHARED = "connection.shared";
+    public static final String JNDI_CACHE_TTL = "jndi.cache.ttl";
+    public static final String CONNECT_ASYNC = "connect.async";
+    public static final String FAILOVER_PROVIDER_URL = "failover.provider.url";
+    public static final String FAILOVER_FAILBACK_INTERVAL = "failover.failback.interval";
+    public static final String AUTOSCALE_MIN_WORKERS = "autoscale.min.workers";
+    public static final String AUTOSCALE_MAX_WORKERS = "autoscale.max.workers";
+    public static final String AUTOSCALE_BACKLOG_PER_WORKER = "autoscale.backlog.per.worker";
+    public static final String AUTOSCALE_INTERVAL = "autoscale.interval";
+    public static final String AUTOSCALE_IDLE_TIMEOUT = "autoscale.idle.timeout";
+    public static final String SPILL_PATH = "spill.path";
+    public static final String SPILL_SEGMENT_SIZE = "spill.segment.size";
+    public static final String SPILL_MAX_SIZE = "spill.max.size";
+    public static final String RATE_LIMIT = "rate.limit";
+    public static final String RATE_BURST = "rate.burst";
+    public static final String PRIORITY_LANES = "priority.lanes";
+    public static final String PRIORITY_PROPERTY = "priority.property";
+    public static final String PRIORITY_THRESHOLD = "priority.threshold";
+    public static final String PRIORITY_CONCURRENCY = "priority.concurrency";
+    public static final String PRIORITY_SHED_DEPTH = "priority.shed.depth";
+    public static final String SHED_POLICY = "shed.policy";
+    public static final String SHED_DEPTH = "shed.depth";
+    public static final String SHED_LATENCY = "shed.latency";
+    public static final String SHED_MAX_AGE = "shed.max.age";
+    public static final String SHED_SAMPLE_RATIO = "shed.sample.ratio";
+    public static final String SHED_CONCURRENCY = "shed.concurrency";
+    public static final String REPLY_TO = "reply.to";
+    public static final String REQUEST_TIMEOUT = "request.timeout";
+    public static final String REQUEST_MAX_PENDING = "request.max.pending";
+    public static final String REQUEST_REPLY = "request.reply";
+    /**
+     * Prefix of the transport properties exposing the attributes of the request a reply correlates to.
+     */
+    public static final String REQUEST_ATTRIBUTE_PREFIX = "request.";
+
+    /**
+     * JMS message properties identifying a message which carries a batch of events.
+     */
+    public static final String FRAME_FORMAT_PROPERTY = "SiddhiFrameFormat";
+    public static final String FRAME_SIZE_PROPERTY = "SiddhiFrameSize";
+    public static final String FRAME_FORMAT_TEXT = "text";
+    public static final String FRAME_FORMAT_BYTES = "bytes";
+    public static final String FRAME_FORMAT_JSON = "json";
     /**
      * Returns the custom property map mapping the siddhi extension key name to JMS transport key.
      *
@@ -73,4 +156,34 @@ public class JMSOptionsMapper {
     public static List<String> getRequiredOptions() {
         return Arrays.asList(DESTINATION, FACTORY_INITIAL, PROVIDER_URL);
     }
+
+    /**
+     * Returns the options which are consumed by the sink itself and should not be passed to the JMS transport.
+     *
+     * @return list of sink specific options.
+     */
+    public static List<String> getSinkOptions() {
+        return Arrays.asList(PUBLISH_MODE, BATCH_SIZE, BATCH_BYTES, BATCH_TIMEOUT, BATCH_FORMAT, JOURNAL_PATH,
+                JOURNAL_SEGMENT_SIZE, JOURNAL_MAX_SIZE, JOURNAL_REPLAY_INTERVAL, CIRCUIT_BREAKER_FAILURE_THRESHOLD,
+                CIRCUIT_BREAKER_INITIAL_BACKOFF, CIRCUIT_BREAKER_MAX_BACKOFF, CIRCUIT_BREAKER_OPEN_POLICY,
+                LOAD_BALANCE_PROVIDER_URLS, LOAD_BALANCE_STRATEGY, LOAD_BALANCE_KEY, LOAD_BALANCE_EJECT_LATENCY,
+                LOAD_BALANCE_EJECT_TIME, PARTITION_KEY, PARTITION_COUNT, MESSAGE_CORRELATION_ID, MESSAGE_TYPE,
+                MESSAGE_GROUP_ID, MESSAGE_PROPERTIES, PUBLISH_CONFIRM, PUBLISH_CONFIRM_MAX_PENDING,
+                PUBLISH_CONFIRM_TIMEOUT, PUBLISHER_THREADS, PUBLISHER_QUEUE_SIZE, SHUTDOWN_TIMEOUT, REPLY_TO,
+                REQUEST_TIMEOUT, REQUEST_MAX_PENDING, CONNECTION_SHARED, JNDI_CACHE_TTL, CONNECT_ASYNC);
+    }
+
+    /**
+     * Returns the options which are consumed by the source itself and should not be passed to the JMS transport.
+     *
+     * @return list of source specific options.
+     */
+    public static List<String> getSourceOptions() {
+        return Arrays.asList(REQUEST_REPLY, JNDI_CACHE_TTL, CONNECT_ASYNC, FAILOVER_PROVIDER_URL,
+                FAILOVER_FAILBACK_INTERVAL, AUTOSCALE_MIN_WORKERS, AUTOSCALE_MAX_WORKERS, AUTOSCALE_BACKLOG_PER_WORKER,
+                AUTOSCALE_INTERVAL, AUTOSCALE_IDLE_TIMEOUT, SPILL_PATH, SPILL_SEGMENT_SIZE, SPILL_MAX_SIZE,
+                RATE_LIMIT, RATE_BURST, PRIORITY_LANES, PRIORITY_PROPERTY, PRIORITY_THRESHOLD, PRIORITY_CONCURRENCY,
+                PRIORITY_SHED_DEPTH, SHED_POLICY, SHED_DEPTH, SHED_LATENCY, SHED_MAX_AGE, SHED_SAMPLE_RATIO,
+                SHED_CONCURRENCY);
+    }
 }
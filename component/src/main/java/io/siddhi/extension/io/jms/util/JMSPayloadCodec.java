@@ -0,0 +1,357 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.util;
+
+import io.siddhi.core.event.Event;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Encodes the event payloads handled by the JMS source and sink into bytes, so that they can be kept outside
+ * the heap, and decodes them back.
+ * <p>
+ * A record holds a destination name followed by the payload and, for the records of a sink, the event the dynamic
+ * options of the message are resolved from, so that the headers and properties of a stored message are applied when
+ * it is sent later. String and binary payloads are written as is, while the entries of Map payloads and the event
+ * data are written value by value with a tag of their type, so that decoding a record only ever creates the values
+ * of the Siddhi attribute types and of JMS map messages, being strings, numbers, booleans, characters and byte
+ * arrays, and never runs code chosen by the contents of a journal or snapshot as Java deserialization would. Values
+ * of other types, such as those of object attributes, cannot be encoded. The records of the events received by a
+ * source are prefixed with the transport properties of the events.
+ */
+public class JMSPayloadCodec {
+    private static final byte STRING_PAYLOAD = 0;
+    private static final byte BYTES_PAYLOAD = 1;
+    private static final byte MAP_PAYLOAD = 2;
+    private static final byte EVENT_PAYLOAD = 3;
+    private static final byte NULL_VALUE = 0;
+    private static final byte STRING_VALUE = 1;
+    private static final byte INT_VALUE = 2;
+    private static final byte LONG_VALUE = 3;
+    private static final byte FLOAT_VALUE = 4;
+    private static final byte DOUBLE_VALUE = 5;
+    private static final byte BOOL_VALUE = 6;
+    private static final byte BYTE_VALUE = 7;
+    private static final byte SHORT_VALUE = 8;
+    private static final byte CHAR_VALUE = 9;
+    private static final byte BYTES_VALUE = 10;
+
+    private JMSPayloadCodec() {
+    }
+
+    /**
+     * Encodes the given destination, payload and event into a record.
+     *
+     * @param destination destination the payload is published to.
+     * @param payload     String, ByteBuffer, Map or Event payload.
+     * @param event       event the dynamic options of the message are resolved from, or null.
+     * @return encoded record.
+     * @throws IOException if the payload, or a value it holds, is of an unsupported type.
+     */
+    public static byte[] encode(String destination, Object payload, Event event) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(destination == null ? "" : destination);
+            writePayload(out, payload);
+            out.writeBoolean(event != null);
+            if (event != null) {
+                writeEvent(out, event);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writePayload(DataOutputStream out, Object payload) throws IOException {
+        if (payload instanceof String) {
+            out.writeByte(STRING_PAYLOAD);
+            writeString(out, (String) payload);
+        } else if (payload instanceof ByteBuffer) {
+            ByteBuffer buffer = ((ByteBuffer) payload).duplicate();
+            byte[] data = new byte[buffer.remaining()];
+            buffer.get(data);
+            out.writeByte(BYTES_PAYLOAD);
+            out.writeInt(data.length);
+            out.write(data);
+        } else if (payload instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) payload;
+            out.writeByte(MAP_PAYLOAD);
+            out.writeInt(map.size());
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                writeValue(out, entry.getKey());
+                writeValue(out, entry.getValue());
+            }
+        } else if (payload instanceof Event) {
+            out.writeByte(EVENT_PAYLOAD);
+            writeEvent(out, (Event) payload);
+        } else {
+            throw new IOException("Unsupported payload type " + (payload == null ? null : payload.getClass()));
+        }
+    }
+
+    /**
+     * Encodes an event received by a source, with its transport properties, into a record.
+     *
+     * @param payload             String, ByteBuffer or Map payload.
+     * @param transportProperties transport properties of the event, which may hold nulls.
+     * @return encoded record.
+     * @throws IOException if the payload, or a value it holds, is of an unsupported type.
+     */
+    public static byte[] encode(Object payload, String[] transportProperties) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(transportProperties.length);
+            for (String property : transportProperties) {
+                out.writeBoolean(property != null);
+                if (property != null) {
+                    out.writeUTF(property);
+                }
+            }
+            out.write(encode(null, payload, null));
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a record created by {@link #encode(Object, String[])}.
+     *
+     * @param record encoded record.
+     * @return the payload and the transport properties of the record.
+     * @throws IOException if the record cannot be decoded.
+     */
+    public static Record decodeReceived(byte[] record) throws IOException {
+        ByteArrayInputStream bytes = new ByteArrayInputStream(record);
+        String[] transportProperties;
+        try (DataInputStream in = new DataInputStream(bytes)) {
+            transportProperties = new String[in.readInt()];
+            for (int i = 0; i < transportProperties.length; i++) {
+                transportProperties[i] = in.readBoolean() ? in.readUTF() : null;
+            }
+        }
+        Record received = decode(Arrays.copyOfRange(record, record.length - bytes.available(), record.length));
+        return new Record(null, received.payload, null, transportProperties);
+    }
+
+    /**
+     * Decodes a record created by {@link #encode(String, Object, Event)}.
+     *
+     * @param record encoded record.
+     * @return the destination, the payload and the event of the record.
+     * @throws IOException if the record cannot be decoded.
+     */
+    public static Record decode(byte[] record) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+            String destination = in.readUTF();
+            Object payload = readPayload(in);
+            Event event = in.readBoolean() ? readEvent(in) : null;
+            return new Record(destination, payload, event, null);
+        }
+    }
+
+    private static Object readPayload(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case STRING_PAYLOAD:
+                return readString(in);
+            case BYTES_PAYLOAD: {
+                byte[] data = new byte[readLength(in)];
+                in.readFully(data);
+                return ByteBuffer.wrap(data);
+            }
+            case MAP_PAYLOAD: {
+                int size = readLength(in);
+                Map<Object, Object> map = new HashMap<>();
+                for (int i = 0; i < size; i++) {
+                    map.put(readValue(in), readValue(in));
+                }
+                return map;
+            }
+            case EVENT_PAYLOAD:
+                return readEvent(in);
+            default:
+                throw new IOException("Unknown payload type " + type + " in the record.");
+        }
+    }
+
+    private static void writeEvent(DataOutputStream out, Event event) throws IOException {
+        Object[] data = event.getData();
+        out.writeLong(event.getTimestamp());
+        out.writeInt(data.length);
+        for (Object value : data) {
+            writeValue(out, value);
+        }
+    }
+
+    private static Event readEvent(DataInputStream in) throws IOException {
+        long timestamp = in.readLong();
+        Object[] data = new Object[readLength(in)];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = readValue(in);
+        }
+        return new Event(timestamp, data);
+    }
+
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL_VALUE);
+        } else if (value instanceof String) {
+            out.writeByte(STRING_VALUE);
+            writeString(out, (String) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(INT_VALUE);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG_VALUE);
+            out.writeLong((Long) value);
+        } else if (value instanceof Float) {
+            out.writeByte(FLOAT_VALUE);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE_VALUE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOL_VALUE);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Byte) {
+            out.writeByte(BYTE_VALUE);
+            out.writeByte((Byte) value);
+        } else if (value instanceof Short) {
+            out.writeByte(SHORT_VALUE);
+            out.writeShort((Short) value);
+        } else if (value instanceof Character) {
+            out.writeByte(CHAR_VALUE);
+            out.writeChar((Character) value);
+        } else if (value instanceof byte[]) {
+            byte[] data = (byte[]) value;
+            out.writeByte(BYTES_VALUE);
+            out.writeInt(data.length);
+            out.write(data);
+        } else {
+            throw new IOException("Unsupported value type " + value.getClass() + " in the payload.");
+        }
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+            case NULL_VALUE:
+                return null;
+            case STRING_VALUE:
+                return readString(in);
+            case INT_VALUE:
+                return in.readInt();
+            case LONG_VALUE:
+                return in.readLong();
+            case FLOAT_VALUE:
+                return in.readFloat();
+            case DOUBLE_VALUE:
+                return in.readDouble();
+            case BOOL_VALUE:
+                return in.readBoolean();
+            case BYTE_VALUE:
+                return in.readByte();
+            case SHORT_VALUE:
+                return in.readShort();
+            case CHAR_VALUE:
+                return in.readChar();
+            case BYTES_VALUE: {
+                byte[] data = new byte[readLength(in)];
+                in.readFully(data);
+                return data;
+            }
+            default:
+                throw new IOException("Unknown value type " + type + " in the record.");
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] text = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(text.length);
+        out.write(text);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] text = new byte[readLength(in)];
+        in.readFully(text);
+        return new String(text, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a length, checking it against the bytes left in the record so that a corrupted record does not
+     * allocate a large array.
+     *
+     * @param in stream of the record.
+     * @return length read.
+     * @throws IOException if the length is invalid.
+     */
+    private static int readLength(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > in.available()) {
+            throw new IOException("Invalid length " + length + " in the record.");
+        }
+        return length;
+    }
+
+    /**
+     * Destination, payload and event decoded from a record, or payload and transport properties for the records of
+     * a source.
+     */
+    public static class Record {
+        private final String destination;
+        private final Object payload;
+        private final Event event;
+        private final String[] transportProperties;
+
+        private Record(String destination, Object payload, Event event, String[] transportProperties) {
+            this.destination = destination;
+            this.payload = payload;
+            this.event = event;
+            this.transportProperties = transportProperties;
+        }
+
+        public String getDestination() {
+            return destination;
+        }
+
+        public Object getPayload() {
+            return payload;
+        }
+
+        /**
+         * Returns the event the dynamic options of the message are resolved from.
+         *
+         * @return event of the record, or null if the record was stored without one.
+         */
+        public Event getEvent() {
+            return event;
+        }
+
+        public String[] getTransportProperties() {
+            return transportProperties;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.util;
+
+import io.siddhi.core.util.transport.DynamicOptions;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pending requests of a JMS sink publishing in request-reply mode, awaiting their replies on a JMS source.
+ * <p>
+ * Each registry hands out correlation IDs prefixed with its own ID, so that the source receiving a reply finds the
+ * registry, and the request, with a single lookup each. The requests are kept in the order they were sent and, as
+ * every request of a registry has the same timeout, that is also the order they expire in. When the registry is
+ * full the oldest request is expired early.
+ */
+public final class JMSRequestRegistry {
+    private static final char ID_SEPARATOR = ':';
+    private static final Map<String, JMSRequestRegistry> REGISTRIES = new ConcurrentHashMap<>();
+
+    private final String id;
+    // positions of the attributes in the data of the request events, by name
+    private final Map<String, Integer> attributeIndexes;
+    private final int maxPending;
+    private final long timeout;
+    private final AtomicLong sequence = new AtomicLong();
+    private final LinkedHashMap<String, PendingRequest> pendingRequests = new LinkedHashMap<>();
+
+    private JMSRequestRegistry(String[] attributeNames, int maxPending, long timeout) {
+        this.id = UUID.randomUUID().toString();
+        this.attributeIndexes = new HashMap<>(attributeNames.length * 2);
+        for (int i = 0; i < attributeNames.length; i++) {
+            attributeIndexes.putIfAbsent(attributeNames[i], i);
+        }
+        this.maxPending = maxPending;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Creates a registry and makes it visible to the JMS sources receiving the replies.
+     *
+     * @param attributeNames names of the attributes of the request events.
+     * @param maxPending     maximum number of requests awaiting replies.
+     * @param timeout        time in milliseconds a request waits for its reply.
+     * @return created registry.
+     */
+    public static JMSRequestRegistry create(String[] attributeNames, int maxPending, long timeout) {
+        JMSRequestRegistry registry = new JMSRequestRegistry(attributeNames, maxPending, timeout);
+        REGISTRIES.put(registry.id, registry);
+        return registry;
+    }
+
+    /**
+     * Completes the request the given reply correlation ID belongs to.
+     *
+     * @param correlationId correlation ID of the reply.
+     * @return completed request, or null if the request is unknown or has already expired.
+     */
+    public static PendingRequest complete(String correlationId) {
+        if (correlationId == null) {
+            return null;
+        }
+        int separator = correlationId.lastIndexOf(ID_SEPARATOR);
+        if (separator < 0) {
+            return null;
+        }
+        JMSRequestRegistry registry = REGISTRIES.get(correlationId.substring(0, separator));
+        return registry == null ? null : registry.remove(correlationId);
+    }
+
+    public String nextCorrelationId() {
+        return id + ID_SEPARATOR + sequence.incrementAndGet();
+    }
+
+    /**
+     * Registers a request which is about to be sent.
+     *
+     * @param correlationId    correlation ID stamped on the request.
+     * @param payload          payload of the request.
+     * @param transportOptions dynamic options of the request event, null when they are not known.
+     * @return requests expired early to keep the registry within its limit.
+     */
+    public synchronized List<PendingRequest> register(String correlationId, Object payload,
+                                                      DynamicOptions transportOptions) {
+        Object[] data = transportOptions == null || transportOptions.getEvent() == null ? null
+                : transportOptions.getEvent().getData();
+        pendingRequests.put(correlationId, new PendingRequest(payload, transportOptions, data,
+                System.currentTimeMillis() + timeout));
+        if (pendingRequests.size() <= maxPending) {
+            return Collections.emptyList();
+        }
+        List<PendingRequest> evicted = new ArrayList<>();
+        Iterator<PendingRequest> iterator = pendingRequests.values().iterator();
+        while (pendingRequests.size() > maxPending) {
+            evicted.add(iterator.next());
+            iterator.remove();
+        }
+        return evicted;
+    }
+
+    public synchronized PendingRequest remove(String correlationId) {
+        return pendingRequests.remove(correlationId);
+    }
+
+    /**
+     * Removes the requests which have waited for their replies longer than the timeout.
+     *
+     * @param currentTime current time in milliseconds.
+     * @return expired requests.
+     */
+    public synchronized List<PendingRequest> expire(long currentTime) {
+        List<PendingRequest> expired = new ArrayList<>();
+        Iterator<PendingRequest> iterator = pendingRequests.values().iterator();
+        while (iterator.hasNext()) {
+            PendingRequest request = iterator.next();
+            if (request.deadline > currentTime) {
+                break;
+            }
+            expired.add(request);
+            iterator.remove();
+        }
+        return expired;
+    }
+
+    public synchronized int getPendingCount() {
+        return pendingRequests.size();
+    }
+
+    /**
+     * Drops all the pending requests and hides the registry from the JMS sources.
+     */
+    public synchronized void close() {
+        REGISTRIES.remove(id);
+        pendingRequests.clear();
+    }
+
+    /**
+     * A request awaiting its reply.
+     */
+    public final class PendingRequest {
+        private final Object payload;
+        private final DynamicOptions transportOptions;
+        private final Object[] data;
+        private final long deadline;
+
+        private PendingRequest(Object payload, DynamicOptions transportOptions, Object[] data, long deadline) {
+            this.payload = payload;
+            this.transportOptions = transportOptions;
+            this.data = data;
+            this.deadline = deadline;
+        }
+
+        public Object getPayload() {
+            return payload;
+        }
+
+        public DynamicOptions getTransportOptions() {
+            return transportOptions;
+        }
+
+        /**
+         * Returns the value of an attribute of the request event.
+         *
+         * @param attributeName name of the attribute.
+         * @return attribute value, or null if the request event or the attribute is not known.
+         */
+        public Object getAttribute(String attributeName) {
+            if (data == null) {
+                return null;
+            }
+            Integer index = attributeIndexes.get(attributeName);
+            return index == null || index >= data.length ? null : data[index];
+        }
+    }
+}
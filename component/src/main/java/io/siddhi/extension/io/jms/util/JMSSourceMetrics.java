@@ -0,0 +1,141 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.util;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Counters of a JMS source, published in a JVM-wide registry so that they can be read per Siddhi app, the way
+ * {@link JMSConnectionStatus} publishes the connection states.
+ */
+public final class JMSSourceMetrics {
+    private static final Map<Long, JMSSourceMetrics> METRICS = new ConcurrentHashMap<>();
+    private static final AtomicLong IDS = new AtomicLong();
+
+    private final long id;
+    private final String siddhiAppName;
+    private final String streamId;
+    private final LongAdder rateLimitedEvents = new LongAdder();
+    private final LongAdder rateLimitedNanos = new LongAdder();
+    private final LongAdder shedMessages = new LongAdder();
+
+    private JMSSourceMetrics(String siddhiAppName, String streamId) {
+        this.id = IDS.incrementAndGet();
+        this.siddhiAppName = siddhiAppName;
+        this.streamId = streamId;
+    }
+
+    /**
+     * Registers the counters of a source.
+     *
+     * @param siddhiAppName name of the Siddhi app of the source.
+     * @param streamId      id of the stream of the source.
+     * @return the counters, all zero.
+     */
+    public static JMSSourceMetrics register(String siddhiAppName, String streamId) {
+        JMSSourceMetrics metrics = new JMSSourceMetrics(siddhiAppName, streamId);
+        METRICS.put(metrics.id, metrics);
+        return metrics;
+    }
+
+    /**
+     * Gives the counters of the JMS sources of a Siddhi app.
+     *
+     * @param siddhiAppName name of the Siddhi app.
+     * @return the counters, in the order the sources were created.
+     */
+    public static List<JMSSourceMetrics> getMetrics(String siddhiAppName) {
+        return METRICS.values().stream()
+                .filter(metrics -> metrics.siddhiAppName.equals(siddhiAppName))
+                .sorted((first, second) -> Long.compare(first.id, second.id))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Removes the counters from the registry, when their source is destroyed.
+     */
+    public void unregister() {
+        METRICS.remove(id);
+    }
+
+    /**
+     * Records an event held back by the rate limit of the source.
+     *
+     * @param waitNanos time the event waited for, in nanoseconds.
+     */
+    public void rateLimited(long waitNanos) {
+        rateLimitedEvents.increment();
+        rateLimitedNanos.add(waitNanos);
+    }
+
+    /**
+     * Records a message dropped by the source, as the app is falling behind.
+     */
+    public void shed() {
+        shedMessages.increment();
+    }
+
+    public String getSiddhiAppName() {
+        return siddhiAppName;
+    }
+
+    public String getStreamId() {
+        return streamId;
+    }
+
+    /**
+     * Gives the number of events which waited for the rate limit of the source.
+     *
+     * @return the number of events.
+     */
+    public long getRateLimitedEvents() {
+        return rateLimitedEvents.sum();
+    }
+
+    /**
+     * Gives the total time the events waited for the rate limit of the source.
+     *
+     * @return the time in milliseconds.
+     */
+    public long getRateLimitedTime() {
+        return TimeUnit.NANOSECONDS.toMillis(rateLimitedNanos.sum());
+    }
+
+    /**
+     * Gives the number of messages dropped by the source, as the app was falling behind.
+     *
+     * @return the number of messages.
+     */
+    public long getShedMessages() {
+        return shedMessages.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "JMS source of stream: " + streamId + " of Siddhi app: " + siddhiAppName + " waited "
+                + getRateLimitedTime() + " ms for the rate limit, over " + getRateLimitedEvents() + " events, and "
+                + "shed " + getShedMessages() + " messages";
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.sink;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Class implementing the Test cases for the circuit breaker of the JMS sink.
+ */
+public class JMSCircuitBreakerTestCase {
+
+    @Test
+    public void testOpensAfterConsecutiveFailures() {
+        JMSCircuitBreaker breaker = new JMSCircuitBreaker("test", 2, 10000, 10000, null);
+        breaker.onFailure();
+        Assert.assertEquals(breaker.getState(), JMSCircuitBreaker.State.CLOSED);
+        Assert.assertTrue(breaker.tryAcquire());
+        breaker.onSuccess();
+        breaker.onFailure();
+        Assert.assertEquals(breaker.getState(), JMSCircuitBreaker.State.CLOSED);
+        breaker.onFailure();
+        Assert.assertEquals(breaker.getState(), JMSCircuitBreaker.State.OPEN);
+        Assert.assertTrue(breaker.isOpen());
+        Assert.assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    public void testHalfOpenProbeClosesCircuit() throws InterruptedException {
+        AtomicInteger preparations = new AtomicInteger();
+        JMSCircuitBreaker breaker = new JMSCircuitBreaker("test", 1, 10, 10, preparations::incrementAndGet);
+        breaker.onFailure();
+        Assert.assertEquals(breaker.getState(), JMSCircuitBreaker.State.OPEN);
+        Thread.sleep(50);
+        Assert.assertFalse(breaker.isOpen());
+        Assert.assertTrue(breaker.tryAcquire());
+        Assert.assertEquals(breaker.getState(), JMSCircuitBreaker.State.HALF_OPEN);
+        // a single probe is let through while half open
+        Assert.assertFalse(breaker.tryAcquire());
+        Assert.assertEquals(preparations.get(), 1);
+        breaker.onSuccess();
+        Assert.assertEquals(breaker.getState(), JMSCircuitBreaker.State.CLOSED);
+        Assert.assertTrue(breaker.tryAcquire());
+        Assert.assertTrue(breaker.tryAcquire());
+        Assert.assertEquals(preparations.get(), 1);
+    }
+
+    @Test
+    public void testFailedProbeOpensCircuitAgain() throws InterruptedException {
+        JMSCircuitBreaker breaker = new JMSCircuitBreaker("test", 1, 10, 10, null);
+        breaker.onFailure();
+        Thread.sleep(50);
+        Assert.assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+        Assert.assertEquals(breaker.getState(), JMSCircuitBreaker.State.OPEN);
+        Thread.sleep(50);
+        Assert.assertTrue(breaker.tryAcquire());
+        Assert.assertEquals(breaker.getState(), JMSCircuitBreaker.State.HALF_OPEN);
+    }
+
+    @Test(timeOut = 10000)
+    public void testSlowHalfOpenListenerDoesNotBlockOtherSends() throws InterruptedException {
+        CountDownLatch preparing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        JMSCircuitBreaker breaker = new JMSCircuitBreaker("test", 1, 10, 10, () -> {
+            preparing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        breaker.onFailure();
+        Thread.sleep(50);
+        AtomicBoolean probing = new AtomicBoolean();
+        Thread prober = new Thread(() -> probing.set(breaker.tryAcquire()));
+        prober.start();
+        Assert.assertTrue(preparing.await(5, TimeUnit.SECONDS));
+        // the other senders are turned away without waiting for the reconnection of the prober
+        Assert.assertFalse(breaker.tryAcquire());
+        Assert.assertEquals(breaker.getState(), JMSCircuitBreaker.State.HALF_OPEN);
+        release.countDown();
+        prober.join();
+        Assert.assertTrue(probing.get());
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.sink;
+
+import io.siddhi.core.event.Event;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class implementing the Test cases for the confirm tracking of the JMS sink.
+ */
+public class JMSConfirmTrackerTestCase {
+
+    @Test
+    public void testWatermarkAdvancesOverConfirmedSends() throws InterruptedException {
+        JMSConfirmTracker tracker = new JMSConfirmTracker(4);
+        long first = tracker.track("queue", "event-0", null, 1000);
+        long second = tracker.track("queue", "event-1", null, 1000);
+        long third = tracker.track("queue", "event-2", null, 1000);
+        Assert.assertEquals(tracker.getWatermark(), -1);
+        tracker.confirm(second);
+        Assert.assertEquals(tracker.getWatermark(), -1);
+        Assert.assertEquals(tracker.getUnconfirmedCount(), 2);
+        tracker.confirm(first);
+        Assert.assertEquals(tracker.getWatermark(), second);
+        tracker.confirm(third);
+        Assert.assertEquals(tracker.getWatermark(), third);
+        Assert.assertEquals(tracker.getUnconfirmedCount(), 0);
+    }
+
+    @Test
+    public void testCollectUnconfirmedAcrossRing() throws InterruptedException {
+        JMSConfirmTracker tracker = new JMSConfirmTracker(2);
+        for (int i = 0; i < 5; i++) {
+            long sequence = tracker.track("queue", "event-" + i, null, 1000);
+            if (i < 3) {
+                tracker.confirm(sequence);
+            }
+        }
+        List<String> destinations = new ArrayList<>();
+        List<Object> payloads = new ArrayList<>();
+        List<Event> events = new ArrayList<>();
+        tracker.collectUnconfirmed(destinations, payloads, events);
+        Assert.assertEquals(payloads.size(), 2);
+        Assert.assertEquals(payloads.get(0), "event-3");
+        Assert.assertEquals(payloads.get(1), "event-4");
+        Assert.assertEquals(destinations.get(0), "queue");
+        Assert.assertEquals(events.size(), 2);
+    }
+
+    @Test
+    public void testTrackingTimesOutWhileFull() throws InterruptedException {
+        JMSConfirmTracker tracker = new JMSConfirmTracker(1);
+        long first = tracker.track("queue", "event-0", null, 1000);
+        long start = System.currentTimeMillis();
+        Assert.assertEquals(tracker.track("queue", "event-1", null, 100), JMSConfirmTracker.UNTRACKED);
+        Assert.assertTrue(System.currentTimeMillis() - start >= 100);
+        tracker.confirm(first);
+        Assert.assertEquals(tracker.track("queue", "event-1", null, 100), first + 1);
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.sink;
+
+import io.siddhi.extension.io.jms.util.JMSOptionsMapper;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class implementing the Test cases for distributing the sends of the JMS sink over its brokers.
+ */
+public class JMSLoadBalancerTestCase {
+    private static final long EJECT_TIME = 300;
+
+    @Test
+    public void testRoundRobin() {
+        JMSBrokerEndpoint[] endpoints = endpoints(3);
+        JMSLoadBalancer loadBalancer = new JMSLoadBalancer(endpoints, JMSOptionsMapper.LOAD_BALANCE_ROUND_ROBIN,
+                0, EJECT_TIME);
+        for (int i = 0; i < 6; i++) {
+            Assert.assertSame(loadBalancer.select(null), endpoints[i % 3]);
+        }
+    }
+
+    @Test
+    public void testHashKeyStickiness() {
+        JMSBrokerEndpoint[] endpoints = endpoints(3);
+        JMSLoadBalancer loadBalancer = new JMSLoadBalancer(endpoints, JMSOptionsMapper.LOAD_BALANCE_HASH,
+                0, EJECT_TIME);
+        Set<JMSBrokerEndpoint> selected = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            JMSBrokerEndpoint endpoint = loadBalancer.select("key-" + i);
+            for (int j = 0; j < 5; j++) {
+                Assert.assertSame(loadBalancer.select("key-" + i), endpoint, "A key should stick to its broker.");
+            }
+            selected.add(endpoint);
+        }
+        Assert.assertEquals(selected.size(), 3, "The keys should be spread over the brokers.");
+    }
+
+    @Test
+    public void testHashKeyMovesWhileEjected() throws InterruptedException {
+        JMSBrokerEndpoint[] endpoints = endpoints(3);
+        JMSLoadBalancer loadBalancer = new JMSLoadBalancer(endpoints, JMSOptionsMapper.LOAD_BALANCE_HASH,
+                0, EJECT_TIME);
+        JMSBrokerEndpoint endpoint = loadBalancer.select("JAMES");
+        endpoint.beginSend();
+        endpoint.endFailedSend(EJECT_TIME);
+        JMSBrokerEndpoint fallback = loadBalancer.select("JAMES");
+        Assert.assertNotSame(fallback, endpoint);
+        Assert.assertSame(loadBalancer.select("JAMES"), fallback);
+        Thread.sleep(EJECT_TIME + 50);
+        Assert.assertSame(loadBalancer.select("JAMES"), endpoint, "The key should return to its broker.");
+    }
+
+    @Test
+    public void testFailingEndpointEjectedAndRestored() throws InterruptedException {
+        JMSBrokerEndpoint[] endpoints = endpoints(3);
+        JMSLoadBalancer loadBalancer = new JMSLoadBalancer(endpoints, JMSOptionsMapper.LOAD_BALANCE_ROUND_ROBIN,
+                0, EJECT_TIME);
+        endpoints[1].beginSend();
+        endpoints[1].endFailedSend(EJECT_TIME);
+        Assert.assertEquals(endpoints[1].getInFlight(), 0);
+        for (int i = 0; i < 6; i++) {
+            Assert.assertNotSame(loadBalancer.select(null), endpoints[1], "A failing broker should be ejected.");
+        }
+        Thread.sleep(EJECT_TIME + 50);
+        Set<JMSBrokerEndpoint> selected = new HashSet<>();
+        for (int i = 0; i < 3; i++) {
+            selected.add(loadBalancer.select(null));
+        }
+        Assert.assertTrue(selected.contains(endpoints[1]), "The broker should be restored after the eject time.");
+    }
+
+    @Test
+    public void testSlowEndpointEjectedAndRestored() throws InterruptedException {
+        JMSBrokerEndpoint[] endpoints = endpoints(2);
+        JMSLoadBalancer loadBalancer = new JMSLoadBalancer(endpoints, JMSOptionsMapper.LOAD_BALANCE_ROUND_ROBIN,
+                10, EJECT_TIME);
+        endpoints[0].beginSend();
+        endpoints[0].endSend(TimeUnit.MILLISECONDS.toNanos(1), loadBalancer.getEjectLatency(),
+                loadBalancer.getEjectTime());
+        Assert.assertTrue(endpoints[0].isAvailable(System.currentTimeMillis()));
+        endpoints[0].beginSend();
+        endpoints[0].endSend(TimeUnit.MILLISECONDS.toNanos(200), loadBalancer.getEjectLatency(),
+                loadBalancer.getEjectTime());
+        for (int i = 0; i < 4; i++) {
+            Assert.assertSame(loadBalancer.select(null), endpoints[1], "A slow broker should be ejected.");
+        }
+        // the latency starts afresh once the broker is back
+        Assert.assertEquals(endpoints[0].getAverageLatency(), 0.0);
+        Thread.sleep(EJECT_TIME + 50);
+        Set<JMSBrokerEndpoint> selected = new HashSet<>();
+        for (int i = 0; i < 2; i++) {
+            selected.add(loadBalancer.select(null));
+        }
+        Assert.assertTrue(selected.contains(endpoints[0]), "The broker should be restored after the eject time.");
+    }
+
+    @Test
+    public void testAllEndpointsEjected() {
+        JMSBrokerEndpoint[] endpoints = endpoints(3);
+        JMSLoadBalancer loadBalancer = new JMSLoadBalancer(endpoints, JMSOptionsMapper.LOAD_BALANCE_ROUND_ROBIN,
+                0, EJECT_TIME);
+        endpoints[0].eject(EJECT_TIME * 3);
+        endpoints[1].eject(EJECT_TIME);
+        endpoints[2].eject(EJECT_TIME * 2);
+        for (int i = 0; i < 3; i++) {
+            Assert.assertSame(loadBalancer.select(null), endpoints[1], "The broker returning first should be used.");
+        }
+    }
+
+    @Test
+    public void testLeastInFlight() {
+        JMSBrokerEndpoint[] endpoints = endpoints(2);
+        JMSLoadBalancer loadBalancer = new JMSLoadBalancer(endpoints,
+                JMSOptionsMapper.LOAD_BALANCE_LEAST_IN_FLIGHT, 0, EJECT_TIME);
+        endpoints[0].beginSend();
+        Assert.assertSame(loadBalancer.select(null), endpoints[1]);
+        endpoints[1].beginSend();
+        endpoints[1].beginSend();
+        Assert.assertSame(loadBalancer.select(null), endpoints[0]);
+    }
+
+    @Test
+    public void testSplitProviderUrls() {
+        Assert.assertEquals(JMSLoadBalancer.splitProviderUrls(
+                "tcp://host1:61616, failover:(tcp://host2:61616,tcp://host3:61616),,tcp://host4:61616"),
+                Arrays.asList("tcp://host1:61616", "failover:(tcp://host2:61616,tcp://host3:61616)",
+                        "tcp://host4:61616"));
+    }
+
+    private static JMSBrokerEndpoint[] endpoints(int count) {
+        JMSBrokerEndpoint[] endpoints = new JMSBrokerEndpoint[count];
+        for (int i = 0; i < count; i++) {
+            endpoints[i] = new JMSBrokerEndpoint("vm://broker" + i, new HashMap<>(), false);
+        }
+        return endpoints;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.sink;
+
+import io.siddhi.core.SiddhiAppRuntime;
+import io.siddhi.core.SiddhiManager;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Class implementing the Test cases for the thread pool running the asynchronous sends of the JMS sink.
+ */
+public class JMSPublisherExecutorTestCase {
+    private SiddhiAppRuntime executionPlanRuntime;
+    private JMSSink sink;
+
+    @BeforeClass
+    public void init() {
+        // a sink to create the publishers of the tests from
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String inStreamDefinition = "" +
+                "@sink(type='jms', @map(type='json'), "
+                + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                + "provider.url='vm://localhost',"
+                + "destination='DAS_JMS_EXECUTOR_TEST'"
+                + ")" +
+                "define stream inputStream (name string, age int, country string);";
+        executionPlanRuntime = siddhiManager.createSiddhiAppRuntime(inStreamDefinition);
+        sink = (JMSSink) executionPlanRuntime.getSinks().iterator().next().get(0);
+        executionPlanRuntime.start();
+    }
+
+    @AfterClass
+    public void destroy() {
+        if (executionPlanRuntime != null) {
+            executionPlanRuntime.shutdown();
+        }
+    }
+
+    @Test(timeOut = 10000)
+    public void testFullQueueMakesPublishWait() throws InterruptedException {
+        JMSPublisherExecutor executor = new JMSPublisherExecutor("test-publisher", 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> await(release));
+        executor.execute(() -> {
+        });
+        AtomicBoolean submitted = new AtomicBoolean();
+        Thread submitter = new Thread(() -> {
+            executor.execute(() -> {
+            });
+            submitted.set(true);
+        });
+        submitter.start();
+        Thread.sleep(300);
+        Assert.assertFalse(submitted.get(), "The send should wait for room in the queue.");
+        Assert.assertTrue(submitter.isAlive());
+        release.countDown();
+        submitter.join();
+        Assert.assertTrue(submitted.get());
+        executor.shutdown();
+        Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test(timeOut = 10000)
+    public void testWaitingPublishRejectedOnShutdown() throws InterruptedException {
+        JMSPublisherExecutor executor = new JMSPublisherExecutor("test-publisher", 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> await(release));
+        executor.execute(() -> {
+        });
+        AtomicReference<RuntimeException> error = new AtomicReference<>();
+        Thread submitter = new Thread(() -> {
+            try {
+                executor.execute(() -> {
+                });
+            } catch (RuntimeException e) {
+                error.set(e);
+            }
+        });
+        submitter.start();
+        Thread.sleep(300);
+        executor.shutdown();
+        submitter.join();
+        Assert.assertTrue(error.get() instanceof RejectedExecutionException);
+        release.countDown();
+        Assert.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test(timeOut = 20000)
+    public void testDrainCompletesWithinTimeout() throws InterruptedException {
+        JMSPublisherExecutor executor = new JMSPublisherExecutor("test-publisher", 2, 16);
+        for (int i = 0; i < 5; i++) {
+            executor.execute(sink.createPublisher("DAS_JMS_EXECUTOR_TEST", "{\"event\":{\"name\":\"JAMES\"}}",
+                    null));
+        }
+        long start = System.currentTimeMillis();
+        JMSPublisherExecutor.DrainResult result = executor.drain(10000);
+        Assert.assertTrue(System.currentTimeMillis() - start < 10000, "The drain should not wait for its timeout.");
+        Assert.assertTrue(executor.isTerminated());
+        Assert.assertEquals(result.getFlushedEvents(), 5);
+        Assert.assertTrue(result.getAbandonedPublishers().isEmpty());
+        Assert.assertEquals(result.getAbandonedEvents(), 0);
+        Assert.assertEquals(result.getInterruptedSends(), 0);
+    }
+
+    @Test(timeOut = 10000)
+    public void testPendingSendsAbandonedAfterTimeout() throws InterruptedException {
+        JMSPublisherExecutor executor = new JMSPublisherExecutor("test-publisher", 1, 16);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch blocked = new CountDownLatch(1);
+        executor.execute(() -> {
+            blocked.countDown();
+            await(release);
+        });
+        Assert.assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 3; i++) {
+            executor.execute(sink.createPublisher("DAS_JMS_EXECUTOR_TEST", "{\"event\":{\"name\":\"JAMES\"}}",
+                    null));
+        }
+        long start = System.currentTimeMillis();
+        JMSPublisherExecutor.DrainResult result = executor.drain(200);
+        Assert.assertTrue(System.currentTimeMillis() - start >= 200);
+        Assert.assertEquals(result.getFlushedEvents(), 0);
+        Assert.assertEquals(result.getAbandonedPublishers().size(), 3);
+        Assert.assertEquals(result.getAbandonedEvents(), 3);
+        Assert.assertEquals(result.getInterruptedSends(), 1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
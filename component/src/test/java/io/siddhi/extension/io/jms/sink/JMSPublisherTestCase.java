@@ -0,0 +1,103 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.sink;
+
+import org.apache.activemq.command.ActiveMQBytesMessage;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.ByteBuffer;
+import javax.jms.BytesMessage;
+import javax.jms.JMSException;
+
+/**
+ * Class implementing the Test cases for writing ByteBuffer payloads into JMS messages.
+ */
+public class JMSPublisherTestCase {
+
+    @Test
+    public void testFlippedHeapBuffer() throws JMSException {
+        ByteBuffer buffer = ByteBuffer.allocate(16);
+        buffer.put(bytes(0, 10));
+        buffer.flip();
+        buffer.get();
+        Assert.assertEquals(written(buffer), bytes(1, 9));
+        Assert.assertEquals(buffer.position(), 1);
+        Assert.assertEquals(buffer.limit(), 10);
+    }
+
+    @Test
+    public void testFullyReadHeapBuffer() throws JMSException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes(0, 10));
+        buffer.position(10);
+        // nothing remaining, so the bytes already read are not published again
+        Assert.assertEquals(written(buffer), new byte[0]);
+        Assert.assertEquals(buffer.position(), 10);
+    }
+
+    @Test
+    public void testDirectBufferLargerThanStaging() throws JMSException {
+        byte[] payload = bytes(0, 20000);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(payload.length + 8);
+        buffer.position(8);
+        buffer.put(payload);
+        buffer.position(8);
+        Assert.assertEquals(written(buffer), payload);
+        Assert.assertEquals(buffer.position(), 8);
+        Assert.assertEquals(buffer.limit(), payload.length + 8);
+    }
+
+    @Test
+    public void testSlicedBuffer() throws JMSException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes(0, 32));
+        buffer.position(8);
+        buffer.limit(24);
+        ByteBuffer slice = buffer.slice();
+        slice.position(4);
+        // the array offset of the slice is taken into account
+        Assert.assertEquals(written(slice), bytes(12, 12));
+        Assert.assertEquals(slice.position(), 4);
+        Assert.assertEquals(buffer.position(), 8);
+    }
+
+    @Test
+    public void testReadOnlyBuffer() throws JMSException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes(0, 10)).asReadOnlyBuffer();
+        buffer.position(3);
+        Assert.assertEquals(written(buffer), bytes(3, 7));
+        Assert.assertEquals(buffer.position(), 3);
+    }
+
+    private byte[] written(ByteBuffer buffer) throws JMSException {
+        BytesMessage message = new ActiveMQBytesMessage();
+        JMSPublisher.writeBytes(message, buffer);
+        message.reset();
+        byte[] body = new byte[(int) message.getBodyLength()];
+        message.readBytes(body);
+        return body;
+    }
+
+    private byte[] bytes(int from, int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (from + i);
+        }
+        return bytes;
+    }
+}
@@ -20,14 +20,37 @@ package io.siddhi.extension.io.jms.sink;
 
 import io.siddhi.core.SiddhiAppRuntime;
 import io.siddhi.core.SiddhiManager;
+import io.siddhi.core.event.Event;
+import io.siddhi.core.exception.ConnectionUnavailableException;
 import io.siddhi.core.exception.SiddhiAppCreationException;
 import io.siddhi.core.stream.input.InputHandler;
+import io.siddhi.core.stream.output.StreamCallback;
+import io.siddhi.extension.io.jms.sink.util.EmbeddedBroker;
 import io.siddhi.extension.io.jms.sink.util.JMSClient;
 import io.siddhi.extension.io.jms.sink.util.ResultContainer;
+import io.siddhi.extension.io.jms.util.JMSConnectionStatus;
 import io.siddhi.query.api.exception.SiddhiAppValidationException;
+import org.apache.activemq.ActiveMQConnectionFactory;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.jms.Connection;
+import javax.jms.JMSException;
+import javax.jms.MapMessage;
+import javax.jms.MessageConsumer;
+import javax.jms.Session;
+import javax.jms.TextMessage;
+
 /**
  * Class implementing the Test cases for JMS Sink.
  */
@@ -263,4 +286,672 @@ public class JMSSinkTestCase {
             }
         }
     }
+
+    /**
+     * Test for configure the JMS Sink publish message to an ActiveMQ queue on the publishing thread.
+     */
+    @Test(dependsOnMethods = "jmsTopicPublishTest6")
+    public void jmsQueueSyncPublishTest() throws InterruptedException {
+        SiddhiAppRuntime executionPlanRuntime = null;
+        ResultContainer resultContainer = new ResultContainer(2);
+        JMSClient client = new JMSClient("activemq", "", "DAS_JMS_OUTPUT_TEST", resultContainer);
+        try {
+            //init
+            Thread listenerThread = new Thread(client);
+            listenerThread.start();
+            Thread.sleep(1000);
+
+            // deploying the execution plan
+            SiddhiManager siddhiManager = new SiddhiManager();
+            String inStreamDefinition = "" +
+                    "@sink(type='jms', @map(type='json'), "
+                    + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                    + "provider.url='vm://localhost',"
+                    + "destination='DAS_JMS_OUTPUT_TEST',"
+                    + "publish.mode='sync'"
+                    + ")" +
+                    "define stream inputStream (name string, age int, country string);";
+            executionPlanRuntime = siddhiManager.
+                    createSiddhiAppRuntime(inStreamDefinition);
+            InputHandler inputStream = executionPlanRuntime.getInputHandler("inputStream");
+            executionPlanRuntime.start();
+            Thread.sleep(100);
+            inputStream.send(new Object[]{"JAMES", 23, "USA"});
+            inputStream.send(new Object[]{"MIKE", 23, "Germany"});
+
+            Assert.assertTrue(resultContainer.assertMessageContent("JAMES"));
+            Assert.assertTrue(resultContainer.assertMessageContent("MIKE"));
+        } finally {
+            client.shutdown();
+            if (executionPlanRuntime != null) {
+                executionPlanRuntime.shutdown();
+            }
+        }
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void jmsInvalidPublishModeTest() throws InterruptedException {
+        SiddhiAppRuntime executionPlanRuntime = null;
+        try {
+            // deploying the execution plan
+            SiddhiManager siddhiManager = new SiddhiManager();
+            String inStreamDefinition = "" +
+                    "@sink(type='jms', @map(type='json'), "
+                    + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                    + "provider.url='vm://localhost',"
+                    + "destination='DAS_JMS_OUTPUT_TEST',"
+                    + "publish.mode='blocking'"
+                    + ")" +
+                    "define stream inputStream (name string, age int, country string);";
+            executionPlanRuntime = siddhiManager.
+                    createSiddhiAppRuntime(inStreamDefinition);
+        } finally {
+            if (executionPlanRuntime != null) {
+                executionPlanRuntime.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Test for configure the JMS Sink publish typed Map messages to an ActiveMQ queue from pass through events.
+     */
+    @Test(dependsOnMethods = "jmsQueueSyncPublishTest")
+    public void jmsQueuePassThroughPublishTest() throws InterruptedException, JMSException {
+        SiddhiAppRuntime executionPlanRuntime = null;
+        Connection connection = new ActiveMQConnectionFactory("vm://localhost").createConnection();
+        try {
+            connection.start();
+            Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            MessageConsumer consumer = session.createConsumer(session.createQueue("DAS_JMS_OUTPUT_TEST"));
+
+            // deploying the execution plan
+            SiddhiManager siddhiManager = new SiddhiManager();
+            String inStreamDefinition = "" +
+                    "@sink(type='jms', @map(type='passThrough'), "
+                    + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                    + "provider.url='vm://localhost',"
+                    + "destination='DAS_JMS_OUTPUT_TEST' "
+                    + ")" +
+                    "define stream inputStream (name string, age int, weight double, active bool);";
+            executionPlanRuntime = siddhiManager.
+                    createSiddhiAppRuntime(inStreamDefinition);
+            InputHandler inputStream = executionPlanRuntime.getInputHandler("inputStream");
+            executionPlanRuntime.start();
+            Thread.sleep(100);
+            inputStream.send(new Object[]{"JAMES", 23, 72.5, true});
+            inputStream.send(new Object[]{"MIKE", 31, 80.0, false});
+
+            MapMessage james = (MapMessage) consumer.receive(10000);
+            Assert.assertNotNull(james);
+            Assert.assertEquals(james.getObject("name"), "JAMES");
+            // the attributes keep their types rather than being written as strings or objects
+            Assert.assertTrue(james.getObject("age") instanceof Integer);
+            Assert.assertEquals(james.getInt("age"), 23);
+            Assert.assertTrue(james.getObject("weight") instanceof Double);
+            Assert.assertEquals(james.getDouble("weight"), 72.5);
+            Assert.assertTrue(james.getObject("active") instanceof Boolean);
+            Assert.assertTrue(james.getBoolean("active"));
+            MapMessage mike = (MapMessage) consumer.receive(10000);
+            Assert.assertNotNull(mike);
+            Assert.assertEquals(mike.getObject("name"), "MIKE");
+            Assert.assertEquals(mike.getObject("age"), 31);
+            Assert.assertEquals(mike.getObject("active"), Boolean.FALSE);
+        } finally {
+            if (executionPlanRuntime != null) {
+                executionPlanRuntime.shutdown();
+            }
+            connection.close();
+        }
+    }
+
+    /**
+     * Test for configure the JMS Sink pack events into a single message published to an ActiveMQ queue.
+     */
+    @Test(dependsOnMethods = "jmsQueuePassThroughPublishTest")
+    public void jmsQueueBatchPublishTest() throws InterruptedException {
+        SiddhiAppRuntime executionPlanRuntime = null;
+        ResultContainer resultContainer = new ResultContainer(1);
+        JMSClient client = new JMSClient("activemq", "", "DAS_JMS_OUTPUT_TEST", resultContainer);
+        try {
+            //init
+            Thread listenerThread = new Thread(client);
+            listenerThread.start();
+            Thread.sleep(1000);
+
+            // deploying the execution plan
+            SiddhiManager siddhiManager = new SiddhiManager();
+            String inStreamDefinition = "" +
+                    "@sink(type='jms', @map(type='json'), "
+                    + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                    + "provider.url='vm://localhost',"
+                    + "destination='DAS_JMS_OUTPUT_TEST',"
+                    + "batch.size='2', batch.timeout='60000'"
+                    + ")" +
+                    "define stream inputStream (name string, age int, country string);";
+            executionPlanRuntime = siddhiManager.
+                    createSiddhiAppRuntime(inStreamDefinition);
+            InputHandler inputStream = executionPlanRuntime.getInputHandler("inputStream");
+            executionPlanRuntime.start();
+            Thread.sleep(100);
+            inputStream.send(new Object[]{"JAMES", 23, "USA"});
+            inputStream.send(new Object[]{"MIKE", 23, "Germany"});
+
+            Assert.assertTrue(resultContainer.assertMessageContent("JAMES"));
+            Assert.assertTrue(resultContainer.assertMessageContent("MIKE"));
+        } finally {
+            client.shutdown();
+            if (executionPlanRuntime != null) {
+                executionPlanRuntime.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Test for configure the JMS Sink pack events into messages bounded by their size only.
+     */
+    @Test(dependsOnMethods = "jmsQueueBatchPublishTest")
+    public void jmsQueueBatchBytesPublishTest() throws InterruptedException {
+        SiddhiAppRuntime executionPlanRuntime = null;
+        ResultContainer resultContainer = new ResultContainer(1);
+        JMSClient client = new JMSClient("activemq", "", "DAS_JMS_OUTPUT_TEST", resultContainer);
+        try {
+            //init
+            Thread listenerThread = new Thread(client);
+            listenerThread.start();
+            Thread.sleep(1000);
+
+            // deploying the execution plan
+            SiddhiManager siddhiManager = new SiddhiManager();
+            String inStreamDefinition = "" +
+                    "@sink(type='jms', @map(type='json'), "
+                    + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                    + "provider.url='vm://localhost',"
+                    + "destination='DAS_JMS_OUTPUT_TEST',"
+                    + "batch.bytes='65536', batch.timeout='1000'"
+                    + ")" +
+                    "define stream inputStream (name string, age int, country string);";
+            executionPlanRuntime = siddhiManager.
+                    createSiddhiAppRuntime(inStreamDefinition);
+            InputHandler inputStream = executionPlanRuntime.getInputHandler("inputStream");
+            executionPlanRuntime.start();
+            Thread.sleep(100);
+            inputStream.send(new Object[]{"JAMES", 23, "USA"});
+            inputStream.send(new Object[]{"MIKE", 23, "Germany"});
+
+            Assert.assertTrue(resultContainer.assertMessageContent("JAMES"));
+            Assert.assertTrue(resultContainer.assertMessageContent("MIKE"));
+            // both events are sent in a single message once the batch times out
+            Thread.sleep(2000);
+            Assert.assertEquals(resultContainer.getEventCount(), 1);
+        } finally {
+            client.shutdown();
+            if (executionPlanRuntime != null) {
+                executionPlanRuntime.shutdown();
+            }
+        }
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void jmsHashLoadBalanceWithoutKeyTest() throws InterruptedException {
+        SiddhiAppRuntime executionPlanRuntime = null;
+        try {
+            // deploying the execution plan
+            SiddhiManager siddhiManager = new SiddhiManager();
+            String inStreamDefinition = "" +
+                    "@sink(type='jms', @map(type='json'), "
+                    + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                    + "provider.url='vm://localhost',"
+                    + "destination='DAS_JMS_OUTPUT_TEST',"
+                    + "load.balance.provider.urls='vm://localhost?broker.persistent=false',"
+                    + "load.balance.strategy='hash'"
+                    + ")" +
+                    "define stream inputStream (name string, age int, country string);";
+            executionPlanRuntime = siddhiManager.
+                    createSiddhiAppRuntime(inStreamDefinition);
+        } finally {
+            if (executionPlanRuntime != null) {
+                executionPlanRuntime.shutdown();
+            }
+        }
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void jmsPartitionWithoutCountTest() throws InterruptedException {
+        SiddhiAppRuntime executionPlanRuntime = null;
+        try {
+            // deploying the execution plan
+            SiddhiManager siddhiManager = new SiddhiManager();
+            String inStreamDefinition = "" +
+                    "@sink(type='jms', @map(type='json'), "
+                    + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                    + "provider.url='vm://localhost',"
+                    + "destination='DAS_JMS_OUTPUT_TEST',"
+                    + "partition.key='{{country}}'"
+                    + ")" +
+                    "define stream inputStream (name string, age int, country string);";
+            executionPlanRuntime = siddhiManager.
+                    createSiddhiAppRuntime(inStreamDefinition);
+        } finally {
+            if (executionPlanRuntime != null) {
+                executionPlanRuntime.shutdown();
+            }
+        }
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void jmsMessagePropertyOfUnknownAttributeTest() throws InterruptedException {
+        SiddhiAppRuntime executionPlanRuntime = null;
+        try {
+            // deploying the execution plan
+            SiddhiManager siddhiManager = new SiddhiManager();
+            String inStreamDefinition = "" +
+                    "@sink(type='jms', @map(type='json'), "
+                    + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                    + "provider.url='vm://localhost',"
+                    + "destination='DAS_JMS_OUTPUT_TEST',"
+                    + "message.group.id='{{country}}',"
+                    + "message.properties='region:region'"
+                    + ")" +
+                    "define stream inputStream (name string, age int, country string);";
+            executionPlanRuntime = siddhiManager.
+                    createSiddhiAppRuntime(inStreamDefinition);
+        } finally {
+            if (executionPlanRuntime != null) {
+                executionPlanRuntime.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Test for connecting the JMS Sink in the background and reporting its readiness.
+     */
+    @Test(dependsOnMethods = "jmsQueueBatchPublishTest")
+    public void jmsAsyncConnectTest() throws InterruptedException {
+        SiddhiAppRuntime executionPlanRuntime = null;
+        ResultContainer resultContainer = new ResultContainer(2);
+        JMSClient client = new JMSClient("activemq", "DAS_JMS_ASYNC_CONNECT_TEST", "", resultContainer);
+        try {
+            //init
+            Thread listenerThread = new Thread(client);
+            listenerThread.start();
+            Thread.sleep(1000);
+            // deploying the execution plan
+            SiddhiManager siddhiManager = new SiddhiManager();
+            String inStreamDefinition = "@app:name('JMSAsyncConnectTest')" +
+                    "@sink(type='jms', @map(type='xml'), "
+                    + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                    + "provider.url='vm://localhost',"
+                    + "destination='DAS_JMS_ASYNC_CONNECT_TEST',"
+                    + "connection.factory.jndi.name='TopicConnectionFactory',"
+                    + "connection.factory.type='topic',"
+                    + "connect.async='true'"
+                    + ")" +
+                    "define stream inputStream (name string, age int, country string);";
+            executionPlanRuntime = siddhiManager.
+                    createSiddhiAppRuntime(inStreamDefinition);
+            InputHandler inputStream = executionPlanRuntime.getInputHandler("inputStream");
+            executionPlanRuntime.start();
+            for (int i = 0; i < 100 && !JMSConnectionStatus.isReady("JMSAsyncConnectTest"); i++) {
+                Thread.sleep(100);
+            }
+            List<JMSConnectionStatus> statuses = JMSConnectionStatus.getStatuses("JMSAsyncConnectTest");
+            Assert.assertEquals(statuses.size(), 1);
+            Assert.assertEquals(statuses.get(0).getState(), JMSConnectionStatus.State.CONNECTED);
+            inputStream.send(new Object[]{"JAMES", 23, "USA"});
+            inputStream.send(new Object[]{"MIKE", 23, "Germany"});
+            Assert.assertTrue(resultContainer.assertMessageContent("JAMES"));
+            Assert.assertTrue(resultContainer.assertMessageContent("MIKE"));
+        } finally {
+            client.shutdown();
+            if (executionPlanRuntime != null) {
+                executionPlanRuntime.shutdown();
+            }
+        }
+        Assert.assertTrue(JMSConnectionStatus.getStatuses("JMSAsyncConnectTest").isEmpty());
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void jmsConfirmWithoutKeepingFailuresTest() throws InterruptedException {
+        SiddhiAppRuntime executionPlanRuntime = null;
+        try {
+            // deploying the execution plan
+            SiddhiManager siddhiManager = new SiddhiManager();
+            String inStreamDefinition = "" +
+                    "@sink(type='jms', @map(type='json'), "
+                    + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                    + "provider.url='vm://localhost',"
+                    + "destination='DAS_JMS_OUTPUT_TEST',"
+                    + "publish.confirm='true'"
+                    + ")" +
+                    "define stream inputStream (name string, age int, country string);";
+            executionPlanRuntime = siddhiManager.
+                    createSiddhiAppRuntime(inStreamDefinition);
+        } finally {
+            if (executionPlanRuntime != null) {
+                executionPlanRuntime.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Test for the JMS Sink to keep publishing after a tracked send failed and its event was dropped.
+     */
+    @Test(dependsOnMethods = "jmsAsyncConnectTest")
+    public void jmsConfirmAfterDroppedSendTest() throws InterruptedException, JMSException, IOException {
+        SiddhiAppRuntime executionPlanRuntime = null;
+        Path journalPath = Files.createTempDirectory("jms-sink-confirm");
+        Connection connection = new ActiveMQConnectionFactory("vm://localhost").createConnection();
+        try {
+            connection.start();
+            Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            MessageConsumer consumer = session.createConsumer(session.createQueue("DAS_JMS_CONFIRM_TEST"));
+
+            // deploying the execution plan, with a journal too small to hold any event
+            SiddhiManager siddhiManager = new SiddhiManager();
+            String inStreamDefinition = "" +
+                    "@app:name('JMSConfirmAfterDroppedSendTest')" +
+                    "@sink(type='jms', @map(type='json'), "
+                    + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                    + "provider.url='vm://localhost',"
+                    + "destination='DAS_JMS_CONFIRM_TEST',"
+                    + "publish.confirm='true', publish.confirm.max.pending='4', publish.confirm.timeout='60000',"
+                    + "journal.path='" + journalPath.toString().replace("\\", "/") + "', "
+                    + "journal.segment.size='16', journal.max.size='16'"
+                    + ")" +
+                    "define stream inputStream (name string, age int, country string);";
+            executionPlanRuntime = siddhiManager.
+                    createSiddhiAppRuntime(inStreamDefinition);
+            InputHandler inputStream = executionPlanRuntime.getInputHandler("inputStream");
+            JMSSink sink = (JMSSink) executionPlanRuntime.getSinks().iterator().next().get(0);
+            executionPlanRuntime.start();
+            Thread.sleep(100);
+
+            // a failed send, which the journal cannot hold and the 'LOG' error handling drops
+            String payload = "{\"event\":{\"name\":\"LOST\",\"age\":23,\"country\":\"USA\"}}";
+            JMSPublisher failed = sink.createPublisher("DAS_JMS_CONFIRM_TEST", payload, null);
+            failed.setSequence(sink.track("DAS_JMS_CONFIRM_TEST", payload, null));
+            failed.fail(new ConnectionUnavailableException("Simulated failure of a send."));
+            Assert.assertEquals(sink.getUnconfirmedCount(), 0);
+            // the error handling reconnects the sink after a connection failure
+            Thread.sleep(1000);
+            for (int i = 0; i < 100 && !JMSConnectionStatus.isReady("JMSConfirmAfterDroppedSendTest"); i++) {
+                Thread.sleep(100);
+            }
+
+            // more sends than can be unconfirmed, which would wait for the dropped one if it held them back
+            for (int i = 0; i < 6; i++) {
+                inputStream.send(new Object[]{"JAMES" + i, 23, "USA"});
+            }
+            for (int i = 0; i < 6; i++) {
+                TextMessage message = (TextMessage) consumer.receive(10000);
+                Assert.assertNotNull(message, "The sends after the dropped one should not be held back.");
+                Assert.assertTrue(message.getText().contains("JAMES" + i));
+            }
+            for (int i = 0; i < 100 && sink.getConfirmedWatermark() < 6; i++) {
+                Thread.sleep(100);
+            }
+            Assert.assertEquals(sink.getConfirmedWatermark(), 6);
+            Assert.assertEquals(sink.getUnconfirmedCount(), 0);
+        } finally {
+            if (executionPlanRuntime != null) {
+                executionPlanRuntime.shutdown();
+            }
+            connection.close();
+        }
+    }
+
+    /**
+     * Test for the JMS Sink to buffer the events published while its circuit is open, and to send them in order
+     * once a probe succeeds.
+     */
+    @Test(dependsOnMethods = "jmsConfirmAfterDroppedSendTest")
+    public void jmsPublishWhileCircuitOpenTest() throws Exception {
+        SiddhiAppRuntime executionPlanRuntime = null;
+        Path journalPath = Files.createTempDirectory("jms-sink-circuit");
+        EmbeddedBroker broker = new EmbeddedBroker("circuitBreakerBroker");
+        Connection connection = null;
+        try {
+            connection = new ActiveMQConnectionFactory(broker.getUrl()).createConnection();
+            connection.start();
+            Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            MessageConsumer consumer = session.createConsumer(session.createQueue("DAS_JMS_CIRCUIT_TEST"));
+
+            // deploying the execution plan
+            SiddhiManager siddhiManager = new SiddhiManager();
+            String inStreamDefinition = "" +
+                    "@sink(type='jms', @map(type='json'), "
+                    + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                    + "provider.url='" + broker.getUrl() + "',"
+                    + "destination='DAS_JMS_CIRCUIT_TEST',"
+                    + "publish.mode='sync',"
+                    + "circuit.breaker.failure.threshold='1', circuit.breaker.initial.backoff='200', "
+                    + "circuit.breaker.max.backoff='400', circuit.breaker.open.policy='buffer',"
+                    + "journal.path='" + journalPath.toString().replace("\\", "/") + "', "
+                    + "journal.replay.interval='100'"
+                    + ")" +
+                    "define stream inputStream (name string, age int, country string);";
+            executionPlanRuntime = siddhiManager.
+                    createSiddhiAppRuntime(inStreamDefinition);
+            InputHandler inputStream = executionPlanRuntime.getInputHandler("inputStream");
+            JMSSink sink = (JMSSink) executionPlanRuntime.getSinks().iterator().next().get(0);
+            executionPlanRuntime.start();
+
+            // the first failed send opens the circuit, and the events published meanwhile are buffered
+            broker.setRejecting(true);
+            for (int i = 0; i < 5; i++) {
+                inputStream.send(new Object[]{"JAMES" + i, 23, "USA"});
+            }
+            Assert.assertNotEquals(sink.getCircuitBreaker().getState(), JMSCircuitBreaker.State.CLOSED);
+            // the probes keep failing and opening the circuit again
+            Thread.sleep(1000);
+            Assert.assertNotEquals(sink.getCircuitBreaker().getState(), JMSCircuitBreaker.State.CLOSED);
+            Assert.assertNull(consumer.receive(100));
+
+            broker.setRejecting(false);
+            for (int i = 0; i < 5; i++) {
+                TextMessage message = (TextMessage) consumer.receive(10000);
+                Assert.assertNotNull(message, "The buffered events should be sent once the circuit closes.");
+                Assert.assertTrue(message.getText().contains("JAMES" + i));
+            }
+            Assert.assertEquals(sink.getCircuitBreaker().getState(), JMSCircuitBreaker.State.CLOSED);
+            inputStream.send(new Object[]{"MIKE", 23, "Germany"});
+            TextMessage message = (TextMessage) consumer.receive(10000);
+            Assert.assertNotNull(message);
+            Assert.assertTrue(message.getText().contains("MIKE"));
+        } finally {
+            if (executionPlanRuntime != null) {
+                executionPlanRuntime.shutdown();
+            }
+            if (connection != null) {
+                connection.close();
+            }
+            broker.stop();
+        }
+    }
+
+    /**
+     * Test for the JMS Sink to set the headers and properties of the events it replays from its journal.
+     */
+    @Test(dependsOnMethods = "jmsPublishWhileCircuitOpenTest")
+    public void jmsJournalReplayHeadersTest() throws Exception {
+        SiddhiAppRuntime executionPlanRuntime = null;
+        Path journalPath = Files.createTempDirectory("jms-sink-headers");
+        EmbeddedBroker broker = new EmbeddedBroker("journalHeadersBroker");
+        Connection connection = null;
+        try {
+            connection = new ActiveMQConnectionFactory(broker.getUrl()).createConnection();
+            connection.start();
+            Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            MessageConsumer consumer = session.createConsumer(session.createQueue("DAS_JMS_HEADERS_TEST"));
+
+            // deploying the execution plan
+            SiddhiManager siddhiManager = new SiddhiManager();
+            String inStreamDefinition = "" +
+                    "@sink(type='jms', @map(type='json'), "
+                    + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                    + "provider.url='" + broker.getUrl() + "',"
+                    + "destination='DAS_JMS_HEADERS_TEST',"
+                    + "publish.mode='sync',"
+                    + "message.type='{{name}}', message.group.id='{{country}}', message.properties='age:age',"
+                    + "journal.path='" + journalPath.toString().replace("\\", "/") + "', "
+                    + "journal.replay.interval='100'"
+                    + ")" +
+                    "define stream inputStream (name string, age int, country string);";
+            executionPlanRuntime = siddhiManager.
+                    createSiddhiAppRuntime(inStreamDefinition);
+            InputHandler inputStream = executionPlanRuntime.getInputHandler("inputStream");
+            executionPlanRuntime.start();
+
+            // the failed sends are stored in the journal, and sent from it once the broker accepts them again
+            broker.setRejecting(true);
+            inputStream.send(new Object[]{"JAMES", 23, "USA"});
+            inputStream.send(new Object[]{"MIKE", 31, "Germany"});
+            Thread.sleep(500);
+            Assert.assertNull(consumer.receive(100));
+            broker.setRejecting(false);
+
+            TextMessage message = (TextMessage) consumer.receive(10000);
+            Assert.assertNotNull(message, "The events stored in the journal should be sent.");
+            Assert.assertTrue(message.getText().contains("JAMES"));
+            Assert.assertEquals(message.getJMSType(), "JAMES");
+            Assert.assertEquals(message.getStringProperty("JMSXGroupID"), "USA");
+            Assert.assertEquals(message.getIntProperty("age"), 23);
+            message = (TextMessage) consumer.receive(10000);
+            Assert.assertNotNull(message, "The events stored in the journal should be sent.");
+            Assert.assertTrue(message.getText().contains("MIKE"));
+            Assert.assertEquals(message.getJMSType(), "MIKE");
+            Assert.assertEquals(message.getStringProperty("JMSXGroupID"), "Germany");
+            Assert.assertEquals(message.getIntProperty("age"), 31);
+        } finally {
+            if (executionPlanRuntime != null) {
+                executionPlanRuntime.shutdown();
+            }
+            if (connection != null) {
+                connection.close();
+            }
+            broker.stop();
+        }
+    }
+
+    /**
+     * Test for the JMS Sink to route the events of a partition key to the same destination, within the partition
+     * count.
+     */
+    @Test(dependsOnMethods = "jmsJournalReplayHeadersTest")
+    public void jmsPartitionRoutingTest() throws InterruptedException, JMSException {
+        SiddhiAppRuntime executionPlanRuntime = null;
+        Connection connection = new ActiveMQConnectionFactory("vm://localhost").createConnection();
+        try {
+            connection.start();
+            Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+            // one more consumer than the partition count, which should not receive anything
+            MessageConsumer[] consumers = new MessageConsumer[5];
+            for (int i = 0; i < consumers.length; i++) {
+                consumers[i] = session.createConsumer(session.createQueue("DAS_JMS_PARTITION_TEST." + i));
+            }
+
+            // deploying the execution plan
+            SiddhiManager siddhiManager = new SiddhiManager();
+            String inStreamDefinition = "" +
+                    "@sink(type='jms', @map(type='json'), "
+                    + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                    + "provider.url='vm://localhost',"
+                    + "destination='DAS_JMS_PARTITION_TEST',"
+                    + "partition.key='{{country}}', partition.count='4'"
+                    + ")" +
+                    "define stream inputStream (name string, age int, country string);";
+            executionPlanRuntime = siddhiManager.
+                    createSiddhiAppRuntime(inStreamDefinition);
+            InputHandler inputStream = executionPlanRuntime.getInputHandler("inputStream");
+            executionPlanRuntime.start();
+            for (int round = 0; round < 3; round++) {
+                for (int i = 0; i < 16; i++) {
+                    inputStream.send(new Object[]{"JAMES", round, "COUNTRY-" + i});
+                }
+            }
+
+            Map<String, Integer> partitions = new HashMap<>();
+            int received = 0;
+            long deadline = System.currentTimeMillis() + 10000;
+            while (received < 48 && System.currentTimeMillis() < deadline) {
+                for (int i = 0; i < consumers.length; i++) {
+                    TextMessage message = (TextMessage) consumers[i].receive(10);
+                    if (message == null) {
+                        continue;
+                    }
+                    Assert.assertTrue(i < 4, "The partition count should be respected.");
+                    Matcher matcher = Pattern.compile("COUNTRY-\\d+").matcher(message.getText());
+                    Assert.assertTrue(matcher.find());
+                    Integer previous = partitions.put(matcher.group(), i);
+                    Assert.assertTrue(previous == null || previous == i,
+                            "The events of " + matcher.group() + " should go to the same destination.");
+                    received++;
+                }
+            }
+            Assert.assertEquals(received, 48);
+            Assert.assertEquals(partitions.size(), 16);
+            Assert.assertEquals(new HashSet<>(partitions.values()).size(), 4,
+                    "The keys should be spread over the partitions.");
+            Assert.assertNull(consumers[4].receive(100));
+        } finally {
+            if (executionPlanRuntime != null) {
+                executionPlanRuntime.shutdown();
+            }
+            connection.close();
+        }
+    }
+
+    /**
+     * Test for the JMS Sink in the sync mode to report a failed send to the 'on.error' handling as a connection
+     * failure.
+     */
+    @Test(dependsOnMethods = "jmsPartitionRoutingTest")
+    public void jmsSyncSendFailureOnErrorTest() throws Exception {
+        SiddhiAppRuntime executionPlanRuntime = null;
+        EmbeddedBroker broker = new EmbeddedBroker("syncSendFailureBroker");
+        List<Object> errors = new CopyOnWriteArrayList<>();
+        List<Object> names = new CopyOnWriteArrayList<>();
+        try {
+            // deploying the execution plan, which sends the failed events to the fault stream
+            SiddhiManager siddhiManager = new SiddhiManager();
+            String inStreamDefinition = "" +
+                    "@OnError(action='STREAM')" +
+                    "@sink(type='jms', @map(type='json'), on.error='STREAM', "
+                    + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                    + "provider.url='" + broker.getUrl() + "',"
+                    + "destination='DAS_JMS_SYNC_FAILURE_TEST',"
+                    + "publish.mode='sync'"
+                    + ")" +
+                    "define stream inputStream (name string, age int, country string);" +
+                    "from !inputStream select name, _error insert into errorStream;";
+            executionPlanRuntime = siddhiManager.
+                    createSiddhiAppRuntime(inStreamDefinition);
+            executionPlanRuntime.addCallback("errorStream", new StreamCallback() {
+                @Override
+                public void receive(Event[] events) {
+                    for (Event event : events) {
+                        names.add(event.getData(0));
+                        errors.add(event.getData(1));
+                    }
+                }
+            });
+            InputHandler inputStream = executionPlanRuntime.getInputHandler("inputStream");
+            executionPlanRuntime.start();
+
+            broker.setRejecting(true);
+            inputStream.send(new Object[]{"JAMES", 23, "USA"});
+            for (int i = 0; i < 100 && errors.isEmpty(); i++) {
+                Thread.sleep(100);
+            }
+            Assert.assertEquals(names.size(), 1, "The failed send should reach the 'on.error' handling.");
+            Assert.assertEquals(names.get(0), "JAMES");
+            Assert.assertTrue(errors.get(0) instanceof ConnectionUnavailableException,
+                    "The failed send should be reported as a connection failure, not " + errors.get(0));
+        } finally {
+            if (executionPlanRuntime != null) {
+                executionPlanRuntime.shutdown();
+            }
+            broker.stop();
+        }
+    }
 }
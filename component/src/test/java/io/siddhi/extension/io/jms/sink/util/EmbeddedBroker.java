@@ -0,0 +1,86 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.sink.util;
+
+import org.apache.activemq.broker.BrokerFilter;
+import org.apache.activemq.broker.BrokerPlugin;
+import org.apache.activemq.broker.BrokerService;
+import org.apache.activemq.broker.ProducerBrokerExchange;
+import org.apache.activemq.command.Message;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.jms.JMSException;
+
+/**
+ * In-VM ActiveMQ broker of the tests, which can be made to reject or delay the messages sent to it while the
+ * connections to it stay up.
+ */
+public class EmbeddedBroker {
+    private final String name;
+    private final BrokerService broker;
+    private final AtomicBoolean rejecting = new AtomicBoolean();
+    private final AtomicLong sendDelay = new AtomicLong();
+
+    public EmbeddedBroker(String name) throws Exception {
+        this.name = name;
+        broker = new BrokerService();
+        broker.setBrokerName(name);
+        broker.setPersistent(false);
+        broker.setUseJmx(false);
+        broker.setPlugins(new BrokerPlugin[]{next -> new BrokerFilter(next) {
+            @Override
+            public void send(ProducerBrokerExchange producerExchange, Message message) throws Exception {
+                long delay = sendDelay.get();
+                if (delay > 0) {
+                    Thread.sleep(delay);
+                }
+                if (rejecting.get()) {
+                    throw new JMSException("The broker " + name + " rejects the messages of the test.");
+                }
+                super.send(producerExchange, message);
+            }
+        }});
+        broker.start();
+        broker.waitUntilStarted();
+    }
+
+    /**
+     * Returns the URL connecting to this broker, which does not create another broker when this one is stopped,
+     * and sends synchronously so that the rejected messages fail their sends.
+     *
+     * @return provider URL.
+     */
+    public String getUrl() {
+        return "vm://" + name + "?create=false&jms.alwaysSyncSend=true";
+    }
+
+    public void setRejecting(boolean rejecting) {
+        this.rejecting.set(rejecting);
+    }
+
+    public void setSendDelay(long millis) {
+        sendDelay.set(millis);
+    }
+
+    public void stop() throws Exception {
+        broker.stop();
+        broker.waitUntilStopped();
+    }
+}
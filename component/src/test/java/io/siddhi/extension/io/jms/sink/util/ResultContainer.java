@@ -54,6 +54,10 @@ public class ResultContainer {
         latch.countDown();
     }
 
+    public int getEventCount() {
+        return eventCount;
+    }
+
     public void waitForResult() {
         try {
             latch.await(timeout, TimeUnit.SECONDS);
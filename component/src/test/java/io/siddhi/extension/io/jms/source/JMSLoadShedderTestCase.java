@@ -0,0 +1,80 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.source;
+
+import org.apache.activemq.command.ActiveMQTextMessage;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.concurrent.TimeUnit;
+import javax.jms.JMSException;
+import javax.jms.Message;
+
+/**
+ * Class implementing the Test cases for the load shedder of the JMS source.
+ */
+public class JMSLoadShedderTestCase {
+
+    @Test
+    public void testStaleMessagesAreShedWhenOverloaded() throws JMSException {
+        JMSLoadShedder shedder = new JMSLoadShedder(JMSLoadShedder.Policy.AGE, 1, 0, 1000, 1);
+        long now = System.currentTimeMillis();
+        Message stale = message(now - 5000, 0);
+        Message fresh = message(now, 0);
+        Message expired = message(now, now - 1);
+        shedder.enter();
+        Assert.assertFalse(shedder.shouldShed(stale));
+        Assert.assertTrue(shedder.shouldShed(expired));
+        shedder.enter();
+        Assert.assertTrue(shedder.isOverloaded());
+        Assert.assertTrue(shedder.shouldShed(stale));
+        Assert.assertFalse(shedder.shouldShed(fresh));
+        shedder.exit();
+        Assert.assertFalse(shedder.isOverloaded());
+    }
+
+    @Test
+    public void testMessagesAreSampledWhenSlow() throws JMSException {
+        JMSLoadShedder shedder = new JMSLoadShedder(JMSLoadShedder.Policy.SAMPLE, 0, 10, 1000, 0.25);
+        Message message = message(System.currentTimeMillis(), 0);
+        Assert.assertFalse(shedder.shouldShed(message));
+        for (int i = 0; i < 100; i++) {
+            shedder.recordLatency(TimeUnit.MILLISECONDS.toNanos(50));
+        }
+        Assert.assertTrue(shedder.isOverloaded());
+        int kept = 0;
+        for (int i = 0; i < 10000; i++) {
+            if (!shedder.shouldShed(message)) {
+                kept++;
+            }
+        }
+        Assert.assertTrue(kept > 2000 && kept < 3000, "kept " + kept + " messages");
+        for (int i = 0; i < 100; i++) {
+            shedder.recordLatency(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        Assert.assertFalse(shedder.isOverloaded());
+    }
+
+    private Message message(long timestamp, long expiration) throws JMSException {
+        Message message = new ActiveMQTextMessage();
+        message.setJMSTimestamp(timestamp);
+        message.setJMSExpiration(expiration);
+        return message;
+    }
+}
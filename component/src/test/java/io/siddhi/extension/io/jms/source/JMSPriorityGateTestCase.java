@@ -0,0 +1,109 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.source;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Class implementing the Test cases for the priority gate of the JMS source.
+ */
+public class JMSPriorityGateTestCase {
+
+    @Test
+    public void testHighestPriorityGoesFirst() throws InterruptedException {
+        JMSPriorityGate gate = new JMSPriorityGate("JMSPriority", 5, 1, 0, false);
+        Assert.assertTrue(gate.enter(4));
+        List<Integer> passed = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> threads = new ArrayList<>();
+        for (int priority : new int[]{1, 9, 4, 9}) {
+            threads.add(waitFor(gate, priority, passed));
+        }
+        gate.exit();
+        for (Thread thread : threads) {
+            thread.join(10000);
+        }
+        Assert.assertEquals(passed, Arrays.asList(9, 9, 4, 1));
+        // the turn is back once nobody waits
+        Assert.assertTrue(gate.enter(0));
+    }
+
+    @Test
+    public void testLowPrioritiesAreShedWhenTooManyWait() throws InterruptedException {
+        JMSPriorityGate gate = new JMSPriorityGate("JMSPriority", 5, 1, 1, false);
+        Assert.assertTrue(gate.enter(4));
+        List<Integer> passed = Collections.synchronizedList(new ArrayList<>());
+        Thread waiting = waitFor(gate, 3, passed);
+        Assert.assertFalse(gate.enter(2));
+        Thread high = waitFor(gate, 7, passed);
+        gate.exit();
+        waiting.join(10000);
+        high.join(10000);
+        Assert.assertEquals(passed, Arrays.asList(7, 3));
+    }
+
+    @Test
+    public void testOldestIsShedWhenTooManyWait() throws InterruptedException {
+        JMSPriorityGate gate = new JMSPriorityGate(null, Integer.MAX_VALUE, 1, 2, true);
+        Assert.assertTrue(gate.enter(JMSPriorityGate.DEFAULT_PRIORITY));
+        List<Integer> passed = Collections.synchronizedList(new ArrayList<>());
+        Thread first = waitFor(gate, JMSPriorityGate.DEFAULT_PRIORITY, 1, passed);
+        Thread second = waitFor(gate, JMSPriorityGate.DEFAULT_PRIORITY, 2, passed);
+        // the third message waits in the place of the first, which is shed
+        Thread third = new Thread(() -> {
+            if (gate.enter(JMSPriorityGate.DEFAULT_PRIORITY)) {
+                passed.add(3);
+                gate.exit();
+            }
+        });
+        third.start();
+        first.join(10000);
+        Assert.assertFalse(first.isAlive());
+        Assert.assertTrue(passed.isEmpty());
+        gate.exit();
+        second.join(10000);
+        third.join(10000);
+        Assert.assertEquals(passed, Arrays.asList(2, 3));
+    }
+
+    private Thread waitFor(JMSPriorityGate gate, int priority, List<Integer> passed) throws InterruptedException {
+        return waitFor(gate, priority, priority, passed);
+    }
+
+    private Thread waitFor(JMSPriorityGate gate, int priority, int message, List<Integer> passed)
+            throws InterruptedException {
+        int waiting = gate.getWaiting();
+        Thread thread = new Thread(() -> {
+            if (gate.enter(priority)) {
+                passed.add(message);
+                gate.exit();
+            }
+        });
+        thread.start();
+        while (gate.getWaiting() == waiting) {
+            Thread.sleep(10);
+        }
+        return thread;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.source;
+
+import io.siddhi.extension.io.jms.util.JMSSourceMetrics;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class implementing the Test cases for the rate limiter of the JMS source.
+ */
+public class JMSRateLimiterTestCase {
+
+    @Test
+    public void testBurstPassesWithoutWaiting() {
+        JMSSourceMetrics metrics = JMSSourceMetrics.register("JMSRateLimiterTest", "BurstStream");
+        JMSRateLimiter rateLimiter = new JMSRateLimiter(10, 5, metrics);
+        long start = System.nanoTime();
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.acquire();
+        }
+        Assert.assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(50));
+        Assert.assertEquals(metrics.getRateLimitedEvents(), 0);
+        metrics.unregister();
+    }
+
+    @Test
+    public void testRateIsLimitedAcrossThreads() throws InterruptedException {
+        JMSSourceMetrics metrics = JMSSourceMetrics.register("JMSRateLimiterTest", "RateStream");
+        JMSRateLimiter rateLimiter = new JMSRateLimiter(100, 1, metrics);
+        List<Thread> threads = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < 4; i++) {
+            Thread thread = new Thread(() -> {
+                for (int j = 0; j < 25; j++) {
+                    rateLimiter.acquire();
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        // 100 events at 100 per second, of which the first is taken from the burst
+        Assert.assertTrue(elapsed >= 950, "The events passed in " + elapsed + " ms.");
+        Assert.assertTrue(metrics.getRateLimitedEvents() > 90);
+        Assert.assertTrue(metrics.getRateLimitedTime() > 0);
+        Assert.assertEquals(JMSSourceMetrics.getMetrics("JMSRateLimiterTest").size(), 1);
+        metrics.unregister();
+        Assert.assertTrue(JMSSourceMetrics.getMetrics("JMSRateLimiterTest").isEmpty());
+    }
+}
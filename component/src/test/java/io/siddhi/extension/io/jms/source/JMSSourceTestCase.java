@@ -21,13 +21,18 @@ package io.siddhi.extension.io.jms.source;
 import io.siddhi.core.SiddhiAppRuntime;
 import io.siddhi.core.SiddhiManager;
 import io.siddhi.core.event.Event;
+import io.siddhi.core.exception.SiddhiAppCreationException;
 import io.siddhi.core.query.output.callback.QueryCallback;
+import io.siddhi.core.stream.input.InputHandler;
 import io.siddhi.core.stream.input.source.Source;
+import io.siddhi.core.stream.output.StreamCallback;
 import io.siddhi.core.util.EventPrinter;
 import io.siddhi.core.util.SiddhiTestHelper;
 import io.siddhi.extension.io.jms.source.client.JMSClient;
 import io.siddhi.query.api.exception.SiddhiAppValidationException;
+import org.apache.activemq.ActiveMQConnection;
 import org.apache.activemq.ActiveMQConnectionFactory;
+import org.apache.activemq.broker.BrokerRegistry;
 import org.apache.logging.log4j.Level;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.core.Logger;
@@ -35,10 +40,16 @@ import org.testng.Assert;
 import org.testng.AssertJUnit;
 import org.testng.annotations.Test;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Enumeration;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
+import javax.jms.JMSException;
+import javax.jms.MessageProducer;
+import javax.jms.Session;
 
 /**
  * Class implementing the Test cases for JMS Source.
@@ -502,6 +513,419 @@ public class JMSSourceTestCase {
         siddhiManager.shutdown();
     }
 
+    /**
+     * Test for configure the JMS source to unpack the events of the messages published by a batching JMS sink.
+     */
+    @Test
+    public void testJMSQueueSourceBatchedMessages() throws InterruptedException {
+        AtomicInteger eventCount = new AtomicInteger(0);
+        receivedEventNameList = new ArrayList<>(3);
+
+        // deploying the execution plan
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = ""
+                + "@source(type='jms', @map(type='json'), "
+                + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                + "provider.url='vm://localhost',"
+                + "destination='DAS_JMS_BATCH_TEST' "
+                + ")"
+                + "define stream inputStream (name string, age int, country string);"
+                + "@sink(type='jms', @map(type='json'), "
+                + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                + "provider.url='vm://localhost',"
+                + "destination='DAS_JMS_BATCH_TEST',"
+                + "batch.size='3', batch.timeout='500'"
+                + ")"
+                + "define stream outputStream (name string, age int, country string);";
+        SiddhiAppRuntime executionPlanRuntime = siddhiManager.createSiddhiAppRuntime(streams);
+        executionPlanRuntime.addCallback("inputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+                for (Event event : events) {
+                    eventCount.incrementAndGet();
+                    receivedEventNameList.add(event.getData(0).toString());
+                }
+            }
+        });
+        executionPlanRuntime.start();
+        InputHandler outputStream = executionPlanRuntime.getInputHandler("outputStream");
+        outputStream.send(new Object[]{"John", 22, "US"});
+        outputStream.send(new Object[]{"Mike", 24, "US"});
+        outputStream.send(new Object[]{"Anne", 25, "UK"});
+        List<String> expected = new ArrayList<>(3);
+        expected.add("John");
+        expected.add("Mike");
+        expected.add("Anne");
+        SiddhiTestHelper.waitForEvents(waitTime, 3, eventCount, timeout);
+        Assert.assertEquals(eventCount.intValue(), 3, "Event count should be equal to three.");
+        AssertJUnit.assertEquals("JMS Source expected input not received", expected, receivedEventNameList);
+        siddhiManager.shutdown();
+    }
+
+    /**
+     * Test for configure the JMS source to fail over to a warm standby broker when the primary broker fails.
+     */
+    @Test
+    public void testJMSQueueSourceFailover() throws Exception {
+        AtomicInteger eventCount = new AtomicInteger(0);
+        receivedEventNameList = new ArrayList<>(2);
+        String primaryUrl = "vm://failoverPrimary?broker.persistent=false";
+        String standbyUrl = "vm://failoverStandby?broker.persistent=false";
+        // the brokers are kept up by the connections of the test, until the primary is stopped deliberately
+        ActiveMQConnection primaryConnection = (ActiveMQConnection) new ActiveMQConnectionFactory(primaryUrl)
+                .createConnection();
+        ActiveMQConnection standbyConnection = (ActiveMQConnection) new ActiveMQConnectionFactory(standbyUrl)
+                .createConnection();
+
+        // deploying the execution plan
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String inStreamDefinition = "" + "@source(type='jms', @map(type='json'), "
+                + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                + "provider.url='" + primaryUrl + "',"
+                + "failover.provider.url='" + standbyUrl + "',"
+                + "failover.failback.interval='60000',"
+                + "destination='DAS_JMS_FAILOVER_TEST' "
+                + ")"
+                + "define stream inputStream (name string, age int, country string);";
+        SiddhiAppRuntime executionPlanRuntime = siddhiManager.createSiddhiAppRuntime(inStreamDefinition);
+        executionPlanRuntime.addCallback("inputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                EventPrinter.print(events);
+                for (Event event : events) {
+                    eventCount.incrementAndGet();
+                    receivedEventNameList.add(event.getData(0).toString());
+                }
+            }
+        });
+        executionPlanRuntime.start();
+
+        sendTextMessage(primaryConnection, "DAS_JMS_FAILOVER_TEST",
+                "{\"event\":{\"name\":\"John\",\"age\":22,\"country\":\"US\"}}");
+        sendTextMessage(standbyConnection, "DAS_JMS_FAILOVER_TEST",
+                "{\"event\":{\"name\":\"Mike\",\"age\":24,\"country\":\"US\"}}");
+        SiddhiTestHelper.waitForEvents(waitTime, 1, eventCount, timeout);
+        Thread.sleep(1000);
+        Assert.assertEquals(eventCount.intValue(), 1, "The standby broker should be held while the primary is up.");
+
+        BrokerRegistry.getInstance().lookup("failoverPrimary").stop();
+        SiddhiTestHelper.waitForEvents(waitTime, 2, eventCount, timeout);
+        List<String> expected = new ArrayList<>(2);
+        expected.add("John");
+        expected.add("Mike");
+        Assert.assertEquals(receivedEventNameList, expected, "The standby broker should take over.");
+        siddhiManager.shutdown();
+        standbyConnection.close();
+    }
+
+    /**
+     * Test for configure the JMS source to fail over to a standby broker while passing its messages on in the order
+     * of their priority, where the held standby receiver should not hold up the primary one.
+     */
+    @Test
+    public void testJMSQueueSourceFailoverWithPriorityLanes() throws Exception {
+        AtomicInteger eventCount = new AtomicInteger(0);
+        receivedEventNameList = new ArrayList<>(3);
+        String primaryUrl = "vm://priorityFailoverPrimary?broker.persistent=false";
+        String standbyUrl = "vm://priorityFailoverStandby?broker.persistent=false";
+        ActiveMQConnection primaryConnection = (ActiveMQConnection) new ActiveMQConnectionFactory(primaryUrl)
+                .createConnection();
+        ActiveMQConnection standbyConnection = (ActiveMQConnection) new ActiveMQConnectionFactory(standbyUrl)
+                .createConnection();
+
+        // deploying the execution plan
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String inStreamDefinition = "" + "@source(type='jms', @map(type='json'), "
+                + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                + "provider.url='" + primaryUrl + "',"
+                + "failover.provider.url='" + standbyUrl + "',"
+                + "failover.failback.interval='60000',"
+                + "priority.lanes='true', priority.concurrency='1',"
+                + "destination='DAS_JMS_PRIORITY_FAILOVER_TEST' "
+                + ")"
+                + "define stream inputStream (name string, age int, country string);";
+        SiddhiAppRuntime executionPlanRuntime = siddhiManager.createSiddhiAppRuntime(inStreamDefinition);
+        executionPlanRuntime.addCallback("inputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    eventCount.incrementAndGet();
+                    receivedEventNameList.add(event.getData(0).toString());
+                }
+            }
+        });
+        executionPlanRuntime.start();
+
+        // the held standby receiver takes its message first
+        sendTextMessage(standbyConnection, "DAS_JMS_PRIORITY_FAILOVER_TEST",
+                "{\"event\":{\"name\":\"Mike\",\"age\":24,\"country\":\"US\"}}");
+        Thread.sleep(1000);
+        sendTextMessage(primaryConnection, "DAS_JMS_PRIORITY_FAILOVER_TEST",
+                "{\"event\":{\"name\":\"John\",\"age\":22,\"country\":\"US\"}}");
+        sendTextMessage(primaryConnection, "DAS_JMS_PRIORITY_FAILOVER_TEST",
+                "{\"event\":{\"name\":\"Anne\",\"age\":25,\"country\":\"UK\"}}");
+        SiddhiTestHelper.waitForEvents(waitTime, 2, eventCount, timeout);
+        Assert.assertEquals(eventCount.intValue(), 2, "The primary broker should not wait for the standby one.");
+
+        BrokerRegistry.getInstance().lookup("priorityFailoverPrimary").stop();
+        SiddhiTestHelper.waitForEvents(waitTime, 3, eventCount, timeout);
+        List<String> expected = new ArrayList<>(3);
+        expected.add("John");
+        expected.add("Anne");
+        expected.add("Mike");
+        Assert.assertEquals(receivedEventNameList, expected, "The standby broker should take over.");
+        siddhiManager.shutdown();
+        standbyConnection.close();
+    }
+
+    /**
+     * Test for configure the JMS source to scale its consumers with the backlog of the queue.
+     */
+    @Test
+    public void testJMSQueueSourceAutoscaling() throws InterruptedException {
+        AtomicInteger eventCount = new AtomicInteger(0);
+
+        // deploying the execution plan
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = ""
+                + "@source(type='jms', @map(type='json'), "
+                + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                + "provider.url='vm://localhost?jms.prefetchPolicy.queuePrefetch=1',"
+                + "destination='DAS_JMS_AUTOSCALE_TEST', "
+                + "autoscale.min.workers='1', autoscale.max.workers='4', "
+                + "autoscale.backlog.per.worker='10', autoscale.interval='100', autoscale.idle.timeout='500'"
+                + ")"
+                + "define stream inputStream (name string, age int, country string);"
+                + "@sink(type='jms', @map(type='json'), "
+                + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                + "provider.url='vm://localhost',"
+                + "destination='DAS_JMS_AUTOSCALE_TEST'"
+                + ")"
+                + "define stream outputStream (name string, age int, country string);";
+        SiddhiAppRuntime executionPlanRuntime = siddhiManager.createSiddhiAppRuntime(streams);
+        executionPlanRuntime.addCallback("inputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                // a slow app, so that the backlog builds up on the queue
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                eventCount.addAndGet(events.length);
+            }
+        });
+        JMSSource source = (JMSSource) executionPlanRuntime.getSources().iterator().next().get(0);
+        executionPlanRuntime.start();
+        Assert.assertEquals(source.getAutoscaledWorkerCount(), 1);
+        InputHandler outputStream = executionPlanRuntime.getInputHandler("outputStream");
+        for (int i = 0; i < 200; i++) {
+            outputStream.send(new Object[]{"John" + i, 22, "US"});
+        }
+        int maxWorkers = 0;
+        long deadline = System.currentTimeMillis() + timeout;
+        while (eventCount.intValue() < 200 && System.currentTimeMillis() < deadline) {
+            maxWorkers = Math.max(maxWorkers, source.getAutoscaledWorkerCount());
+            Thread.sleep(waitTime);
+        }
+        Assert.assertEquals(eventCount.intValue(), 200, "Every event should be received once.");
+        Assert.assertTrue(maxWorkers > 1, "The consumers should be scaled out with the backlog.");
+        Assert.assertTrue(maxWorkers <= 4, "The consumers should not exceed autoscale.max.workers.");
+        deadline = System.currentTimeMillis() + timeout;
+        while (source.getAutoscaledWorkerCount() > 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(waitTime);
+        }
+        Assert.assertEquals(source.getAutoscaledWorkerCount(), 1, "The idle consumers should be scaled in.");
+        siddhiManager.shutdown();
+    }
+
+    @Test(expectedExceptions = SiddhiAppCreationException.class)
+    public void testJMSTopicSourceAutoscaling() {
+        SiddhiManager siddhiManager = new SiddhiManager();
+        try {
+            String inStreamDefinition = "" + "@source(type='jms', @map(type='json'), "
+                    + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                    + "provider.url='vm://localhost',"
+                    + "destination='DAS_JMS_AUTOSCALE_TEST', "
+                    + "connection.factory.type='topic',"
+                    + "autoscale.max.workers='4'"
+                    + ")"
+                    + "define stream inputStream (name string, age int, country string);";
+            siddhiManager.createSiddhiAppRuntime(inStreamDefinition);
+        } finally {
+            siddhiManager.shutdown();
+        }
+    }
+
+    /**
+     * Test for configure the JMS source to spill the messages received while it is paused, and replay them.
+     */
+    @Test
+    public void testJMSQueueSourceSpill() throws Exception {
+        AtomicInteger eventCount = new AtomicInteger(0);
+        receivedEventNameList = new ArrayList<>(3);
+        Path spillPath = Files.createTempDirectory("jms-source-spill");
+
+        // deploying the execution plan
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = ""
+                + "@app:name('JMSSourceSpillTest')"
+                + "@source(type='jms', @map(type='json'), "
+                + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                + "provider.url='vm://localhost',"
+                + "destination='DAS_JMS_SPILL_TEST', "
+                + "spill.path='" + spillPath.toString().replace("\\", "/") + "', spill.segment.size='65536', "
+                + "spill.max.size='1048576'"
+                + ")"
+                + "define stream inputStream (name string, age int, country string);"
+                + "@sink(type='jms', @map(type='json'), "
+                + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                + "provider.url='vm://localhost',"
+                + "destination='DAS_JMS_SPILL_TEST'"
+                + ")"
+                + "define stream outputStream (name string, age int, country string);";
+        SiddhiAppRuntime executionPlanRuntime = siddhiManager.createSiddhiAppRuntime(streams);
+        executionPlanRuntime.addCallback("inputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    eventCount.incrementAndGet();
+                    receivedEventNameList.add(event.getData(0).toString());
+                }
+            }
+        });
+        Collection<List<Source>> sources = executionPlanRuntime.getSources();
+        executionPlanRuntime.start();
+        sources.forEach(e -> e.forEach(Source::pause));
+        InputHandler outputStream = executionPlanRuntime.getInputHandler("outputStream");
+        outputStream.send(new Object[]{"John", 22, "US"});
+        outputStream.send(new Object[]{"Mike", 24, "US"});
+        outputStream.send(new Object[]{"Anne", 25, "UK"});
+
+        // the paused source keeps acknowledging, so the queue drains
+        ActiveMQConnection connection = (ActiveMQConnection) new ActiveMQConnectionFactory("vm://localhost")
+                .createConnection();
+        connection.start();
+        long deadline = System.currentTimeMillis() + timeout;
+        while (countMessages(connection, "DAS_JMS_SPILL_TEST") > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(waitTime);
+        }
+        Assert.assertEquals(countMessages(connection, "DAS_JMS_SPILL_TEST"), 0, "The queue should be drained.");
+        connection.close();
+        Assert.assertEquals(eventCount.intValue(), 0, "No event should be received while paused.");
+
+        sources.forEach(e -> e.forEach(Source::resume));
+        SiddhiTestHelper.waitForEvents(waitTime, 3, eventCount, timeout);
+        List<String> expected = new ArrayList<>(3);
+        expected.add("John");
+        expected.add("Mike");
+        expected.add("Anne");
+        Assert.assertEquals(receivedEventNameList, expected, "The spilled events should be replayed in order.");
+        siddhiManager.shutdown();
+    }
+
+    /**
+     * Test for the JMS source to replay its spilled events in the background, without holding up resuming it.
+     */
+    @Test(dependsOnMethods = "testJMSQueueSourceSpill")
+    public void testJMSQueueSourceSpillReplayInBackground() throws Exception {
+        AtomicInteger eventCount = new AtomicInteger(0);
+        receivedEventNameList = new ArrayList<>(4);
+        Path spillPath = Files.createTempDirectory("jms-source-spill-replay");
+
+        // deploying the execution plan
+        SiddhiManager siddhiManager = new SiddhiManager();
+        String streams = ""
+                + "@app:name('JMSSourceSpillReplayTest')"
+                + "@source(type='jms', @map(type='json'), "
+                + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                + "provider.url='vm://localhost',"
+                + "destination='DAS_JMS_SPILL_REPLAY_TEST', "
+                + "spill.path='" + spillPath.toString().replace("\\", "/") + "', spill.segment.size='65536', "
+                + "spill.max.size='1048576'"
+                + ")"
+                + "define stream inputStream (name string, age int, country string);"
+                + "@sink(type='jms', @map(type='json'), "
+                + "factory.initial='org.apache.activemq.jndi.ActiveMQInitialContextFactory', "
+                + "provider.url='vm://localhost',"
+                + "destination='DAS_JMS_SPILL_REPLAY_TEST'"
+                + ")"
+                + "define stream outputStream (name string, age int, country string);";
+        SiddhiAppRuntime executionPlanRuntime = siddhiManager.createSiddhiAppRuntime(streams);
+        executionPlanRuntime.addCallback("inputStream", new StreamCallback() {
+            @Override
+            public void receive(Event[] events) {
+                for (Event event : events) {
+                    // a slow app, which a replay on the resuming thread would hold it up for
+                    try {
+                        Thread.sleep(500);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    receivedEventNameList.add(event.getData(0).toString());
+                    eventCount.incrementAndGet();
+                }
+            }
+        });
+        Collection<List<Source>> sources = executionPlanRuntime.getSources();
+        executionPlanRuntime.start();
+        sources.forEach(e -> e.forEach(Source::pause));
+        InputHandler outputStream = executionPlanRuntime.getInputHandler("outputStream");
+        outputStream.send(new Object[]{"John", 22, "US"});
+        outputStream.send(new Object[]{"Mike", 24, "US"});
+        outputStream.send(new Object[]{"Anne", 25, "UK"});
+
+        ActiveMQConnection connection = (ActiveMQConnection) new ActiveMQConnectionFactory("vm://localhost")
+                .createConnection();
+        connection.start();
+        long deadline = System.currentTimeMillis() + timeout;
+        while (countMessages(connection, "DAS_JMS_SPILL_REPLAY_TEST") > 0
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(waitTime);
+        }
+        connection.close();
+
+        long start = System.currentTimeMillis();
+        sources.forEach(e -> e.forEach(Source::resume));
+        Assert.assertTrue(System.currentTimeMillis() - start < 500, "Resuming should not wait for the replay.");
+        // received while the replay is in progress, and delivered behind the replayed events
+        outputStream.send(new Object[]{"Lily", 26, "UK"});
+        SiddhiTestHelper.waitForEvents(waitTime, 4, eventCount, timeout);
+        List<String> expected = new ArrayList<>(4);
+        expected.add("John");
+        expected.add("Mike");
+        expected.add("Anne");
+        expected.add("Lily");
+        Assert.assertEquals(receivedEventNameList, expected, "The spilled events should be replayed in order.");
+        siddhiManager.shutdown();
+    }
+
+    private int countMessages(ActiveMQConnection connection, String queueName) throws JMSException {
+        Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        try {
+            Enumeration<?> messages = session.createBrowser(session.createQueue(queueName)).getEnumeration();
+            int count = 0;
+            while (messages.hasMoreElements()) {
+                messages.nextElement();
+                count++;
+            }
+            return count;
+        } finally {
+            session.close();
+        }
+    }
+
+    private void sendTextMessage(ActiveMQConnection connection, String queueName, String text) throws JMSException {
+        Session session = connection.createSession(false, Session.AUTO_ACKNOWLEDGE);
+        try {
+            MessageProducer producer = session.createProducer(session.createQueue(queueName));
+            producer.send(session.createTextMessage(text));
+        } finally {
+            session.close();
+        }
+    }
+
     private void publishEvents(String topicName, String queueName, String broker, String format, String filePath)
             throws InterruptedException {
         JMSClient jmsClient = new JMSClient();
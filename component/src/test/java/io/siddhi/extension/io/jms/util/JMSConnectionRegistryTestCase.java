@@ -0,0 +1,95 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import org.wso2.transport.jms.contract.JMSClientConnector;
+import org.wso2.transport.jms.exception.JMSConnectorException;
+import org.wso2.transport.jms.utils.JMSConstants;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Class implementing the Test cases for the JMS connection registry.
+ */
+public class JMSConnectionRegistryTestCase {
+
+    private static Map<String, String> properties(String providerUrl, String destination) {
+        Map<String, String> properties = new HashMap<>();
+        properties.put(JMSConstants.PARAM_NAMING_FACTORY_INITIAL,
+                "org.apache.activemq.jndi.ActiveMQInitialContextFactory");
+        properties.put(JMSConstants.PARAM_PROVIDER_URL, providerUrl);
+        properties.put(JMSConstants.PARAM_CONNECTION_FACTORY_JNDI_NAME, "QueueConnectionFactory");
+        properties.put(JMSConstants.PARAM_CONNECTION_FACTORY_TYPE, "queue");
+        properties.put(JMSConstants.PARAM_DESTINATION_NAME, destination);
+        return properties;
+    }
+
+    @Test
+    public void testShareConnector() throws JMSConnectorException {
+        Map<String, String> first = properties("vm://localhost?broker.persistent=false", "DAS_JMS_SHARED_1");
+        Map<String, String> second = properties("vm://localhost?broker.persistent=false", "DAS_JMS_SHARED_2");
+        Map<String, String> other = properties("vm://localhost?broker.persistent=false&jms.useAsyncSend=true",
+                "DAS_JMS_SHARED_1");
+        JMSConnectionRegistry.Lease firstLease = JMSConnectionRegistry.acquire(first);
+        JMSConnectionRegistry.Lease secondLease = JMSConnectionRegistry.acquire(second);
+        JMSConnectionRegistry.Lease otherLease = JMSConnectionRegistry.acquire(other);
+        try {
+            Assert.assertSame(secondLease.getConnector(), firstLease.getConnector());
+            Assert.assertNotSame(otherLease.getConnector(), firstLease.getConnector());
+            Assert.assertEquals(JMSConnectionRegistry.getReferenceCount(first), 2);
+            Assert.assertEquals(JMSConnectionRegistry.getReferenceCount(other), 1);
+        } finally {
+            firstLease.release();
+            firstLease.release();
+            otherLease.release();
+        }
+        Assert.assertEquals(JMSConnectionRegistry.getReferenceCount(second), 1);
+        Assert.assertEquals(JMSConnectionRegistry.getReferenceCount(other), 0);
+        secondLease.release();
+        Assert.assertEquals(JMSConnectionRegistry.getReferenceCount(second), 0);
+    }
+
+    @Test
+    public void testReconnectReplacesConnectorOnce() throws JMSConnectorException {
+        Map<String, String> properties = properties("vm://localhost?broker.persistent=false", "DAS_JMS_SHARED_1");
+        JMSConnectionRegistry.Lease firstLease = JMSConnectionRegistry.acquire(properties);
+        JMSConnectionRegistry.Lease secondLease = JMSConnectionRegistry.acquire(properties);
+        JMSConnectionRegistry.Lease thirdLease = null;
+        try {
+            JMSClientConnector broken = firstLease.getConnector();
+            JMSClientConnector replaced = firstLease.reconnect();
+            Assert.assertNotSame(replaced, broken);
+            // the second sink sees the same failure, but takes the connector the first one created
+            Assert.assertSame(secondLease.reconnect(), replaced);
+            thirdLease = JMSConnectionRegistry.acquire(properties);
+            Assert.assertSame(thirdLease.getConnector(), replaced);
+            Assert.assertEquals(JMSConnectionRegistry.getReferenceCount(properties), 3);
+        } finally {
+            firstLease.release();
+            secondLease.release();
+            if (thirdLease != null) {
+                thirdLease.release();
+            }
+        }
+        Assert.assertEquals(JMSConnectionRegistry.getReferenceCount(properties), 0);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.util;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.HashMap;
+import java.util.Hashtable;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.naming.Context;
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+
+/**
+ * Class implementing the Test cases for the JMS JNDI cache.
+ */
+public class JMSJndiCacheTestCase {
+
+    private static Map<String, String> properties(String providerUrl, long ttl) {
+        Map<String, String> properties = new HashMap<>();
+        properties.put(Context.INITIAL_CONTEXT_FACTORY, "org.apache.activemq.jndi.ActiveMQInitialContextFactory");
+        properties.put(Context.PROVIDER_URL, providerUrl);
+        properties.put("transport.jms.ConcurrentConsumers", "1");
+        JMSJndiCache.enable(properties, ttl);
+        return properties;
+    }
+
+    @Test
+    public void testCacheLookups() throws NamingException {
+        Map<String, String> properties = properties("vm://localhost?broker.persistent=false", 60000);
+        Assert.assertEquals(properties.get(Context.INITIAL_CONTEXT_FACTORY),
+                JMSCachingContextFactory.class.getName());
+        Object connectionFactory = lookup(properties, "QueueConnectionFactory");
+        Assert.assertNotNull(connectionFactory);
+        Assert.assertSame(lookup(properties, "QueueConnectionFactory"), connectionFactory);
+
+        // transport parameters do not take part in the key, while the naming environment does
+        Map<String, String> otherWorkers = properties("vm://localhost?broker.persistent=false", 60000);
+        otherWorkers.put("transport.jms.ConcurrentConsumers", "4");
+        Assert.assertSame(lookup(otherWorkers, "QueueConnectionFactory"), connectionFactory);
+        Map<String, String> otherBroker = properties("vm://localhost?broker.persistent=false&create=true", 60000);
+        Assert.assertNotSame(lookup(otherBroker, "QueueConnectionFactory"), connectionFactory);
+
+        JMSJndiCache.invalidate(properties);
+        Assert.assertNotSame(lookup(properties, "QueueConnectionFactory"), connectionFactory);
+    }
+
+    @Test
+    public void testExpireAndRetryLookups() throws NamingException {
+        Map<String, String> properties = properties("vm://localhost?broker.persistent=false&expiry=true", 0);
+        AtomicInteger lookups = new AtomicInteger();
+        JMSJndiCache.lookup(properties, "name", lookups::incrementAndGet);
+        JMSJndiCache.lookup(properties, "name", lookups::incrementAndGet);
+        Assert.assertEquals(lookups.get(), 2);
+
+        Map<String, String> cached = properties("vm://localhost?broker.persistent=false&expiry=false", 60000);
+        try {
+            JMSJndiCache.lookup(cached, "name", () -> {
+                throw new NamingException("unavailable");
+            });
+            Assert.fail("The failed lookup should be reported.");
+        } catch (NamingException e) {
+            Assert.assertEquals(e.getMessage(), "unavailable");
+        }
+        Assert.assertEquals(JMSJndiCache.lookup(cached, "name", () -> "value"), "value");
+        Assert.assertEquals(JMSJndiCache.lookup(cached, "name", () -> "other"), "value");
+    }
+
+    private static Object lookup(Map<String, String> properties, String name) throws NamingException {
+        Context context = new InitialContext(new Hashtable<>(properties));
+        try {
+            return context.lookup(name);
+        } finally {
+            context.close();
+        }
+    }
+}
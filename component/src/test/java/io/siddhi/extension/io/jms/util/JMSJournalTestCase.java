@@ -0,0 +1,188 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.util;
+
+import io.siddhi.core.event.Event;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Class implementing the Test cases for the JMS journal.
+ */
+public class JMSJournalTestCase {
+    private File directory;
+
+    @BeforeMethod
+    public void createDirectory() throws IOException {
+        directory = Files.createTempDirectory("jms-journal").toFile();
+    }
+
+    @AfterMethod
+    public void deleteDirectory() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Test
+    public void testJournalOrderAcrossSegments() throws IOException {
+        JMSJournal journal = new JMSJournal(directory, 64, 1024);
+        for (int i = 0; i < 20; i++) {
+            Assert.assertTrue(journal.append(("event-" + i).getBytes(StandardCharsets.UTF_8)));
+        }
+        Assert.assertEquals(journal.getPendingRecords(), 20);
+        for (int i = 0; i < 20; i++) {
+            Assert.assertEquals(new String(journal.peek(), StandardCharsets.UTF_8), "event-" + i);
+            journal.remove();
+        }
+        Assert.assertTrue(journal.isEmpty());
+        Assert.assertNull(journal.peek());
+        journal.close();
+    }
+
+    @Test
+    public void testJournalMaxSize() throws IOException {
+        JMSJournal journal = new JMSJournal(directory, 64, 128);
+        int appended = 0;
+        while (journal.append(new byte[20])) {
+            appended++;
+        }
+        Assert.assertEquals(appended, 4, "Only two records fit into each of the two segments.");
+        Assert.assertFalse(journal.append(new byte[100]), "Records larger than a segment are rejected.");
+        journal.close();
+    }
+
+    @Test
+    public void testJournalRecovery() throws IOException {
+        JMSJournal journal = new JMSJournal(directory, 64, 1024);
+        for (int i = 0; i < 10; i++) {
+            journal.append(("event-" + i).getBytes(StandardCharsets.UTF_8));
+        }
+        for (int i = 0; i < 4; i++) {
+            journal.remove();
+        }
+        journal.close();
+
+        JMSJournal recovered = new JMSJournal(directory, 64, 1024);
+        Assert.assertEquals(recovered.getPendingRecords(), 6);
+        Assert.assertEquals(new String(recovered.peek(), StandardCharsets.UTF_8), "event-4");
+        recovered.append("event-10".getBytes(StandardCharsets.UTF_8));
+        for (int i = 4; i <= 10; i++) {
+            Assert.assertEquals(new String(recovered.peek(), StandardCharsets.UTF_8), "event-" + i);
+            recovered.remove();
+        }
+        recovered.close();
+    }
+
+    @Test
+    public void testPayloadCodec() throws IOException {
+        JMSPayloadCodec.Record text = JMSPayloadCodec.decode(JMSPayloadCodec.encode("queue", "JAMES", null));
+        Assert.assertEquals(text.getDestination(), "queue");
+        Assert.assertEquals(text.getPayload(), "JAMES");
+        Assert.assertNull(text.getEvent());
+
+        ByteBuffer buffer = ByteBuffer.allocate(3);
+        buffer.put(new byte[]{1, 2, 3});
+        buffer.flip();
+        JMSPayloadCodec.Record bytes = JMSPayloadCodec.decode(JMSPayloadCodec.encode("queue", buffer, null));
+        Assert.assertEquals(((ByteBuffer) bytes.getPayload()).array(), new byte[]{1, 2, 3});
+
+        Map<String, Object> map = new HashMap<>();
+        map.put("name", "JAMES");
+        map.put("age", 23);
+        Assert.assertEquals(JMSPayloadCodec.decode(JMSPayloadCodec.encode("queue", map, null)).getPayload(), map);
+
+        Event event = new Event(1000, new Object[]{"JAMES", 23, 2.5, null});
+        JMSPayloadCodec.Record withEvent = JMSPayloadCodec.decode(JMSPayloadCodec.encode("queue", "JAMES", event));
+        Assert.assertEquals(withEvent.getPayload(), "JAMES");
+        Assert.assertEquals(withEvent.getEvent().getTimestamp(), 1000);
+        Assert.assertEquals(withEvent.getEvent().getData(), event.getData());
+    }
+
+    @Test
+    public void testPayloadCodecValueTypes() throws IOException {
+        Map<String, Object> map = new HashMap<>();
+        map.put("string", "JAMES");
+        map.put("int", 23);
+        map.put("long", 23L);
+        map.put("float", 2.5f);
+        map.put("double", 2.5);
+        map.put("bool", true);
+        map.put("byte", (byte) 1);
+        map.put("short", (short) 2);
+        map.put("char", 'c');
+        map.put("null", null);
+        Map<?, ?> decoded = (Map<?, ?>) JMSPayloadCodec.decode(JMSPayloadCodec.encode("queue", map, null))
+                .getPayload();
+        Assert.assertEquals(decoded, map);
+
+        Map<String, Object> bytes = new HashMap<>();
+        bytes.put("bytes", new byte[]{1, 2, 3});
+        decoded = (Map<?, ?>) JMSPayloadCodec.decode(JMSPayloadCodec.encode("queue", bytes, null)).getPayload();
+        Assert.assertEquals((byte[]) decoded.get("bytes"), new byte[]{1, 2, 3});
+
+        Event event = new Event(1000, new Object[]{"JAMES", 23, 23L, 2.5f, 2.5, false, null});
+        Event decodedEvent = (Event) JMSPayloadCodec.decode(JMSPayloadCodec.encode("queue", event, null))
+                .getPayload();
+        Assert.assertEquals(decodedEvent.getTimestamp(), 1000);
+        Assert.assertEquals(decodedEvent.getData(), event.getData());
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void testPayloadCodecRejectsUnsupportedValue() throws IOException {
+        JMSPayloadCodec.encode("queue", new Event(1000, new Object[]{new StringBuilder("JAMES")}), null);
+    }
+
+    @Test
+    public void testPayloadCodecRejectsSerializedObjects() throws IOException {
+        // a Map record holding a Java serialized object instead of tagged values
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF("queue");
+            out.writeByte(2);
+            out.writeInt(1);
+            ObjectOutputStream objectOut = new ObjectOutputStream(out);
+            objectOut.writeObject(new HashMap<>());
+            objectOut.flush();
+        }
+        try {
+            JMSPayloadCodec.decode(bytes.toByteArray());
+            Assert.fail("A record holding a serialized object should not be decoded.");
+        } catch (IOException e) {
+            Assert.assertTrue(e.getMessage().startsWith("Unknown value type"), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ *  Copyright (c) 2026 WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ *  WSO2 Inc. licenses this file to you under the Apache License,
+ *  Version 2.0 (the "License"); you may not use this file except
+ *  in compliance with the License.
+ *  You may obtain a copy of the License at
+ *
+ *  http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *  Unless required by applicable law or agreed to in writing,
+ *  software distributed under the License is distributed on an
+ *  "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ *  KIND, either express or implied.  See the License for the
+ *  specific language governing permissions and limitations
+ *  under the License.
+ *
+ */
+package io.siddhi.extension.io.jms.util;
+
+import io.siddhi.core.event.Event;
+import io.siddhi.core.util.transport.DynamicOptions;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+/**
+ * Class implementing the Test cases for the JMS request registry.
+ */
+public class JMSRequestRegistryTestCase {
+
+    @Test
+    public void testCompleteRequest() {
+        JMSRequestRegistry registry = JMSRequestRegistry.create(new String[]{"name", "age"}, 10, 60000);
+        try {
+            String correlationId = registry.nextCorrelationId();
+            registry.register(correlationId, "request",
+                    new DynamicOptions(new Event(System.currentTimeMillis(), new Object[]{"WSO2", 10})));
+            JMSRequestRegistry.PendingRequest request = JMSRequestRegistry.complete(correlationId);
+            Assert.assertNotNull(request);
+            Assert.assertEquals(request.getPayload(), "request");
+            Assert.assertEquals(request.getAttribute("name"), "WSO2");
+            Assert.assertEquals(request.getAttribute("age"), 10);
+            Assert.assertNull(request.getAttribute("country"));
+            Assert.assertNull(JMSRequestRegistry.complete(correlationId));
+            Assert.assertNull(JMSRequestRegistry.complete("unknown"));
+        } finally {
+            registry.close();
+        }
+    }
+
+    @Test
+    public void testExpireAndEvictRequests() {
+        JMSRequestRegistry registry = JMSRequestRegistry.create(new String[]{"name"}, 2, 1000);
+        try {
+            String first = registry.nextCorrelationId();
+            registry.register(first, "first", null);
+            registry.register(registry.nextCorrelationId(), "second", null);
+            List<JMSRequestRegistry.PendingRequest> evicted =
+                    registry.register(registry.nextCorrelationId(), "third", null);
+            Assert.assertEquals(evicted.size(), 1);
+            Assert.assertEquals(evicted.get(0).getPayload(), "first");
+            Assert.assertNull(JMSRequestRegistry.complete(first));
+            Assert.assertTrue(registry.expire(System.currentTimeMillis()).isEmpty());
+            List<JMSRequestRegistry.PendingRequest> expired = registry.expire(System.currentTimeMillis() + 1000);
+            Assert.assertEquals(expired.size(), 2);
+            Assert.assertEquals(registry.getPendingCount(), 0);
+        } finally {
+            registry.close();
+        }
+    }
+}